@@ -0,0 +1,14 @@
+package com.adsquare.tictactoe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tictactoe.actor")
+public record ActorProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("30s") Duration idleTimeout,
+        @DefaultValue("64") int maxBatchSize,
+        @DefaultValue("3") int maxAttempts) {
+}
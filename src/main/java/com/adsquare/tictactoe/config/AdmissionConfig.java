@@ -0,0 +1,23 @@
+package com.adsquare.tictactoe.config;
+
+import com.adsquare.tictactoe.controller.AdmissionControlFilter;
+import com.adsquare.tictactoe.service.AdmissionControl;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class AdmissionConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tictactoe.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+    FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionControl admissionControl) {
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(admissionControl));
+        registration.addUrlPatterns("/api/v1/games", "/api/v1/games/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
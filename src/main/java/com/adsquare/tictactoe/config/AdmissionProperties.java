@@ -0,0 +1,16 @@
+package com.adsquare.tictactoe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tictactoe.admission")
+public record AdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("200") int maxConcurrentRequests,
+        @DefaultValue("10") double movesPerSecondPerGame,
+        @DefaultValue("20") int moveBurstPerGame,
+        @DefaultValue("100000") long maxTrackedGames,
+        @DefaultValue("10m") Duration idleGameExpiry) {
+}
@@ -0,0 +1,19 @@
+package com.adsquare.tictactoe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tictactoe.audit")
+public record AuditProperties(@DefaultValue("true") boolean enabled,
+                             @DefaultValue("data/audit") Path directory,
+                             @DefaultValue("65536") int capacity,
+                             @DefaultValue("1024") int batchSize,
+                             @DefaultValue("64MB") DataSize maxFileSize,
+                             @DefaultValue("10") int maxFiles,
+                             @DefaultValue("1.0") double moveSampleRate,
+                             @DefaultValue("200ms") Duration flushInterval) {
+}
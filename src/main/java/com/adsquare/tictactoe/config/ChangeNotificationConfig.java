@@ -0,0 +1,28 @@
+package com.adsquare.tictactoe.config;
+
+import com.adsquare.tictactoe.service.GameChangeTransport;
+import com.adsquare.tictactoe.service.InMemoryGameChangeTransport;
+import com.adsquare.tictactoe.service.PostgresGameChangeTransport;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class ChangeNotificationConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tictactoe.change-notifications", name = "transport", havingValue = "postgres")
+    GameChangeTransport postgresGameChangeTransport(JdbcTemplate jdbcTemplate, DataSourceProperties dataSource,
+                                                    ChangeNotificationProperties properties) {
+        return new PostgresGameChangeTransport(jdbcTemplate, dataSource, properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tictactoe.change-notifications", name = "transport", havingValue = "in-memory",
+            matchIfMissing = true)
+    GameChangeTransport inMemoryGameChangeTransport() {
+        return new InMemoryGameChangeTransport();
+    }
+}
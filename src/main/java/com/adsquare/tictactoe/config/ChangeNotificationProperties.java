@@ -0,0 +1,13 @@
+package com.adsquare.tictactoe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tictactoe.change-notifications")
+public record ChangeNotificationProperties(@DefaultValue("in-memory") String transport,
+                                           @DefaultValue("game_changes") String channel,
+                                           @DefaultValue("1s") Duration pollTimeout,
+                                           @DefaultValue("5s") Duration reconnectBackoff) {
+}
@@ -0,0 +1,19 @@
+package com.adsquare.tictactoe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tictactoe.contention")
+public record ContentionProperties(
+        @DefaultValue("4096") int slots,
+        @DefaultValue("10s") Duration halfLife,
+        @DefaultValue("3.0") double pessimisticThreshold,
+        @DefaultValue("0.5") double optimisticThreshold,
+        @DefaultValue("20ms") Duration lockWaitThreshold,
+        @DefaultValue("2") int minAttempts,
+        @DefaultValue("8") int maxAttempts,
+        @DefaultValue("2ms") Duration baseBackoff,
+        @DefaultValue("100ms") Duration maxBackoff) {
+}
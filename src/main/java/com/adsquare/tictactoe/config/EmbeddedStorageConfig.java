@@ -0,0 +1,48 @@
+package com.adsquare.tictactoe.config;
+
+import com.adsquare.tictactoe.repository.MappedGameRepository;
+import com.adsquare.tictactoe.repository.MappedGameStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Puts the memory-mapped store behind GameRepository. The JPA repository still exists (other tables stay in
+ * the database), but every GameRepository injection point gets this primary bean instead.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "tictactoe.storage", name = "engine", havingValue = "mmap")
+public class EmbeddedStorageConfig {
+
+    private final StorageProperties properties;
+
+    public EmbeddedStorageConfig(StorageProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean(destroyMethod = "close")
+    MappedGameStore mappedGameStore() {
+        return new MappedGameStore(properties.directory(), properties.initialCapacity(), properties.syncJournal());
+    }
+
+    @Bean
+    @Primary
+    MappedGameRepository mappedGameRepository(MappedGameStore mappedGameStore) {
+        return new MappedGameRepository(mappedGameStore);
+    }
+
+    // bounds the journal and reclaims deleted slots
+    @Scheduled(fixedDelayString = "${tictactoe.storage.checkpoint-interval-ms:10000}")
+    public void maintainStore() {
+        MappedGameStore store = mappedGameStore();
+        if (store.deletedFraction() >= properties.compactionThreshold()) {
+            log.info("Compacting game store: {} records moved", store.compact());
+        } else {
+            store.checkpoint();
+        }
+    }
+}
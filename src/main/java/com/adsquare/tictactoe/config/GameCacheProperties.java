@@ -0,0 +1,11 @@
+package com.adsquare.tictactoe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tictactoe.game-cache")
+public record GameCacheProperties(@DefaultValue("10000") int maxSize,
+                                  @DefaultValue("60s") Duration ttl) {
+}
@@ -0,0 +1,13 @@
+package com.adsquare.tictactoe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tictactoe.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("10m") Duration ttl,
+        @DefaultValue("100000") long maxEntries,
+        @DefaultValue("false") boolean persistent) {
+}
@@ -0,0 +1,13 @@
+package com.adsquare.tictactoe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "tictactoe.import")
+public record ImportProperties(
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("4") int parallelism,
+        @DefaultValue("1000") int maxReportedErrors,
+        String file,
+        String errorReport) {
+}
@@ -0,0 +1,8 @@
+package com.adsquare.tictactoe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "tictactoe.join-codes")
+public record JoinCodeProperties(@DefaultValue("100000") int cacheSize) {
+}
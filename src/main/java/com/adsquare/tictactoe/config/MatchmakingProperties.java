@@ -0,0 +1,15 @@
+package com.adsquare.tictactoe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tictactoe.matchmaking")
+public record MatchmakingProperties(
+        @DefaultValue("256") int maxBatchSize,
+        @DefaultValue("64") int maxBrackets,
+        @DefaultValue("10m") Duration maxWait,
+        @DefaultValue("5m") Duration ticketRetention,
+        @DefaultValue("30s") Duration maxPollTimeout) {
+}
@@ -0,0 +1,25 @@
+package com.adsquare.tictactoe.config;
+
+import com.adsquare.tictactoe.service.FileOutboxSink;
+import com.adsquare.tictactoe.service.InMemoryOutboxSink;
+import com.adsquare.tictactoe.service.OutboxSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tictactoe.outbox", name = "sink", havingValue = "file")
+    OutboxSink fileOutboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return new FileOutboxSink(properties.file(), objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tictactoe.outbox", name = "sink", havingValue = "in-memory", matchIfMissing = true)
+    OutboxSink inMemoryOutboxSink(OutboxProperties properties) {
+        return new InMemoryOutboxSink(properties.memoryCapacity());
+    }
+}
@@ -0,0 +1,14 @@
+package com.adsquare.tictactoe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+@ConfigurationProperties(prefix = "tictactoe.outbox")
+public record OutboxProperties(@DefaultValue("true") boolean enabled,
+                              @DefaultValue("in-memory") String sink,
+                              @DefaultValue("data/outbox.ndjson") Path file,
+                              @DefaultValue("10000") int memoryCapacity,
+                              @DefaultValue("1000") int batchSize) {
+}
@@ -0,0 +1,15 @@
+package com.adsquare.tictactoe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tictactoe.ratings")
+public record RatingProperties(
+        @DefaultValue("1200") int initialRating,
+        @DefaultValue("32") int kFactor,
+        @DefaultValue("4000") int maxRating,
+        // re-read window when picking up ratings flushed by other nodes, to cover clock skew and commit lag
+        @DefaultValue("5s") Duration refreshOverlap) {
+}
@@ -0,0 +1,15 @@
+package com.adsquare.tictactoe.config;
+
+import com.adsquare.tictactoe.service.SimulationStrategy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "tictactoe.simulation")
+public record SimulationProperties(
+        @DefaultValue("10000000") long maxGames,
+        @DefaultValue("10000") int leafSize,
+        Long games,
+        @DefaultValue("RANDOM") SimulationStrategy x,
+        @DefaultValue("RANDOM") SimulationStrategy o,
+        Long seed) {
+}
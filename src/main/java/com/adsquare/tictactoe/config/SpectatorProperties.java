@@ -0,0 +1,13 @@
+package com.adsquare.tictactoe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tictactoe.spectators")
+public record SpectatorProperties(
+        @DefaultValue("4") int partitions,
+        @DefaultValue("100000") int maxSpectators,
+        @DefaultValue("30m") Duration timeout) {
+}
@@ -0,0 +1,16 @@
+package com.adsquare.tictactoe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+// engine: jpa (the database) or mmap (embedded memory-mapped game store)
+@ConfigurationProperties(prefix = "tictactoe.storage")
+public record StorageProperties(
+        @DefaultValue("jpa") String engine,
+        @DefaultValue("data/games") Path directory,
+        @DefaultValue("65536") int initialCapacity,
+        @DefaultValue("false") boolean syncJournal,
+        @DefaultValue("0.25") double compactionThreshold) {
+}
@@ -0,0 +1,13 @@
+package com.adsquare.tictactoe.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "tictactoe.timeouts")
+public record TimeoutProperties(
+        @DefaultValue("100ms") Duration tick,
+        @DefaultValue("4096") int wheelSize,
+        @DefaultValue("500") int batchSize) {
+}
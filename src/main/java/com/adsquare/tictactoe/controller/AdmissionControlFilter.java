@@ -0,0 +1,75 @@
+package com.adsquare.tictactoe.controller;
+
+import com.adsquare.tictactoe.service.AdmissionControl;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Sheds load with 429 before any controller or database work happens
+@RequiredArgsConstructor
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Pattern MOVE_PATH = Pattern.compile("^/api/v1/games/([0-9a-fA-F-]{36})/moves$");
+    private static final long CONCURRENCY_RETRY_AFTER_SECONDS = 1;
+
+    private final AdmissionControl admissionControl;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!admissionControl.tryEnter()) {
+            reject(response, CONCURRENCY_RETRY_AFTER_SECONDS, "Server is busy. Please retry");
+            return;
+        }
+        try {
+            // the game's token is only spent once admitted, so a request shed for concurrency costs the game nothing
+            UUID gameId = moveTarget(request);
+            if (gameId != null) {
+                long waitNanos = admissionControl.tryAcquireMove(gameId);
+                if (waitNanos > 0) {
+                    reject(response, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)),
+                            "Too many moves for game " + gameId);
+                    return;
+                }
+            }
+            chain.doFilter(request, response);
+        } finally {
+            admissionControl.exit();
+        }
+    }
+
+    private static UUID moveTarget(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Matcher matcher = MOVE_PATH.matcher(path);
+        if (!matcher.matches()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(matcher.group(1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"ERROR\":\"" + message + "\"}");
+    }
+}
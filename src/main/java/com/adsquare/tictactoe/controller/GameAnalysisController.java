@@ -0,0 +1,26 @@
+package com.adsquare.tictactoe.controller;
+
+import com.adsquare.tictactoe.dto.GameAnalysisResponse;
+import com.adsquare.tictactoe.service.GameService;
+import com.adsquare.tictactoe.service.GameTreeAnalyzer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/games")
+@RequiredArgsConstructor
+public class GameAnalysisController {
+
+    private final GameService gameService;
+    private final GameTreeAnalyzer gameTreeAnalyzer;
+
+    @GetMapping("/{id}/analysis")
+    public GameAnalysisResponse analyse(@PathVariable UUID id) {
+        return gameTreeAnalyzer.analyse(gameService.getGame(id));
+    }
+}
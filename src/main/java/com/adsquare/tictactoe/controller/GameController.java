@@ -5,11 +5,15 @@ import com.adsquare.tictactoe.dto.CreateGameResponse;
 import com.adsquare.tictactoe.dto.GameResponse;
 import com.adsquare.tictactoe.dto.MoveRequest;
 import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.service.GameMoveActors;
 import com.adsquare.tictactoe.service.GameService;
+import com.adsquare.tictactoe.service.GameSnapshotCache;
+import com.adsquare.tictactoe.service.IdempotencyService;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -19,6 +23,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/v1/games")
@@ -31,18 +36,24 @@ public class GameController {
     private static final int DEFAULT_PAGE = 0;
     private static final int DEFAULT_SIZE = 20;
     private static final int MAX_PAGE_SIZE = 100;
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
 
     private final GameService gameService;
+    private final ObjectProvider<GameMoveActors> moveActors;
+    private final IdempotencyService idempotencyService;
+    private final GameSnapshotCache gameSnapshots;
 
     @PostMapping
-    public ResponseEntity<CreateGameResponse> createGame(){
-        CreateGameResponse response = gameService.createNewGame();
+    public ResponseEntity<CreateGameResponse> createGame(@RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                         @RequestParam(required = false) @Min(1) Integer moveTimeLimitSeconds){
+        CreateGameResponse response = idempotent(idempotencyKey, "create", String.valueOf(moveTimeLimitSeconds),
+                CreateGameResponse.class, () -> gameService.createNewGame(moveTimeLimitSeconds));
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @GetMapping("/{id}")
     public GameResponse getGame (@PathVariable UUID id){
-        return GameResponse.buildGameResponse(gameService.getGame(id));
+        return GameResponse.of(gameSnapshots.get(id));
     }
 
     @GetMapping
@@ -52,14 +63,23 @@ public class GameController {
         return gameService.listOfGames(pageable).map(GameResponse::buildGameResponse);
     }
     @PostMapping("/{id}/moves")
-    public GameResponse makeMove(@PathVariable UUID id, @RequestBody MoveRequest moveRequest){
-        Game game = gameService.makeMove(id, moveRequest.row(), moveRequest.col(), moveRequest.player());
-        return GameResponse.buildGameResponse(game);
+    public GameResponse makeMove(@PathVariable UUID id, @RequestBody MoveRequest moveRequest,
+                                 @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey){
+        String fingerprint = moveRequest.row() + ":" + moveRequest.col() + ":" + moveRequest.player();
+        return idempotent(idempotencyKey, "move:" + id, fingerprint, GameResponse.class, () -> {
+            GameMoveActors actors = moveActors.getIfAvailable();
+            Game game = actors != null
+                    ? actors.makeMove(id, moveRequest.row(), moveRequest.col(), moveRequest.player())
+                    : gameService.makeMove(id, moveRequest.row(), moveRequest.col(), moveRequest.player());
+            return GameResponse.buildGameResponse(game);
+        });
     }
 
     @PostMapping("/{id}/reset")
-    public GameResponse resetGame(@PathVariable UUID id) {
-        return GameResponse.buildGameResponse(gameService.resetGame(id));
+    public GameResponse resetGame(@PathVariable UUID id,
+                                  @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return idempotent(idempotencyKey, "reset:" + id, "", GameResponse.class,
+                () -> GameResponse.buildGameResponse(gameService.resetGame(id)));
     }
 
     @DeleteMapping("/{id}")
@@ -67,4 +87,8 @@ public class GameController {
         gameService.deleteGame(id);
         return ResponseEntity.noContent().build();
     }
+
+    private <T> T idempotent(String key, String scope, String fingerprint, Class<T> type, Supplier<T> action) {
+        return key == null ? action.get() : idempotencyService.execute(key, scope, fingerprint, type, action);
+    }
 }
@@ -0,0 +1,51 @@
+package com.adsquare.tictactoe.controller;
+
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.service.GameExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/v1/games")
+@RequiredArgsConstructor
+public class GameExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final GameExportService gameExportService;
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) GameStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedTo,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                gameExportService.export(status, updatedFrom, updatedTo, compressed);
+                compressed.finish();
+            } else {
+                gameExportService.export(status, updatedFrom, updatedTo, out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
@@ -0,0 +1,31 @@
+package com.adsquare.tictactoe.controller;
+
+import com.adsquare.tictactoe.dto.GameImportResponse;
+import com.adsquare.tictactoe.service.GameImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+@RestController
+@RequestMapping("/api/v1/games")
+@RequiredArgsConstructor
+public class GameImportController {
+
+    private final GameImportService gameImportService;
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public GameImportResponse importGames(
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) throws IOException {
+        InputStream in = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body) : body;
+        return gameImportService.importGames(in);
+    }
+}
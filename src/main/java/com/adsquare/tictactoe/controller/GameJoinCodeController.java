@@ -0,0 +1,22 @@
+package com.adsquare.tictactoe.controller;
+
+import com.adsquare.tictactoe.dto.GameResponse;
+import com.adsquare.tictactoe.service.JoinCodeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/games")
+@RequiredArgsConstructor
+public class GameJoinCodeController {
+
+    private final JoinCodeService joinCodeService;
+
+    @GetMapping("/by-code/{code}")
+    public GameResponse getGameByCode(@PathVariable String code) {
+        return GameResponse.buildGameResponse(joinCodeService.findByCode(code));
+    }
+}
@@ -0,0 +1,27 @@
+package com.adsquare.tictactoe.controller;
+
+import com.adsquare.tictactoe.dto.GameResponse;
+import com.adsquare.tictactoe.dto.SeatRequest;
+import com.adsquare.tictactoe.model.Player;
+import com.adsquare.tictactoe.service.PlayerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/games")
+@RequiredArgsConstructor
+public class GameSeatController {
+
+    private final PlayerService playerService;
+
+    @PutMapping("/{id}/seats/{seat}")
+    public GameResponse takeSeat(@PathVariable UUID id, @PathVariable Player seat, @RequestBody SeatRequest request) {
+        return GameResponse.buildGameResponse(playerService.takeSeat(id, seat, request.playerId()));
+    }
+}
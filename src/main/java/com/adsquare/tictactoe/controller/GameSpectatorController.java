@@ -0,0 +1,56 @@
+package com.adsquare.tictactoe.controller;
+
+import com.adsquare.tictactoe.config.SpectatorProperties;
+import com.adsquare.tictactoe.service.GameSnapshotCache;
+import com.adsquare.tictactoe.service.SpectatorHub;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/games")
+@RequiredArgsConstructor
+public class GameSpectatorController {
+
+    private final GameSnapshotCache gameSnapshots;
+    private final SpectatorHub spectatorHub;
+    private final SpectatorProperties properties;
+
+    // frames arrive pre-serialized, so a plain emitter writes them as-is instead of SseEmitter re-encoding per viewer
+    @GetMapping(value = "/{id}/spectate", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> spectate(@PathVariable UUID id) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(properties.timeout().toMillis());
+        SpectatorHub.Subscription subscription = spectatorHub.subscribe(id,
+                () -> gameSnapshots.get(id), new EmitterSink(emitter));
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .cacheControl(CacheControl.noStore())
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    private record EmitterSink(ResponseBodyEmitter emitter) implements SpectatorHub.SpectatorSink {
+
+        @Override
+        public void send(byte[] frame) throws IOException {
+            emitter.send(frame, MediaType.TEXT_EVENT_STREAM);
+        }
+
+        @Override
+        public void complete() {
+            emitter.complete();
+        }
+    }
+}
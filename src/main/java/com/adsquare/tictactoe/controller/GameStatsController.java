@@ -0,0 +1,21 @@
+package com.adsquare.tictactoe.controller;
+
+import com.adsquare.tictactoe.dto.GameStatsResponse;
+import com.adsquare.tictactoe.service.GameStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/games")
+@RequiredArgsConstructor
+public class GameStatsController {
+
+    private final GameStatsService gameStatsService;
+
+    @GetMapping("/stats")
+    public GameStatsResponse stats() {
+        return gameStatsService.stats();
+    }
+}
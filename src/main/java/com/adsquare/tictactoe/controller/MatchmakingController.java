@@ -0,0 +1,67 @@
+package com.adsquare.tictactoe.controller;
+
+import com.adsquare.tictactoe.dto.MatchTicketRequest;
+import com.adsquare.tictactoe.dto.MatchTicketResponse;
+import com.adsquare.tictactoe.service.MatchmakingService;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/v1/matchmaking/tickets")
+@RequiredArgsConstructor
+@Validated
+public class MatchmakingController {
+
+    private final MatchmakingService matchmakingService;
+
+    @PostMapping
+    public ResponseEntity<MatchTicketResponse> enqueue(@RequestBody(required = false) MatchTicketRequest request) {
+        MatchTicketResponse ticket = matchmakingService.enqueue(request != null ? request.bracket() : null);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ticket);
+    }
+
+    // long-polls up to waitSeconds for the ticket to leave WAITING, answering with its current state on timeout
+    @GetMapping("/{id}")
+    public DeferredResult<ResponseEntity<MatchTicketResponse>> status(@PathVariable UUID id,
+                                                                      @RequestParam(defaultValue = "0") @Min(0) int waitSeconds) {
+        Duration timeout = matchmakingService.pollTimeout(Duration.ofSeconds(waitSeconds));
+        DeferredResult<ResponseEntity<MatchTicketResponse>> result = new DeferredResult<>(timeout.toMillis());
+        CompletableFuture<MatchTicketResponse> outcome = matchmakingService.awaitMatch(id).orElse(null);
+        if (outcome == null) {
+            result.setResult(ResponseEntity.notFound().build());
+            return result;
+        }
+        if (outcome.isDone() || timeout.isZero()) {
+            result.setResult(currentStatus(id));
+            return result;
+        }
+        result.onTimeout(() -> result.setResult(currentStatus(id)));
+        outcome.thenAccept(ticket -> result.setResult(ResponseEntity.ok(ticket)));
+        return result;
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<MatchTicketResponse> cancel(@PathVariable UUID id) {
+        return ResponseEntity.of(matchmakingService.cancel(id));
+    }
+
+    private ResponseEntity<MatchTicketResponse> currentStatus(UUID id) {
+        return ResponseEntity.of(matchmakingService.status(id));
+    }
+}
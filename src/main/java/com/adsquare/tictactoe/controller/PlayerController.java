@@ -0,0 +1,46 @@
+package com.adsquare.tictactoe.controller;
+
+import com.adsquare.tictactoe.dto.CreatePlayerRequest;
+import com.adsquare.tictactoe.dto.LeaderboardEntry;
+import com.adsquare.tictactoe.dto.PlayerResponse;
+import com.adsquare.tictactoe.service.PlayerService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/players")
+@RequiredArgsConstructor
+@Validated
+public class PlayerController {
+
+    private final PlayerService playerService;
+
+    @PostMapping
+    public ResponseEntity<PlayerResponse> createPlayer(@RequestBody CreatePlayerRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(playerService.createPlayer(request.name()));
+    }
+
+    @GetMapping("/{id}")
+    public PlayerResponse getPlayer(@PathVariable UUID id) {
+        return playerService.getPlayer(id);
+    }
+
+    @GetMapping("/leaderboard")
+    public List<LeaderboardEntry> leaderboard(@RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+        return playerService.leaderboard(limit);
+    }
+}
@@ -0,0 +1,23 @@
+package com.adsquare.tictactoe.controller;
+
+import com.adsquare.tictactoe.dto.SimulationRequest;
+import com.adsquare.tictactoe.dto.SimulationResult;
+import com.adsquare.tictactoe.service.SimulationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/admin/simulations")
+@RequiredArgsConstructor
+public class SimulationController {
+
+    private final SimulationService simulationService;
+
+    @PostMapping
+    public SimulationResult simulate(@RequestBody SimulationRequest request) {
+        return simulationService.run(request);
+    }
+}
@@ -5,5 +5,5 @@ import com.adsquare.tictactoe.model.Player;
 
 import java.util.UUID;
 
-public record CreateGameResponse(UUID gameId, String board, Player nextPlayer, GameStatus status) {
+public record CreateGameResponse(UUID gameId, String board, Player nextPlayer, GameStatus status, String joinCode) {
 }
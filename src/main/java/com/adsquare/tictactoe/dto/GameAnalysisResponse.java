@@ -0,0 +1,11 @@
+package com.adsquare.tictactoe.dto;
+
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+
+import java.util.List;
+import java.util.UUID;
+
+public record GameAnalysisResponse(UUID gameId, String board, Player toMove, GameStatus gameStatus,
+                                   List<MoveAnalysis> moves) {
+}
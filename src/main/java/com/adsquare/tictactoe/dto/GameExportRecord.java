@@ -0,0 +1,17 @@
+package com.adsquare.tictactoe.dto;
+
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record GameExportRecord(UUID id, String board, Player nextPlayer, GameStatus status, long version,
+                               Instant createdAt, Instant updatedAt) {
+
+    public static GameExportRecord of(Game game) {
+        return new GameExportRecord(game.getId(), game.getBoard(), game.getNextPlayer(), game.getStatus(),
+                game.getVersion(), game.getCreatedAt(), game.getUpdatedAt());
+    }
+}
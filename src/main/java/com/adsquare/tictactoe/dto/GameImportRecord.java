@@ -0,0 +1,13 @@
+package com.adsquare.tictactoe.dto;
+
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+// every field is optional: moves are replayed from an empty board, a bare board is checked for consistency
+public record GameImportRecord(UUID id, String board, Player nextPlayer, GameStatus status,
+                               List<MoveRequest> moves, Instant createdAt) {
+}
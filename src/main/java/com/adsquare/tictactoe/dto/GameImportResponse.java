@@ -0,0 +1,6 @@
+package com.adsquare.tictactoe.dto;
+
+import java.util.List;
+
+public record GameImportResponse(long imported, long rejected, long elapsedMillis, List<ImportError> errors) {
+}
@@ -1,13 +1,22 @@
 package com.adsquare.tictactoe.dto;
 
 import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameSnapshot;
 import com.adsquare.tictactoe.model.GameStatus;
 import com.adsquare.tictactoe.model.Player;
 
+import java.time.Instant;
 import java.util.UUID;
 
-public record GameResponse(UUID gameId, String board, Player nextPlayer, GameStatus gameStatus) {
+public record GameResponse(UUID gameId, long version, String board, Player nextPlayer, GameStatus gameStatus, Instant moveDeadline,
+                           UUID xPlayerId, UUID oPlayerId, String joinCode) {
     public static GameResponse buildGameResponse (Game game) {
-        return new GameResponse(game.getId(), game.getBoard(),game.getNextPlayer(),game.getStatus());
+        return new GameResponse(game.getId(), game.getVersion(), game.getBoard(),game.getNextPlayer(),game.getStatus(),game.getMoveDeadline(),
+                game.getXPlayerId(), game.getOPlayerId(), game.getJoinCode());
+    }
+
+    public static GameResponse of(GameSnapshot game) {
+        return new GameResponse(game.id(), game.version(), game.board(), game.nextPlayer(), game.status(), game.moveDeadline(),
+                game.xPlayerId(), game.oPlayerId(), game.joinCode());
     }
 }
@@ -0,0 +1,8 @@
+package com.adsquare.tictactoe.dto;
+
+import com.adsquare.tictactoe.model.GameStatus;
+
+import java.util.Map;
+
+public record GameStatsResponse(Map<GameStatus, Long> games, long totalGames, long totalMoves, double movesPerSecond) {
+}
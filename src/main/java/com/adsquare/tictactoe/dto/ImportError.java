@@ -0,0 +1,4 @@
+package com.adsquare.tictactoe.dto;
+
+public record ImportError(long line, String reason) {
+}
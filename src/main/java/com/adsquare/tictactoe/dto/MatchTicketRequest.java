@@ -0,0 +1,5 @@
+package com.adsquare.tictactoe.dto;
+
+// bracket is optional; players are only paired within the same bracket
+public record MatchTicketRequest(String bracket) {
+}
@@ -0,0 +1,12 @@
+package com.adsquare.tictactoe.dto;
+
+import com.adsquare.tictactoe.model.Player;
+
+import java.util.UUID;
+
+public record MatchTicketResponse(UUID ticketId, Status status, String bracket, UUID gameId, Player seat) {
+
+    public enum Status {
+        WAITING, MATCHED, CANCELLED, EXPIRED
+    }
+}
@@ -0,0 +1,10 @@
+package com.adsquare.tictactoe.dto;
+
+// value and continuation counts are from the point of view of the player making the move
+public record MoveAnalysis(int row, int col, Outcome value, int pliesToResult,
+                           long winningContinuations, long drawingContinuations, long losingContinuations) {
+
+    public enum Outcome {
+        WIN, DRAW, LOSS
+    }
+}
@@ -0,0 +1,8 @@
+package com.adsquare.tictactoe.dto;
+
+import java.util.UUID;
+
+// rank is 1-based and shared by equal ratings
+public record PlayerResponse(UUID playerId, String name, int rating, long rank, int gamesPlayed, int wins, int draws,
+                             int losses) {
+}
@@ -0,0 +1,6 @@
+package com.adsquare.tictactoe.dto;
+
+import java.util.UUID;
+
+public record SeatRequest(UUID playerId) {
+}
@@ -0,0 +1,6 @@
+package com.adsquare.tictactoe.dto;
+
+import com.adsquare.tictactoe.service.SimulationStrategy;
+
+public record SimulationRequest(long games, SimulationStrategy x, SimulationStrategy o, Long seed) {
+}
@@ -0,0 +1,18 @@
+package com.adsquare.tictactoe.dto;
+
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.service.SimulationStrategy;
+
+import java.util.Map;
+
+public record SimulationResult(long games,
+                               SimulationStrategy x,
+                               SimulationStrategy o,
+                               long seed,
+                               Map<GameStatus, Long> outcomes,
+                               Map<GameStatus, Double> outcomeShares,
+                               long[] gamesByLength,
+                               double averageMoves,
+                               long elapsedMillis,
+                               double gamesPerSecond) {
+}
@@ -0,0 +1,90 @@
+package com.adsquare.tictactoe.event;
+
+import com.adsquare.tictactoe.model.GameSnapshot;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+import com.adsquare.tictactoe.util.BoardUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * One audit entry in its fixed 48-byte big-endian layout:
+ * <pre>
+ *  0 epoch millis        8 game id (msb)      16 game id (lsb)     24 version
+ * 32 board (BoardUtil.encode)                 36 event type        37 player (0 none, 1 X, 2 O)
+ * 38 cell (-1 none)     39 previous status (-1 none)               40 status            41-47 reserved
+ * </pre>
+ * Audit files start with an 8-byte header (magic "TTTA", format version, record size) followed by records.
+ */
+public record AuditRecord(Instant timestamp, UUID gameId, long version, GameEvent.Type type,
+                          GameStatus previousStatus, GameStatus status, Player player, int cell, String board) {
+
+    public static final int SIZE = 48;
+    public static final int MAGIC = 0x54545441;
+    public static final short FORMAT_VERSION = 1;
+    public static final int HEADER_SIZE = 8;
+
+    private static final String FILE_PREFIX = "audit-";
+    private static final String FILE_SUFFIX = ".bin";
+
+    // absolute puts only, so producers can write disjoint slots of a shared buffer concurrently
+    public static void encode(GameEvent event, long epochMillis, ByteBuffer target, int offset) {
+        GameSnapshot game = event.game();
+        target.putLong(offset, epochMillis);
+        target.putLong(offset + 8, game.id().getMostSignificantBits());
+        target.putLong(offset + 16, game.id().getLeastSignificantBits());
+        target.putLong(offset + 24, game.version());
+        target.putInt(offset + 32, BoardUtil.encode(game.board()));
+        target.put(offset + 36, (byte) event.type().ordinal());
+        target.put(offset + 37, (byte) (event.player() == null ? 0 : event.player().ordinal() + 1));
+        target.put(offset + 38, (byte) event.cell());
+        target.put(offset + 39, (byte) (event.previousStatus() == null ? -1 : event.previousStatus().ordinal()));
+        // status in the high byte, which also clears the reserved bytes left over from the slot's previous use
+        target.putLong(offset + 40, (long) game.status().ordinal() << 56);
+    }
+
+    public static AuditRecord decode(ByteBuffer source, int offset) {
+        byte player = source.get(offset + 37);
+        byte previousStatus = source.get(offset + 39);
+        return new AuditRecord(
+                Instant.ofEpochMilli(source.getLong(offset)),
+                new UUID(source.getLong(offset + 8), source.getLong(offset + 16)),
+                source.getLong(offset + 24),
+                GameEvent.Type.values()[source.get(offset + 36)],
+                previousStatus < 0 ? null : GameStatus.values()[previousStatus],
+                GameStatus.values()[source.get(offset + 40)],
+                player == 0 ? null : Player.values()[player - 1],
+                source.get(offset + 38),
+                BoardUtil.decode(source.getInt(offset + 32)));
+    }
+
+    public static ByteBuffer header() {
+        return ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putShort(FORMAT_VERSION).putShort((short) SIZE).flip();
+    }
+
+    public static Path fileName(Path directory, long epochMillis) {
+        return directory.resolve(FILE_PREFIX + epochMillis + FILE_SUFFIX);
+    }
+
+    // oldest first: names carry the creation time in millis, which has the same number of digits until 2286
+    public static List<Path> files(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> entries = Files.list(directory)) {
+            return entries.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.adsquare.tictactoe.event;
+
+import java.util.UUID;
+
+// What another node needs to know about a committed change: which game, and the version it reached
+public record GameChange(UUID gameId, long version, boolean deleted) {
+
+    public static GameChange of(GameEvent event) {
+        return new GameChange(event.game().id(), event.game().version(), event.type() == GameEvent.Type.DELETED);
+    }
+
+    // several changes to one game in a transaction collapse into the last one
+    public static GameChange latest(GameChange a, GameChange b) {
+        if (a.deleted() || b.deleted()) {
+            return new GameChange(a.gameId(), Math.max(a.version(), b.version()), true);
+        }
+        return a.version() >= b.version() ? a : b;
+    }
+}
@@ -0,0 +1,7 @@
+package com.adsquare.tictactoe.event;
+
+import java.util.List;
+
+// All game changes of one committed transaction, tagged with the node that made them
+public record GameChangeBatch(String origin, long committedAtMillis, List<GameChange> changes) {
+}
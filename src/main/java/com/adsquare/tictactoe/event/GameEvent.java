@@ -0,0 +1,47 @@
+package com.adsquare.tictactoe.event;
+
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameSnapshot;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+
+// Published by GameService inside the transaction that changed the game; player/cell are only set for moves
+public record GameEvent(Type type, GameSnapshot game, GameStatus previousStatus, Player player, int cell) {
+
+    public enum Type {
+        CREATED,
+        MOVE_MADE,
+        RESET,
+        DELETED,
+        FORFEITED,
+        SEAT_TAKEN
+    }
+
+    public static GameEvent created(Game game) {
+        return new GameEvent(Type.CREATED, GameSnapshot.of(game), null, null, -1);
+    }
+
+    public static GameEvent moveMade(GameStatus previousStatus, GameSnapshot game, Player player, int cell) {
+        return new GameEvent(Type.MOVE_MADE, game, previousStatus, player, cell);
+    }
+
+    public static GameEvent reset(GameStatus previousStatus, Game game) {
+        return new GameEvent(Type.RESET, GameSnapshot.of(game), previousStatus, null, -1);
+    }
+
+    public static GameEvent deleted(Game game) {
+        return new GameEvent(Type.DELETED, GameSnapshot.of(game), game.getStatus(), null, -1);
+    }
+
+    public static GameEvent forfeited(Game game) {
+        return new GameEvent(Type.FORFEITED, GameSnapshot.of(game), GameStatus.IN_PROGRESS, null, -1);
+    }
+
+    public static GameEvent seatTaken(Game game) {
+        return new GameEvent(Type.SEAT_TAKEN, GameSnapshot.of(game), game.getStatus(), null, -1);
+    }
+
+    public boolean finishesGame() {
+        return previousStatus == GameStatus.IN_PROGRESS && game.status() != GameStatus.IN_PROGRESS;
+    }
+}
@@ -0,0 +1,15 @@
+package com.adsquare.tictactoe.event;
+
+import com.adsquare.tictactoe.model.OutboxEvent;
+import com.adsquare.tictactoe.model.OutboxEventType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// What an OutboxSink receives; the id grows with commit order on one node, version orders events of one game
+public record OutboxMessage(long id, OutboxEventType type, UUID gameId, String payload, Instant createdAt) {
+
+    public static OutboxMessage of(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getType(), event.getGameId(), event.getPayload(), event.getCreatedAt());
+    }
+}
@@ -31,11 +31,41 @@ public class ApiExceptionHandler {
         return Map.of("GAME_NOT_FOUND", ex.getMessage());
     }
 
+    @ExceptionHandler(PlayerNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public Map<String, String> playerNotFound(PlayerNotFoundException ex) {
+        return Map.of("PLAYER_NOT_FOUND", ex.getMessage());
+    }
+
+    @ExceptionHandler(PlayerNameTakenException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> playerNameTaken(PlayerNameTakenException ex) {
+        return Map.of("PLAYER_NAME_TAKEN", ex.getMessage());
+    }
+
     @ExceptionHandler(InvalidMoveException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public Map<String, String> handleInvalidMove(InvalidMoveException ex) {
         return Map.of("INVALID_MOVE", ex.getMessage());
     }
 
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    public Map<String, String> idempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        return Map.of("IDEMPOTENCY_KEY_REUSED", ex.getMessage());
+    }
+
+    @ExceptionHandler(IdempotencyRequestInProgressException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> idempotencyRequestInProgress(IdempotencyRequestInProgressException ex) {
+        return Map.of("IDEMPOTENCY_REQUEST_IN_PROGRESS", ex.getMessage());
+    }
+
+    @ExceptionHandler(TicketAlreadyMatchingException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> ticketAlreadyMatching(TicketAlreadyMatchingException ex) {
+        return Map.of("ALREADY_MATCHING", ex.getMessage());
+    }
+
 
 }
@@ -0,0 +1,7 @@
+package com.adsquare.tictactoe.exception;
+
+public class IdempotencyRequestInProgressException extends RuntimeException {
+    public IdempotencyRequestInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.adsquare.tictactoe.exception;
+
+public class PlayerNameTakenException extends RuntimeException {
+    public PlayerNameTakenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.adsquare.tictactoe.exception;
+
+public class PlayerNotFoundException extends RuntimeException {
+
+    public PlayerNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.adsquare.tictactoe.exception;
+
+public class TicketAlreadyMatchingException extends RuntimeException {
+    public TicketAlreadyMatchingException(String message) {
+        super(message);
+    }
+}
@@ -4,10 +4,15 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = @Index(name = "idx_game_move_deadline", columnList = "move_deadline"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_game_join_code", columnNames = "join_code"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -31,4 +36,26 @@ public class Game {
 
     @Version
     private long version;
+
+    // short code players share instead of the id; null for imported games
+    @Column(length = 8, updatable = false)
+    private String joinCode;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+
+    // optional time control: null means moves are untimed
+    private Integer moveTimeLimitSeconds;
+
+    // when the player to move forfeits; only set while a timed game is in progress
+    private Instant moveDeadline;
+
+    // accounts holding the X and O seats; only games with both seats taken are rated
+    private UUID xPlayerId;
+
+    private UUID oPlayerId;
 }
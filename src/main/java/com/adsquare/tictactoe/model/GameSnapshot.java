@@ -0,0 +1,22 @@
+package com.adsquare.tictactoe.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Immutable copy of a committed Game row, safe to hand to listeners and caches
+public record GameSnapshot(UUID id, String board, Player nextPlayer, GameStatus status, long version,
+                           Instant moveDeadline, UUID xPlayerId, UUID oPlayerId, String joinCode) {
+
+    public static GameSnapshot of(Game game) {
+        return new GameSnapshot(game.getId(), game.getBoard(), game.getNextPlayer(), game.getStatus(), game.getVersion(),
+                game.getMoveDeadline(), game.getXPlayerId(), game.getOPlayerId(), game.getJoinCode());
+    }
+
+    public GameSnapshot withVersion(long newVersion) {
+        return new GameSnapshot(id, board, nextPlayer, status, newVersion, moveDeadline, xPlayerId, oPlayerId, joinCode);
+    }
+
+    public GameSnapshot withMoveDeadline(Instant newMoveDeadline) {
+        return new GameSnapshot(id, board, nextPlayer, status, version, newMoveDeadline, xPlayerId, oPlayerId, joinCode);
+    }
+}
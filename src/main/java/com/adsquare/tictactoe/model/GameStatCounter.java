@@ -0,0 +1,25 @@
+package com.adsquare.tictactoe.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// One row per GameStatus plus one for the move total, so stats survive restarts without scanning game
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameStatCounter {
+
+    @Id
+    @Column(length = 32)
+    private String name;
+
+    @Column(nullable = false)
+    private long total;
+}
@@ -4,5 +4,8 @@ public enum GameStatus {
     IN_PROGRESS,
     X_WON,
     O_WON,
-    DRAW
+    DRAW,
+    // the player to move ran out of time
+    X_WON_BY_FORFEIT,
+    O_WON_BY_FORFEIT
 }
@@ -0,0 +1,34 @@
+package com.adsquare.tictactoe.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    // operation scope + client key, e.g. "move:<gameId>:<key>"
+    @Id
+    @Column(length = 400)
+    private String id;
+
+    @Column(nullable = false)
+    private String fingerprint;
+
+    // response body as JSON; empty while the request that claimed the key is still running
+    @Column(nullable = false, length = 2048)
+    private String response;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
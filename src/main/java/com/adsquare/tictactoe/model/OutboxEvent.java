@@ -0,0 +1,43 @@
+package com.adsquare.tictactoe.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Written by GameOutbox in the transaction of the change, deleted by OutboxRelay once delivered
+@Entity
+@Table(name = "game_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private OutboxEventType type;
+
+    @Column(nullable = false)
+    private UUID gameId;
+
+    // event body as JSON
+    @Column(nullable = false, length = 1024)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
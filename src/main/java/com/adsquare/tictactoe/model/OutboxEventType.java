@@ -0,0 +1,7 @@
+package com.adsquare.tictactoe.model;
+
+public enum OutboxEventType {
+    GAME_CREATED,
+    MOVE_MADE,
+    GAME_FINISHED
+}
@@ -0,0 +1,55 @@
+package com.adsquare.tictactoe.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// rating and result counts are written in batches by RatingService, not through this entity
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_player_account_name", columnNames = "name"),
+        indexes = @Index(name = "idx_player_account_updated_at", columnList = "updated_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class PlayerAccount {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(nullable = false, length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private int rating;
+
+    @Column(nullable = false)
+    private int gamesPlayed;
+
+    @Column(nullable = false)
+    private int wins;
+
+    @Column(nullable = false)
+    private int draws;
+
+    @Column(nullable = false)
+    private int losses;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    public PlayerAccount(String name, int rating) {
+        this.name = name;
+        this.rating = rating;
+        this.updatedAt = Instant.now();
+    }
+}
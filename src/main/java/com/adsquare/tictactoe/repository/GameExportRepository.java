@@ -0,0 +1,13 @@
+package com.adsquare.tictactoe.repository;
+
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameStatus;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+public interface GameExportRepository {
+
+    // forward-only cursor; must be consumed inside a transaction and closed by the caller
+    Stream<Game> streamForExport(GameStatus status, Instant updatedFrom, Instant updatedTo, int fetchSize);
+}
@@ -0,0 +1,46 @@
+package com.adsquare.tictactoe.repository;
+
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+class GameExportRepositoryImpl implements GameExportRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Game> streamForExport(GameStatus status, Instant updatedFrom, Instant updatedTo, int fetchSize) {
+        // only the filters actually given end up in the SQL, so Postgres never sees untyped null parameters
+        StringBuilder jpql = new StringBuilder("select g from Game g where 1 = 1");
+        if (status != null) {
+            jpql.append(" and g.status = :status");
+        }
+        if (updatedFrom != null) {
+            jpql.append(" and g.updatedAt >= :updatedFrom");
+        }
+        if (updatedTo != null) {
+            jpql.append(" and g.updatedAt < :updatedTo");
+        }
+
+        TypedQuery<Game> query = entityManager.createQuery(jpql.toString(), Game.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (updatedFrom != null) {
+            query.setParameter("updatedFrom", updatedFrom);
+        }
+        if (updatedTo != null) {
+            query.setParameter("updatedTo", updatedTo);
+        }
+        return query.getResultStream();
+    }
+}
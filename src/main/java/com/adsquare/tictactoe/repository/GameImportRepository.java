@@ -0,0 +1,11 @@
+package com.adsquare.tictactoe.repository;
+
+import com.adsquare.tictactoe.model.Game;
+
+import java.util.List;
+
+public interface GameImportRepository {
+
+    // inserts the games whose id is not taken yet and reports, per game, whether it was inserted
+    boolean[] insertIfAbsent(List<Game> games);
+}
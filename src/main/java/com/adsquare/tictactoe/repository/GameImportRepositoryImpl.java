@@ -0,0 +1,53 @@
+package com.adsquare.tictactoe.repository;
+
+import com.adsquare.tictactoe.model.Game;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.List;
+
+// one batched INSERT per call, in its own transaction
+class GameImportRepositoryImpl implements GameImportRepository {
+
+    private static final String INSERT_SQL =
+            "insert into game (id, board, next_player, status, version, created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_IF_ABSENT_SQL = INSERT_SQL + " on conflict (id) do nothing";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactions;
+
+    GameImportRepositoryImpl(JdbcTemplate jdbcTemplate, TransactionOperations transactions) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactions = transactions;
+    }
+
+    @Override
+    public boolean[] insertIfAbsent(List<Game> games) {
+        List<Object[]> rows = games.stream().map(GameImportRepositoryImpl::row).toList();
+        try {
+            transactions.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+            boolean[] inserted = new boolean[rows.size()];
+            Arrays.fill(inserted, true);
+            return inserted;
+        } catch (DataIntegrityViolationException e) {
+            // a duplicate id sinks the whole batch; redo it row by row to find out which games clash
+            return transactions.execute(status -> {
+                boolean[] inserted = new boolean[rows.size()];
+                for (int i = 0; i < rows.size(); i++) {
+                    inserted[i] = jdbcTemplate.update(INSERT_IF_ABSENT_SQL, rows.get(i)) == 1;
+                }
+                return inserted;
+            });
+        }
+    }
+
+    private static Object[] row(Game game) {
+        return new Object[]{
+                game.getId(), game.getBoard(), game.getNextPlayer().name(), game.getStatus().name(), game.getVersion(),
+                Timestamp.from(game.getCreatedAt()), Timestamp.from(game.getUpdatedAt())
+        };
+    }
+}
@@ -1,9 +1,63 @@
 package com.adsquare.tictactoe.repository;
 
 import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface GameRepository extends JpaRepository<Game, UUID> {
+public interface GameRepository extends JpaRepository<Game, UUID>, GameExportRepository, GameImportRepository {
+
+    // served by the uk_game_join_code unique index
+    Optional<Game> findByJoinCode(String joinCode);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select g from Game g where g.id = :id")
+    Optional<Game> findByIdForUpdate(@Param("id") UUID id);
+
+    // full scan: only used once to seed the persisted stat counters
+    @Query("select g.status as status, count(g) as total from Game g group by g.status")
+    List<StatusCount> countByStatus();
+
+    // full scan: every mark on a board is one move already played when the counters are seeded
+    @Query("select coalesce(sum(length(replace(g.board, '_', ''))), 0) from Game g")
+    long countPlacedMarks();
+
+    // SKIP LOCKED: another node (or a player's move) holding the row simply leaves it for the next pass
+    @Query(value = "select * from game where id in (:ids) and status = 'IN_PROGRESS' and move_deadline <= :now "
+            + "for update skip locked", nativeQuery = true)
+    List<Game> lockOverdueAmong(@Param("ids") Collection<UUID> ids, @Param("now") Instant now);
+
+    @Query(value = "select * from game where status = 'IN_PROGRESS' and move_deadline <= :now "
+            + "order by move_deadline limit :limit for update skip locked", nativeQuery = true)
+    List<Game> lockOverdue(@Param("now") Instant now, @Param("limit") int limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select g.id as id, g.moveDeadline as moveDeadline from Game g "
+            + "where g.status = com.adsquare.tictactoe.model.GameStatus.IN_PROGRESS and g.moveDeadline is not null")
+    Stream<PendingDeadline> streamPendingDeadlines();
+
+    interface PendingDeadline {
+        UUID getId();
+
+        Instant getMoveDeadline();
+    }
+
+    interface StatusCount {
+        GameStatus getStatus();
+
+        long getTotal();
+    }
 }
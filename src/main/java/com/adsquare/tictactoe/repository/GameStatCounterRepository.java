@@ -0,0 +1,14 @@
+package com.adsquare.tictactoe.repository;
+
+import com.adsquare.tictactoe.model.GameStatCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface GameStatCounterRepository extends JpaRepository<GameStatCounter, String> {
+
+    @Modifying
+    @Query("update GameStatCounter c set c.total = c.total + :delta where c.name = :name")
+    int increment(@Param("name") String name, @Param("delta") long delta);
+}
@@ -0,0 +1,29 @@
+package com.adsquare.tictactoe.repository;
+
+import com.adsquare.tictactoe.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+
+    // whoever inserts the row owns the key; the others find it pending (empty response) or completed
+    @Transactional
+    @Modifying
+    @Query(value = "insert into idempotency_record (id, fingerprint, response, created_at) "
+            + "values (:id, :fingerprint, '', :createdAt) on conflict (id) do nothing", nativeQuery = true)
+    int claim(@Param("id") String id, @Param("fingerprint") String fingerprint, @Param("createdAt") Instant createdAt);
+
+    @Transactional
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.id = :id and r.createdAt < :cutoff")
+    int deleteExpired(@Param("id") String id, @Param("cutoff") Instant cutoff);
+}
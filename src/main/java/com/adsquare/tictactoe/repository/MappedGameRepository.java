@@ -0,0 +1,566 @@
+package com.adsquare.tictactoe.repository;
+
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.util.BoardUtil;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * {@link GameRepository} on top of the embedded {@link MappedGameStore}.
+ * <p>
+ * Inside a Spring transaction, saves and deletes are checked (version, join code) and staged. Nothing reaches the
+ * store until the transaction commits, and a rollback drops them. Each game written or locked "for update" holds
+ * an in-process row lock from then until the transaction completes, so pessimistic mode serializes moves like
+ * SELECT ... FOR UPDATE does and staged writes cannot conflict at commit. The overdue queries skip games locked by
+ * other transactions, like SKIP LOCKED. Lookups by id see the transaction's own staged writes; scans only see
+ * committed games. Outside a transaction every write goes straight to the store.
+ * <p>
+ * Locks are striped by id and only cover this JVM, which is all an embedded store serves. Query-by-example and
+ * sorting are not supported.
+ */
+@Slf4j
+public class MappedGameRepository implements GameRepository {
+
+    private static final int LOCK_STRIPES = 1024;
+    // like a database lock timeout; also what breaks a deadlock between two transactions locking several games
+    private static final long LOCK_TIMEOUT_MILLIS = 10_000;
+
+    private final MappedGameStore store;
+    private final ReentrantLock[] rowLocks = new ReentrantLock[LOCK_STRIPES];
+
+    public MappedGameRepository(MappedGameStore store) {
+        this.store = store;
+        for (int i = 0; i < rowLocks.length; i++) {
+            rowLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public <S extends Game> S save(S entity) {
+        TransactionWrites writes = transactionWrites();
+        if (writes == null) {
+            if (entity.getId() == null) {
+                store.save(entity);
+            } else {
+                withRowLock(entity.getId(), () -> store.save(entity));
+            }
+            return entity;
+        }
+        if (entity.getId() == null) {
+            entity.setId(UUID.randomUUID());
+        }
+        writes.lock(entity.getId());
+        writes.stage(entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends Game> S saveAndFlush(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends Game> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public <S extends Game> List<S> saveAllAndFlush(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    // imports run outside any transaction, so the games go straight to the store
+    @Override
+    public boolean[] insertIfAbsent(List<Game> games) {
+        boolean[] inserted = new boolean[games.size()];
+        for (int i = 0; i < games.size(); i++) {
+            inserted[i] = store.insertIfAbsent(games.get(i));
+        }
+        return inserted;
+    }
+
+    @Override
+    public void flush() {
+        // staged writes were already checked when saved; they are applied on commit
+    }
+
+    @Override
+    public Optional<Game> findById(UUID id) {
+        TransactionWrites writes = boundWrites();
+        return writes != null ? writes.find(id) : store.findById(id);
+    }
+
+    // outside a transaction there is nothing to hold the lock for, so this is a plain read
+    @Override
+    public Optional<Game> findByIdForUpdate(UUID id) {
+        TransactionWrites writes = transactionWrites();
+        if (writes == null) {
+            return store.findById(id);
+        }
+        writes.lock(id);
+        return writes.find(id);
+    }
+
+    @Override
+    public Optional<Game> findByJoinCode(String joinCode) {
+        TransactionWrites writes = boundWrites();
+        if (writes != null) {
+            Optional<Game> staged = writes.findStagedByJoinCode(joinCode);
+            if (staged.isPresent()) {
+                return staged;
+            }
+        }
+        return store.findByJoinCode(joinCode);
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return findById(id).isPresent();
+    }
+
+    @Override
+    public List<Game> findAll() {
+        return store.scan(game -> true, 0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Game> findAll(Sort sort) {
+        requireUnsorted(sort);
+        return findAll();
+    }
+
+    @Override
+    public Page<Game> findAll(Pageable pageable) {
+        requireUnsorted(pageable.getSort());
+        if (pageable.isUnpaged()) {
+            List<Game> all = findAll();
+            return new PageImpl<>(all, pageable, all.size());
+        }
+        return new PageImpl<>(store.scan(game -> true, pageable.getOffset(), pageable.getPageSize()), pageable, store.count());
+    }
+
+    @Override
+    public List<Game> findAllById(Iterable<UUID> ids) {
+        List<Game> games = new ArrayList<>();
+        ids.forEach(id -> findById(id).ifPresent(games::add));
+        return games;
+    }
+
+    @Override
+    public long count() {
+        return store.count();
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        TransactionWrites writes = transactionWrites();
+        if (writes == null) {
+            withRowLock(id, () -> store.delete(id));
+            return;
+        }
+        writes.lock(id);
+        writes.stageDelete(id);
+    }
+
+    @Override
+    public void delete(Game entity) {
+        deleteById(entity.getId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends UUID> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Game> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        findAll().forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAllInBatch(Iterable<Game> entities) {
+        deleteAll(entities);
+    }
+
+    @Override
+    public void deleteAllByIdInBatch(Iterable<UUID> ids) {
+        deleteAllById(ids);
+    }
+
+    @Override
+    public void deleteAllInBatch() {
+        deleteAll();
+    }
+
+    @Override
+    @Deprecated
+    public Game getOne(UUID id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    @Deprecated
+    public Game getById(UUID id) {
+        return getReferenceById(id);
+    }
+
+    @Override
+    public Game getReferenceById(UUID id) {
+        return findById(id).orElseThrow(() -> new EntityNotFoundException("Game not found: " + id));
+    }
+
+    @Override
+    public List<StatusCount> countByStatus() {
+        Map<GameStatus, Long> counts = new EnumMap<>(GameStatus.class);
+        store.forEach(game -> counts.merge(game.getStatus(), 1L, Long::sum));
+        List<StatusCount> result = new ArrayList<>();
+        counts.forEach((status, total) -> result.add(new Count(status, total)));
+        return result;
+    }
+
+    @Override
+    public long countPlacedMarks() {
+        LongAdder marks = new LongAdder();
+        store.forEach(game -> marks.add(game.getBoard().chars().filter(cell -> cell != BoardUtil.EMPTY_CELL).count()));
+        return marks.sum();
+    }
+
+    @Override
+    public List<Game> lockOverdueAmong(Collection<UUID> ids, Instant now) {
+        return lockOverdue(ids, now);
+    }
+
+    @Override
+    public List<Game> lockOverdue(Instant now, int limit) {
+        return lockOverdue(store.scan(overdue(now), 0, limit).stream().map(Game::getId).toList(), now);
+    }
+
+    // SKIP LOCKED: games another transaction holds are left for the next pass; the rest are re-read once locked
+    private List<Game> lockOverdue(Collection<UUID> ids, Instant now) {
+        TransactionWrites writes = transactionWrites();
+        List<Game> overdue = new ArrayList<>();
+        for (UUID id : ids) {
+            if (writes == null) {
+                store.findById(id).filter(overdue(now)).ifPresent(overdue::add);
+            } else if (writes.tryLock(id)) {
+                writes.find(id).filter(overdue(now)).ifPresent(overdue::add);
+            }
+        }
+        return overdue;
+    }
+
+    @Override
+    public Stream<PendingDeadline> streamPendingDeadlines() {
+        return store.scan(game -> game.getStatus() == GameStatus.IN_PROGRESS && game.getMoveDeadline() != null, 0, Integer.MAX_VALUE)
+                .stream()
+                .map(game -> new Deadline(game.getId(), game.getMoveDeadline()));
+    }
+
+    @Override
+    public Stream<Game> streamForExport(GameStatus status, Instant updatedFrom, Instant updatedTo, int fetchSize) {
+        Predicate<Game> filter = game -> (status == null || game.getStatus() == status)
+                && (updatedFrom == null || !game.getUpdatedAt().isBefore(updatedFrom))
+                && (updatedTo == null || game.getUpdatedAt().isBefore(updatedTo));
+        return store.scan(filter, 0, Integer.MAX_VALUE).stream();
+    }
+
+    @Override
+    public <S extends Game> Optional<S> findOne(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends Game> List<S> findAll(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends Game> List<S> findAll(Example<S> example, Sort sort) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends Game> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends Game> long count(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends Game> boolean exists(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends Game, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw unsupported();
+    }
+
+    // null outside a transaction (or once it has committed), where writes go straight to the store
+    private TransactionWrites transactionWrites() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        TransactionWrites writes = boundWrites();
+        if (writes == null && TransactionSynchronizationManager.getResource(this) == null) {
+            writes = new TransactionWrites();
+            TransactionSynchronizationManager.bindResource(this, writes);
+            TransactionSynchronizationManager.registerSynchronization(writes);
+        }
+        return writes;
+    }
+
+    // plain reads never register with the transaction: after-commit listeners read games back while the
+    // synchronizations are already being run, and one registered then would never complete
+    private TransactionWrites boundWrites() {
+        TransactionWrites writes = (TransactionWrites) TransactionSynchronizationManager.getResource(this);
+        return writes != null && !writes.committed ? writes : null;
+    }
+
+    private ReentrantLock rowLock(UUID id) {
+        return rowLocks[Math.floorMod(id.hashCode(), LOCK_STRIPES)];
+    }
+
+    private void withRowLock(UUID id, Runnable write) {
+        ReentrantLock lock = rowLock(id);
+        acquire(lock, id);
+        try {
+            write.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void acquire(ReentrantLock lock, UUID id) {
+        try {
+            if (!lock.tryLock(LOCK_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                throw new CannotAcquireLockException("Timed out waiting for the lock on game " + id);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted while waiting for the lock on game " + id, e);
+        }
+    }
+
+    private static Game copy(Game game) {
+        Game copy = new Game();
+        copy.setId(game.getId());
+        copy.setBoard(game.getBoard());
+        copy.setNextPlayer(game.getNextPlayer());
+        copy.setStatus(game.getStatus());
+        copy.setVersion(game.getVersion());
+        copy.setJoinCode(game.getJoinCode());
+        copy.setCreatedAt(game.getCreatedAt());
+        copy.setUpdatedAt(game.getUpdatedAt());
+        copy.setMoveTimeLimitSeconds(game.getMoveTimeLimitSeconds());
+        copy.setMoveDeadline(game.getMoveDeadline());
+        copy.setXPlayerId(game.getXPlayerId());
+        copy.setOPlayerId(game.getOPlayerId());
+        return copy;
+    }
+
+    private static Predicate<Game> overdue(Instant now) {
+        return game -> game.getStatus() == GameStatus.IN_PROGRESS
+                && game.getMoveDeadline() != null
+                && !game.getMoveDeadline().isAfter(now);
+    }
+
+    private static void requireUnsorted(Sort sort) {
+        if (sort.isSorted()) {
+            throw unsupported();
+        }
+    }
+
+    private static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("Not supported by the mmap storage engine");
+    }
+
+    // the staged writes and held row locks of one transaction; a null image stands for a delete
+    private final class TransactionWrites implements TransactionSynchronization {
+
+        private final Map<UUID, Game> staged = new LinkedHashMap<>();
+        private final Set<ReentrantLock> held = new HashSet<>();
+        private boolean committed;
+
+        void lock(UUID id) {
+            ReentrantLock lock = rowLock(id);
+            if (!held.contains(lock)) {
+                acquire(lock, id);
+                held.add(lock);
+            }
+        }
+
+        boolean tryLock(UUID id) {
+            ReentrantLock lock = rowLock(id);
+            if (held.contains(lock)) {
+                return true;
+            }
+            if (!lock.tryLock()) {
+                return false;
+            }
+            held.add(lock);
+            return true;
+        }
+
+        Optional<Game> find(UUID id) {
+            if (staged.containsKey(id)) {
+                return Optional.ofNullable(staged.get(id)).map(MappedGameRepository::copy);
+            }
+            return store.findById(id);
+        }
+
+        Optional<Game> findStagedByJoinCode(String joinCode) {
+            return staged.values().stream()
+                    .filter(game -> game != null && joinCode.equals(game.getJoinCode()))
+                    .findFirst()
+                    .map(MappedGameRepository::copy);
+        }
+
+        // the same checks MappedGameStore.save makes, against what this transaction sees
+        void stage(Game game) {
+            Optional<Game> current = find(game.getId());
+            Instant now = Instant.now();
+            if (current.isEmpty()) {
+                String joinCode = game.getJoinCode();
+                if (joinCode != null
+                        && (store.findByJoinCode(joinCode).isPresent() || findStagedByJoinCode(joinCode).isPresent())) {
+                    throw new DataIntegrityViolationException("Duplicate join code " + joinCode);
+                }
+                game.setVersion(0);
+                if (game.getCreatedAt() == null) {
+                    game.setCreatedAt(now);
+                }
+            } else {
+                Game stored = current.get();
+                if (stored.getVersion() != game.getVersion()) {
+                    throw new ObjectOptimisticLockingFailureException(Game.class, game.getId());
+                }
+                game.setJoinCode(stored.getJoinCode());
+                game.setVersion(stored.getVersion() + 1);
+                game.setCreatedAt(stored.getCreatedAt());
+            }
+            game.setUpdatedAt(now);
+            staged.put(game.getId(), copy(game));
+        }
+
+        void stageDelete(UUID id) {
+            if (find(id).isPresent()) {
+                staged.put(id, null);
+            }
+        }
+
+        @Override
+        public int getOrder() {
+            // applied before the after-commit event listeners, which read the committed games back
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(MappedGameRepository.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(MappedGameRepository.this, this);
+        }
+
+        @Override
+        public void afterCommit() {
+            committed = true;
+            staged.forEach((id, image) -> {
+                try {
+                    if (image == null) {
+                        store.delete(id);
+                    } else {
+                        store.apply(image);
+                    }
+                } catch (RuntimeException e) {
+                    // the surrounding transaction has already committed; there is nothing left to roll back
+                    log.error("Could not apply committed write of game {}", id, e);
+                }
+            });
+            staged.clear();
+            release();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(MappedGameRepository.this);
+            staged.clear();
+            release();
+        }
+
+        private void release() {
+            held.forEach(ReentrantLock::unlock);
+            held.clear();
+        }
+    }
+
+    private record Count(GameStatus status, long total) implements StatusCount {
+
+        @Override
+        public GameStatus getStatus() {
+            return status;
+        }
+
+        @Override
+        public long getTotal() {
+            return total;
+        }
+    }
+
+    private record Deadline(UUID id, Instant moveDeadline) implements PendingDeadline {
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public Instant getMoveDeadline() {
+            return moveDeadline;
+        }
+    }
+}
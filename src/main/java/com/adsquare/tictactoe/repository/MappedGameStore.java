@@ -0,0 +1,532 @@
+package com.adsquare.tictactoe.repository;
+
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+import com.adsquare.tictactoe.util.BoardUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.CRC32C;
+
+/**
+ * Embedded game storage: fixed-width records in a memory-mapped file, located through an off-heap id index.
+ * <p>
+ * Every change is first appended to a journal (slot + full record image + CRC) and then copied over the record
+ * in place, with the stored version checked first. A checkpoint forces the mapped file and truncates the
+ * journal; on open, complete journal entries are replayed over the file, so a crash in the middle of a record
+ * write is repaired and a torn journal tail is ignored. Deleted records stay as holes until compaction moves
+ * live records down into them. The store itself is not transactional: a write is durable (to the page cache, or
+ * the disk with sync-journal) as soon as it returns. {@link MappedGameRepository} stages the writes of a Spring
+ * transaction and applies them here on commit.
+ */
+@Slf4j
+public class MappedGameStore implements Closeable {
+
+    static final int RECORD_SIZE = 128;
+    private static final int HEADER_SIZE = 64;
+    private static final int MAGIC = 0x54545447; // "TTTG"
+    private static final int FORMAT = 1;
+    private static final int JOURNAL_ENTRY_SIZE = 4 + RECORD_SIZE + 4; // slot, record, crc
+    private static final long MAX_FILE_SIZE = Integer.MAX_VALUE;
+
+    private static final byte FREE = 0;
+    private static final byte LIVE = 1;
+    private static final byte DELETED = 2;
+
+    private static final int HAS_MOVE_LIMIT = 1;
+    private static final int HAS_DEADLINE = 1 << 1;
+    private static final int HAS_X_PLAYER = 1 << 2;
+    private static final int HAS_O_PLAYER = 1 << 3;
+    private static final int HAS_JOIN_CODE = 1 << 4;
+
+    private static final GameStatus[] STATUSES = GameStatus.values();
+    private static final Player[] PLAYERS = Player.values();
+
+    private final Path dataFile;
+    private final Path journalFile;
+    private final boolean syncJournal;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final OffHeapIndex ids;
+    private final OffHeapIndex joinCodes;
+    // reused under the write lock
+    private final ByteBuffer recordBuffer = ByteBuffer.allocate(RECORD_SIZE);
+    private final ByteBuffer journalBuffer = ByteBuffer.allocate(JOURNAL_ENTRY_SIZE);
+    private final CRC32C crc = new CRC32C();
+
+    private FileChannel dataChannel;
+    private FileChannel journal;
+    private MappedByteBuffer data;
+    private int capacity;
+    private int slots;
+    private int deleted;
+
+    public MappedGameStore(Path directory, int initialCapacity, boolean syncJournal) {
+        this.dataFile = directory.resolve("games.dat");
+        this.journalFile = directory.resolve("games.journal");
+        this.syncJournal = syncJournal;
+        this.ids = new OffHeapIndex(initialCapacity);
+        this.joinCodes = new OffHeapIndex(initialCapacity);
+        try {
+            Files.createDirectories(directory);
+            dataChannel = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            boolean fresh = dataChannel.size() < HEADER_SIZE;
+            map(fresh ? Math.max(16, initialCapacity) : (int) ((dataChannel.size() - HEADER_SIZE) / RECORD_SIZE));
+            if (fresh) {
+                data.putInt(0, MAGIC);
+                data.putInt(4, FORMAT);
+                data.putInt(8, 0);
+            } else if (data.getInt(0) != MAGIC || data.getInt(4) != FORMAT) {
+                throw new IllegalStateException("Not a game store file: " + dataFile);
+            }
+            slots = data.getInt(8);
+            journal = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            int replayed = replayJournal();
+            rebuildIndexes();
+            checkpoint();
+            log.info("Opened game store {} with {} games ({} journal entries replayed)", dataFile, ids.size(), replayed);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open game store in " + directory, e);
+        }
+    }
+
+    public Game save(Game game) {
+        lock.writeLock().lock();
+        try {
+            Instant now = Instant.now();
+            int slot = game.getId() == null ? -1 : ids.get(game.getId().getMostSignificantBits(), game.getId().getLeastSignificantBits());
+            if (slot < 0) {
+                return insert(game, now);
+            }
+            long storedVersion = data.getLong(recordOffset(slot) + 24);
+            if (storedVersion != game.getVersion()) {
+                throw new ObjectOptimisticLockingFailureException(Game.class, game.getId());
+            }
+            Game stored = decode(slot);
+            // like the JPA mapping, created_at and join_code are not updatable
+            game.setJoinCode(stored.getJoinCode());
+            game.setVersion(storedVersion + 1);
+            game.setCreatedAt(stored.getCreatedAt());
+            game.setUpdatedAt(now);
+            write(slot, game, LIVE);
+            return game;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // false when a game with this id is already stored
+    public boolean insertIfAbsent(Game game) {
+        lock.writeLock().lock();
+        try {
+            if (ids.get(game.getId().getMostSignificantBits(), game.getId().getLeastSignificantBits()) >= 0) {
+                return false;
+            }
+            insert(game, Instant.now());
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // writes a record image whose version and timestamps were already settled by the caller, inserting it when
+    // the id is not stored yet; used to apply writes staged until a transaction commits
+    public void apply(Game image) {
+        lock.writeLock().lock();
+        try {
+            int slot = ids.get(image.getId().getMostSignificantBits(), image.getId().getLeastSignificantBits());
+            if (slot < 0) {
+                append(image);
+            } else {
+                write(slot, image, LIVE);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Game> findById(UUID id) {
+        lock.readLock().lock();
+        try {
+            int slot = ids.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            return slot < 0 ? Optional.empty() : Optional.of(decode(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<Game> findByJoinCode(String joinCode) {
+        lock.readLock().lock();
+        try {
+            int slot = joinCodes.get(packJoinCode(joinCode), 0);
+            return slot < 0 ? Optional.empty() : Optional.of(decode(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean delete(UUID id) {
+        lock.writeLock().lock();
+        try {
+            int slot = ids.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (slot < 0) {
+                return false;
+            }
+            Game game = decode(slot);
+            write(slot, game, DELETED);
+            ids.remove(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (game.getJoinCode() != null) {
+                joinCodes.remove(packJoinCode(game.getJoinCode()), 0);
+            }
+            deleted++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return ids.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // full scan in slot order; fine for the sizes an embedded deployment holds
+    public List<Game> scan(Predicate<Game> filter, long skip, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Game> matches = new ArrayList<>();
+            long skipped = 0;
+            for (int slot = 0; slot < slots && matches.size() < limit; slot++) {
+                if (data.get(recordOffset(slot)) != LIVE) {
+                    continue;
+                }
+                Game game = decode(slot);
+                if (filter.test(game) && skipped++ >= skip) {
+                    matches.add(game);
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void forEach(Consumer<Game> action) {
+        lock.readLock().lock();
+        try {
+            for (int slot = 0; slot < slots; slot++) {
+                if (data.get(recordOffset(slot)) == LIVE) {
+                    action.accept(decode(slot));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void checkpoint() {
+        lock.writeLock().lock();
+        try {
+            data.putInt(8, slots);
+            data.force();
+            journal.truncate(0);
+            journal.position(0);
+            journal.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Checkpoint failed for " + dataFile, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // moves live records down into deleted slots; returns how many records moved
+    public int compact() {
+        lock.writeLock().lock();
+        try {
+            checkpoint();
+            int target = 0;
+            int moved = 0;
+            for (int slot = 0; slot < slots; slot++) {
+                if (data.get(recordOffset(slot)) != LIVE) {
+                    continue;
+                }
+                if (slot != target) {
+                    Game game = decode(slot);
+                    write(target, game, LIVE);
+                    write(slot, game, DELETED);
+                    index(game, target);
+                    moved++;
+                }
+                target++;
+            }
+            for (int slot = target; slot < slots; slot++) {
+                data.put(recordOffset(slot), FREE);
+            }
+            slots = target;
+            deleted = 0;
+            checkpoint();
+            log.debug("Compacted game store: {} records moved, {} live", moved, slots);
+            return moved;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public double deletedFraction() {
+        lock.readLock().lock();
+        try {
+            return slots == 0 ? 0 : (double) deleted / slots;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            checkpoint();
+            journal.close();
+            dataChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close game store " + dataFile, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Game insert(Game game, Instant now) {
+        if (game.getId() == null) {
+            game.setId(UUID.randomUUID());
+        }
+        game.setVersion(0);
+        if (game.getCreatedAt() == null) {
+            game.setCreatedAt(now);
+        }
+        game.setUpdatedAt(now);
+        append(game);
+        return game;
+    }
+
+    private void append(Game game) {
+        if (game.getJoinCode() != null && joinCodes.get(packJoinCode(game.getJoinCode()), 0) >= 0) {
+            throw new DataIntegrityViolationException("Duplicate join code " + game.getJoinCode());
+        }
+        if (slots == capacity) {
+            grow();
+        }
+        int slot = slots++;
+        write(slot, game, LIVE);
+        index(game, slot);
+    }
+
+    private void index(Game game, int slot) {
+        ids.put(game.getId().getMostSignificantBits(), game.getId().getLeastSignificantBits(), slot);
+        if (game.getJoinCode() != null) {
+            joinCodes.put(packJoinCode(game.getJoinCode()), 0, slot);
+        }
+    }
+
+    // journal first, then the in-place copy
+    private void write(int slot, Game game, byte state) {
+        encode(game, state);
+        try {
+            journalBuffer.clear();
+            journalBuffer.putInt(slot).put(recordBuffer.array());
+            crc.reset();
+            crc.update(journalBuffer.array(), 0, 4 + RECORD_SIZE);
+            journalBuffer.putInt((int) crc.getValue()).flip();
+            while (journalBuffer.hasRemaining()) {
+                journal.write(journalBuffer);
+            }
+            if (syncJournal) {
+                journal.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to journal " + journalFile, e);
+        }
+        data.put(recordOffset(slot), recordBuffer.array());
+    }
+
+    private int replayJournal() throws IOException {
+        ByteBuffer entry = ByteBuffer.allocate(JOURNAL_ENTRY_SIZE);
+        journal.position(0);
+        int replayed = 0;
+        while (true) {
+            entry.clear();
+            while (entry.hasRemaining() && journal.read(entry) > 0) {
+                // keep reading
+            }
+            if (entry.hasRemaining()) {
+                break; // end of journal or torn tail
+            }
+            crc.reset();
+            crc.update(entry.array(), 0, 4 + RECORD_SIZE);
+            if ((int) crc.getValue() != entry.getInt(4 + RECORD_SIZE)) {
+                log.warn("Ignoring corrupt journal tail after {} entries", replayed);
+                break;
+            }
+            int slot = entry.getInt(0);
+            while (slot >= capacity) {
+                grow();
+            }
+            data.put(recordOffset(slot), entry.array(), 4, RECORD_SIZE);
+            slots = Math.max(slots, slot + 1);
+            replayed++;
+        }
+        return replayed;
+    }
+
+    // an interrupted compaction can leave the same game in two slots; the newer version wins
+    private void rebuildIndexes() {
+        ids.clear();
+        joinCodes.clear();
+        deleted = 0;
+        for (int slot = 0; slot < slots; slot++) {
+            byte state = data.get(recordOffset(slot));
+            if (state != LIVE) {
+                deleted += state == DELETED ? 1 : 0;
+                continue;
+            }
+            int offset = recordOffset(slot);
+            long msb = data.getLong(offset + 8);
+            long lsb = data.getLong(offset + 16);
+            int existing = ids.get(msb, lsb);
+            if (existing >= 0) {
+                int loser = data.getLong(recordOffset(existing) + 24) >= data.getLong(offset + 24) ? slot : existing;
+                data.put(recordOffset(loser), DELETED);
+                deleted++;
+                if (loser == slot) {
+                    continue;
+                }
+            }
+            index(decode(slot), slot);
+        }
+    }
+
+    private void grow() {
+        long newCapacity = Math.min((long) capacity * 2, (MAX_FILE_SIZE - HEADER_SIZE) / RECORD_SIZE);
+        if (newCapacity <= capacity) {
+            throw new IllegalStateException("Game store is full: " + capacity + " records");
+        }
+        try {
+            data.force();
+            map((int) newCapacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not grow game store " + dataFile, e);
+        }
+    }
+
+    private void map(int newCapacity) throws IOException {
+        data = dataChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) newCapacity * RECORD_SIZE);
+        capacity = newCapacity;
+    }
+
+    private void encode(Game game, byte state) {
+        ByteBuffer r = recordBuffer.clear();
+        int flags = (game.getMoveTimeLimitSeconds() != null ? HAS_MOVE_LIMIT : 0)
+                | (game.getMoveDeadline() != null ? HAS_DEADLINE : 0)
+                | (game.getXPlayerId() != null ? HAS_X_PLAYER : 0)
+                | (game.getOPlayerId() != null ? HAS_O_PLAYER : 0)
+                | (game.getJoinCode() != null ? HAS_JOIN_CODE : 0);
+        r.put(0, state);
+        r.put(1, (byte) game.getStatus().ordinal());
+        r.put(2, (byte) game.getNextPlayer().ordinal());
+        r.put(3, (byte) flags);
+        r.putInt(4, BoardUtil.encode(game.getBoard()));
+        r.putLong(8, game.getId().getMostSignificantBits());
+        r.putLong(16, game.getId().getLeastSignificantBits());
+        r.putLong(24, game.getVersion());
+        r.putLong(32, toMicros(game.getCreatedAt()));
+        r.putLong(40, toMicros(game.getUpdatedAt()));
+        r.putLong(48, toMicros(game.getMoveDeadline()));
+        r.putInt(56, game.getMoveTimeLimitSeconds() != null ? game.getMoveTimeLimitSeconds() : 0);
+        putUuid(r, 64, game.getXPlayerId());
+        putUuid(r, 80, game.getOPlayerId());
+        r.putLong(96, game.getJoinCode() != null ? packJoinCode(game.getJoinCode()) : 0);
+    }
+
+    private Game decode(int slot) {
+        int offset = recordOffset(slot);
+        int flags = data.get(offset + 3);
+        Game game = new Game();
+        game.setStatus(STATUSES[data.get(offset + 1)]);
+        game.setNextPlayer(PLAYERS[data.get(offset + 2)]);
+        game.setBoard(BoardUtil.decode(data.getInt(offset + 4)));
+        game.setId(new UUID(data.getLong(offset + 8), data.getLong(offset + 16)));
+        game.setVersion(data.getLong(offset + 24));
+        game.setCreatedAt(fromMicros(data.getLong(offset + 32)));
+        game.setUpdatedAt(fromMicros(data.getLong(offset + 40)));
+        game.setMoveDeadline((flags & HAS_DEADLINE) != 0 ? fromMicros(data.getLong(offset + 48)) : null);
+        game.setMoveTimeLimitSeconds((flags & HAS_MOVE_LIMIT) != 0 ? data.getInt(offset + 56) : null);
+        game.setXPlayerId((flags & HAS_X_PLAYER) != 0 ? new UUID(data.getLong(offset + 64), data.getLong(offset + 72)) : null);
+        game.setOPlayerId((flags & HAS_O_PLAYER) != 0 ? new UUID(data.getLong(offset + 80), data.getLong(offset + 88)) : null);
+        game.setJoinCode((flags & HAS_JOIN_CODE) != 0 ? unpackJoinCode(data.getLong(offset + 96)) : null);
+        return game;
+    }
+
+    private static int recordOffset(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+
+    private static void putUuid(ByteBuffer buffer, int offset, UUID id) {
+        buffer.putLong(offset, id != null ? id.getMostSignificantBits() : 0);
+        buffer.putLong(offset + 8, id != null ? id.getLeastSignificantBits() : 0);
+    }
+
+    private static long toMicros(Instant instant) {
+        return instant == null ? 0 : instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+    }
+
+    private static Instant fromMicros(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000), Math.floorMod(micros, 1_000_000) * 1_000L);
+    }
+
+    // join codes are 8 ASCII characters, which is exactly one long
+    private static long packJoinCode(String joinCode) {
+        byte[] bytes = joinCode.getBytes(StandardCharsets.US_ASCII);
+        if (bytes.length > 8) {
+            throw new IllegalArgumentException("Join code too long: " + joinCode);
+        }
+        long packed = 0;
+        for (byte b : bytes) {
+            packed = packed << 8 | (b & 0xFF);
+        }
+        return packed;
+    }
+
+    private static String unpackJoinCode(long packed) {
+        byte[] bytes = new byte[8];
+        int length = 0;
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            byte b = (byte) (packed >>> shift);
+            if (b != 0 || length > 0) {
+                bytes[length++] = b;
+            }
+        }
+        return new String(bytes, 0, length, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,149 @@
+package com.adsquare.tictactoe.repository;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Open-addressing hash table from a 128-bit key to a record slot, kept in a direct buffer so millions of
+ * entries cost no heap objects and no GC work. Linear probing with tombstones; not thread-safe, the owning
+ * store serializes access.
+ */
+final class OffHeapIndex {
+
+    private static final int ENTRY_BYTES = 24; // key high, key low, slot + 1 (0 = empty, -1 = tombstone), padding
+    private static final int EMPTY = 0;
+    private static final int TOMBSTONE = -1;
+    private static final double MAX_LOAD = 0.7;
+
+    private ByteBuffer table;
+    private int mask;
+    private int size;
+    private int tombstones;
+
+    OffHeapIndex(int expectedEntries) {
+        allocate(tableSizeFor(expectedEntries));
+    }
+
+    int get(long keyHigh, long keyLow) {
+        int i = hash(keyHigh, keyLow) & mask;
+        while (true) {
+            int marker = markerAt(i);
+            if (marker == EMPTY) {
+                return -1;
+            }
+            if (marker != TOMBSTONE && keyMatches(i, keyHigh, keyLow)) {
+                return marker - 1;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    void put(long keyHigh, long keyLow, int slot) {
+        if (size + tombstones + 1 > (mask + 1) * MAX_LOAD) {
+            // mostly tombstones: rehash in place size, otherwise grow
+            rehash(size + 1 > (mask + 1) * MAX_LOAD / 2 ? (mask + 1) * 2 : mask + 1);
+        }
+        int i = hash(keyHigh, keyLow) & mask;
+        int firstTombstone = -1;
+        while (true) {
+            int marker = markerAt(i);
+            if (marker == EMPTY) {
+                int target = firstTombstone >= 0 ? firstTombstone : i;
+                if (firstTombstone >= 0) {
+                    tombstones--;
+                }
+                write(target, keyHigh, keyLow, slot + 1);
+                size++;
+                return;
+            }
+            if (marker == TOMBSTONE) {
+                if (firstTombstone < 0) {
+                    firstTombstone = i;
+                }
+            } else if (keyMatches(i, keyHigh, keyLow)) {
+                table.putInt(offset(i) + 16, slot + 1);
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    void remove(long keyHigh, long keyLow) {
+        int i = hash(keyHigh, keyLow) & mask;
+        while (true) {
+            int marker = markerAt(i);
+            if (marker == EMPTY) {
+                return;
+            }
+            if (marker != TOMBSTONE && keyMatches(i, keyHigh, keyLow)) {
+                table.putInt(offset(i) + 16, TOMBSTONE);
+                size--;
+                tombstones++;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        allocate(mask + 1);
+    }
+
+    private void rehash(int newCapacity) {
+        ByteBuffer old = table;
+        int oldCapacity = mask + 1;
+        allocate(newCapacity);
+        for (int i = 0; i < oldCapacity; i++) {
+            int marker = old.getInt(i * ENTRY_BYTES + 16);
+            if (marker != EMPTY && marker != TOMBSTONE) {
+                put(old.getLong(i * ENTRY_BYTES), old.getLong(i * ENTRY_BYTES + 8), marker - 1);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        if ((long) capacity * ENTRY_BYTES > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Index capacity exceeded: " + capacity);
+        }
+        table = ByteBuffer.allocateDirect(capacity * ENTRY_BYTES); // zeroed, i.e. all empty
+        mask = capacity - 1;
+        size = 0;
+        tombstones = 0;
+    }
+
+    private void write(int i, long keyHigh, long keyLow, int marker) {
+        int offset = offset(i);
+        table.putLong(offset, keyHigh);
+        table.putLong(offset + 8, keyLow);
+        table.putInt(offset + 16, marker);
+    }
+
+    private boolean keyMatches(int i, long keyHigh, long keyLow) {
+        int offset = offset(i);
+        return table.getLong(offset) == keyHigh && table.getLong(offset + 8) == keyLow;
+    }
+
+    private int markerAt(int i) {
+        return table.getInt(offset(i) + 16);
+    }
+
+    private static int offset(int i) {
+        return i * ENTRY_BYTES;
+    }
+
+    private static int hash(long keyHigh, long keyLow) {
+        long h = keyHigh * 0x9E3779B97F4A7C15L ^ keyLow;
+        h ^= h >>> 31;
+        h *= 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 29;
+        return (int) h;
+    }
+
+    private static int tableSizeFor(int expectedEntries) {
+        int needed = (int) Math.min(1 << 30, Math.max(16, (long) Math.ceil(expectedEntries / MAX_LOAD)));
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+}
@@ -0,0 +1,21 @@
+package com.adsquare.tictactoe.repository;
+
+import com.adsquare.tictactoe.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // SKIP LOCKED lets relays on several nodes drain disjoint batches
+    @Query(value = "select * from game_outbox order by id limit :limit for update skip locked", nativeQuery = true)
+    List<OutboxEvent> lockOldest(@Param("limit") int limit);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,33 @@
+package com.adsquare.tictactoe.repository;
+
+import com.adsquare.tictactoe.model.PlayerAccount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface PlayerAccountRepository extends JpaRepository<PlayerAccount, UUID> {
+
+    boolean existsByName(String name);
+
+    // full scan: only used to build the in-memory leaderboard at startup
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("select p.id as id, p.rating as rating from PlayerAccount p")
+    Stream<PlayerRating> streamRatings();
+
+    @Query("select p.id as id, p.rating as rating from PlayerAccount p where p.updatedAt >= :since")
+    List<PlayerRating> findRatingsUpdatedSince(@Param("since") Instant since);
+
+    interface PlayerRating {
+        UUID getId();
+
+        int getRating();
+    }
+}
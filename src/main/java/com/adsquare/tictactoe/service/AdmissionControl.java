@@ -0,0 +1,60 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.AdmissionProperties;
+import com.adsquare.tictactoe.util.TokenBucket;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+@Component
+public class AdmissionControl {
+
+    private final AdmissionProperties properties;
+    private final Semaphore inFlight;
+    private final Cache<UUID, TokenBucket> moveBuckets;
+    private final Counter rejectedByGameRate;
+    private final Counter rejectedByConcurrency;
+
+    public AdmissionControl(AdmissionProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.inFlight = new Semaphore(properties.maxConcurrentRequests());
+        this.moveBuckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxTrackedGames())
+                .expireAfterAccess(properties.idleGameExpiry())
+                .build();
+        this.rejectedByGameRate = Counter.builder("tictactoe.admission.rejected").tag("reason", "game_rate").register(registry);
+        this.rejectedByConcurrency = Counter.builder("tictactoe.admission.rejected").tag("reason", "concurrency").register(registry);
+        Gauge.builder("tictactoe.admission.in_flight", inFlight,
+                semaphore -> properties.maxConcurrentRequests() - semaphore.availablePermits()).register(registry);
+    }
+
+    // 0 when the move may proceed, otherwise nanos until the game's bucket refills
+    public long tryAcquireMove(UUID gameId) {
+        long now = System.nanoTime();
+        TokenBucket bucket = moveBuckets.get(gameId,
+                id -> new TokenBucket(properties.movesPerSecondPerGame(), properties.moveBurstPerGame(), now));
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            rejectedByGameRate.increment();
+        }
+        return waitNanos;
+    }
+
+    public boolean tryEnter() {
+        if (inFlight.tryAcquire()) {
+            return true;
+        }
+        rejectedByConcurrency.increment();
+        return false;
+    }
+
+    public void exit() {
+        inFlight.release();
+    }
+}
@@ -0,0 +1,211 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.AuditProperties;
+import com.adsquare.tictactoe.event.AuditRecord;
+import com.adsquare.tictactoe.event.GameEvent;
+import com.adsquare.tictactoe.util.BinaryRingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Audit trail of committed game events. Request threads only claim a ring slot and write one fixed-layout
+ * {@link AuditRecord} into it; a background writer appends published records in batches to rotating files
+ * (decode them with AuditLogDecoder). When the writer is a full ring behind, records are dropped and counted
+ * instead of blocking requests. Moves are sampled per game, so a sampled game keeps its complete move history.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "tictactoe.audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AuditLog implements InitializingBean, DisposableBean {
+
+    private static final int SAMPLE_SCALE = 1 << 16;
+
+    private final AuditProperties properties;
+    private final LongSupplier clock;
+    private final BinaryRingBuffer ring;
+    private final ByteBuffer batch;
+    private final long moveSampleThreshold;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final Counter recorded;
+    private final Counter dropped;
+    private final Counter sampledOut;
+    private final Counter written;
+
+    // owned by whoever holds the monitor in flush()
+    private FileChannel file;
+    private long fileSize;
+
+    @Autowired
+    public AuditLog(AuditProperties properties, MeterRegistry registry) {
+        this(properties, registry, System::currentTimeMillis);
+    }
+
+    // package-private for tests: the writer thread is only started by afterPropertiesSet, tests call flush()
+    AuditLog(AuditProperties properties, MeterRegistry registry, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.ring = new BinaryRingBuffer(properties.capacity(), AuditRecord.SIZE);
+        this.batch = ByteBuffer.allocate(Math.max(1, properties.batchSize()) * AuditRecord.SIZE);
+        this.moveSampleThreshold = Math.round(Math.clamp(properties.moveSampleRate(), 0d, 1d) * SAMPLE_SCALE);
+        this.writer = Thread.ofPlatform().daemon().name("audit-writer").unstarted(this::writeLoop);
+
+        this.recorded = Counter.builder("tictactoe.audit.records").tag("outcome", "recorded").register(registry);
+        this.dropped = Counter.builder("tictactoe.audit.records").tag("outcome", "dropped").register(registry);
+        this.sampledOut = Counter.builder("tictactoe.audit.records").tag("outcome", "sampled-out").register(registry);
+        this.written = Counter.builder("tictactoe.audit.written").register(registry);
+        Gauge.builder("tictactoe.audit.backlog", ring, BinaryRingBuffer::size).register(registry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        writer.start();
+    }
+
+    @TransactionalEventListener
+    public void onGameEvent(GameEvent event) {
+        record(event);
+    }
+
+    void record(GameEvent event) {
+        if (event.type() == GameEvent.Type.MOVE_MADE && !sampled(event.game().id())) {
+            sampledOut.increment();
+            return;
+        }
+        long sequence = ring.claim();
+        if (sequence < 0) {
+            dropped.increment();
+            return;
+        }
+        try {
+            AuditRecord.encode(event, clock.getAsLong(), ring.buffer(), ring.offset(sequence));
+        } finally {
+            // an unpublished slot would stall the writer for good
+            ring.publish(sequence);
+        }
+        recorded.increment();
+    }
+
+    // writes everything published so far and returns the number of records written
+    synchronized int flush() throws IOException {
+        int total = 0;
+        int drained;
+        do {
+            batch.clear();
+            drained = ring.drainTo(batch);
+            if (drained > 0) {
+                batch.flip();
+                write(batch);
+                total += drained;
+            }
+        } while (drained > 0);
+        written.increment(total);
+        return total;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        flush();
+        synchronized (this) {
+            if (file != null) {
+                file.force(false);
+                file.close();
+                file = null;
+            }
+        }
+    }
+
+    private void writeLoop() {
+        while (running) {
+            try {
+                if (flush() == 0) {
+                    LockSupport.parkNanos(properties.flushInterval().toNanos());
+                }
+            } catch (IOException e) {
+                log.warn("Could not write audit records, retrying in {}: {}", properties.flushInterval(), e.getMessage());
+                closeQuietly();
+                LockSupport.parkNanos(properties.flushInterval().toNanos());
+            }
+        }
+    }
+
+    // files are rotated on batch boundaries, so one may exceed max-file-size by up to a batch
+    private void write(ByteBuffer records) throws IOException {
+        if (file == null || fileSize + records.remaining() > properties.maxFileSize().toBytes()) {
+            rotate();
+        }
+        while (records.hasRemaining()) {
+            fileSize += file.write(records);
+        }
+    }
+
+    private void rotate() throws IOException {
+        if (file != null) {
+            file.force(false);
+            file.close();
+            file = null;
+        }
+        Path directory = properties.directory();
+        Files.createDirectories(directory);
+        long stamp = clock.getAsLong();
+        Path next;
+        while (Files.exists(next = AuditRecord.fileName(directory, stamp))) {
+            stamp++;
+        }
+        file = FileChannel.open(next, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = AuditRecord.header();
+        while (header.hasRemaining()) {
+            file.write(header);
+        }
+        fileSize = AuditRecord.HEADER_SIZE;
+
+        List<Path> files = AuditRecord.files(directory);
+        for (Path old : files.subList(0, Math.max(0, files.size() - Math.max(1, properties.maxFiles())))) {
+            Files.deleteIfExists(old);
+        }
+    }
+
+    private synchronized void closeQuietly() {
+        try {
+            if (file != null) {
+                file.close();
+            }
+        } catch (IOException ignored) {
+            // the next write opens a fresh file
+        } finally {
+            file = null;
+        }
+    }
+
+    private boolean sampled(UUID gameId) {
+        if (moveSampleThreshold >= SAMPLE_SCALE) {
+            return true;
+        }
+        long h = (gameId.getMostSignificantBits() ^ gameId.getLeastSignificantBits()) * 0x9E3779B97F4A7C15L;
+        return (h >>> 48) < moveSampleThreshold;
+    }
+}
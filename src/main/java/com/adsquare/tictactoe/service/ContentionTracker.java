@@ -0,0 +1,168 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.ContentionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-game contention score kept in a fixed number of hashed slots. Each slot packs an exponentially decaying
+ * conflict score (float bits, high word) with the tick it was last updated at (low word), so tracking costs
+ * one long per slot no matter how many games exist. Games sharing a slot share a mode, which is harmless:
+ * the pessimistic path is always correct, just slower for a quiet game.
+ */
+@Slf4j
+@Component
+public class ContentionTracker {
+
+    private static final long TICK_NANOS = 1_000_000L; // 1ms
+
+    private final LongSupplier clock;
+    private final long startNanos;
+    private final int mask;
+    private final double halfLifeTicks;
+    private final double pessimisticThreshold;
+    private final double optimisticThreshold;
+    private final long lockWaitThresholdNanos;
+    private final int minAttempts;
+    private final int maxAttempts;
+    private final long baseBackoffNanos;
+    private final long maxBackoffNanos;
+
+    private final AtomicLongArray scores;
+    private final AtomicIntegerArray pessimistic;
+    private final AtomicInteger pessimisticSlots = new AtomicInteger();
+
+    private final Counter optimisticDecisions;
+    private final Counter pessimisticDecisions;
+    private final Counter switchesToPessimistic;
+    private final Counter switchesToOptimistic;
+    private final Counter conflicts;
+
+    @Autowired
+    public ContentionTracker(ContentionProperties properties, MeterRegistry registry) {
+        this(properties, registry, System::nanoTime);
+    }
+
+    ContentionTracker(ContentionProperties properties, MeterRegistry registry, LongSupplier clock) {
+        int slots = Integer.highestOneBit(Math.max(1, properties.slots()));
+        this.clock = clock;
+        this.startNanos = clock.getAsLong();
+        this.mask = slots - 1;
+        this.halfLifeTicks = Math.max(1, properties.halfLife().toNanos() / TICK_NANOS);
+        this.pessimisticThreshold = properties.pessimisticThreshold();
+        this.optimisticThreshold = properties.optimisticThreshold();
+        this.lockWaitThresholdNanos = properties.lockWaitThreshold().toNanos();
+        this.minAttempts = Math.max(1, properties.minAttempts());
+        this.maxAttempts = Math.max(this.minAttempts, properties.maxAttempts());
+        this.baseBackoffNanos = properties.baseBackoff().toNanos();
+        this.maxBackoffNanos = properties.maxBackoff().toNanos();
+        this.scores = new AtomicLongArray(slots);
+        this.pessimistic = new AtomicIntegerArray(slots);
+
+        this.optimisticDecisions = Counter.builder("tictactoe.contention.decisions").tag("mode", "optimistic").register(registry);
+        this.pessimisticDecisions = Counter.builder("tictactoe.contention.decisions").tag("mode", "pessimistic").register(registry);
+        this.switchesToPessimistic = Counter.builder("tictactoe.contention.switches").tag("to", "pessimistic").register(registry);
+        this.switchesToOptimistic = Counter.builder("tictactoe.contention.switches").tag("to", "optimistic").register(registry);
+        this.conflicts = Counter.builder("tictactoe.contention.conflicts").register(registry);
+        Gauge.builder("tictactoe.contention.pessimistic.slots", pessimisticSlots, AtomicInteger::get).register(registry);
+    }
+
+    public boolean shouldLockPessimistically(UUID gameId) {
+        int slot = slotOf(gameId);
+        double score = decay(scores.get(slot), currentTick());
+        boolean lock = updateMode(slot, score);
+        (lock ? pessimisticDecisions : optimisticDecisions).increment();
+        return lock;
+    }
+
+    public void recordConflict(UUID gameId) {
+        conflicts.increment();
+        add(slotOf(gameId), 1.0);
+    }
+
+    // while a game is locked pessimistically conflicts cannot happen, so waiting on the lock is the contention signal
+    public void recordLockWait(UUID gameId, long waitNanos) {
+        if (waitNanos >= lockWaitThresholdNanos) {
+            add(slotOf(gameId), 1.0);
+        }
+    }
+
+    // a conflict on a quiet game is a fluke worth one more try; contended games get one extra attempt per recent conflict
+    public int maxAttempts(UUID gameId) {
+        return (int) Math.min(maxAttempts, minAttempts + Math.ceil(score(gameId)));
+    }
+
+    // full jitter over a window that doubles per attempt and widens with contention; a retry that will lock
+    // the row waits on the lock instead
+    public long backoffNanos(UUID gameId, int attempt) {
+        int slot = slotOf(gameId);
+        double score = decay(scores.get(slot), currentTick());
+        if (pessimistic.get(slot) == 1 || score >= pessimisticThreshold) {
+            return 0;
+        }
+        double window = baseBackoffNanos * Math.pow(2, Math.max(0, attempt - 1)) * (1 + score);
+        return ThreadLocalRandom.current().nextLong((long) Math.min(maxBackoffNanos, window) + 1);
+    }
+
+    double score(UUID gameId) {
+        return decay(scores.get(slotOf(gameId)), currentTick());
+    }
+
+    private boolean updateMode(int slot, double score) {
+        if (pessimistic.get(slot) == 0) {
+            if (score >= pessimisticThreshold && pessimistic.compareAndSet(slot, 0, 1)) {
+                pessimisticSlots.incrementAndGet();
+                switchesToPessimistic.increment();
+                log.debug("Contention slot {} switched to pessimistic locking (score {})", slot, score);
+            }
+        } else if (score < optimisticThreshold && pessimistic.compareAndSet(slot, 1, 0)) {
+            pessimisticSlots.decrementAndGet();
+            switchesToOptimistic.increment();
+            log.debug("Contention slot {} switched back to optimistic locking (score {})", slot, score);
+        }
+        return pessimistic.get(slot) == 1;
+    }
+
+    private void add(int slot, double delta) {
+        int tick = currentTick();
+        long current;
+        long updated;
+        do {
+            current = scores.get(slot);
+            float score = (float) (decay(current, tick) + delta);
+            updated = ((long) Float.floatToRawIntBits(score) << 32) | (tick & 0xFFFF_FFFFL);
+        } while (!scores.compareAndSet(slot, current, updated));
+    }
+
+    private double decay(long packed, int tick) {
+        float score = Float.intBitsToFloat((int) (packed >>> 32));
+        if (score == 0f) {
+            return 0d;
+        }
+        // unsigned distance so the 32-bit tick may wrap (~49 days at 1ms)
+        long elapsed = Integer.toUnsignedLong(tick - (int) packed);
+        return score * Math.pow(0.5, elapsed / halfLifeTicks);
+    }
+
+    private int currentTick() {
+        return (int) ((clock.getAsLong() - startNanos) / TICK_NANOS);
+    }
+
+    private int slotOf(UUID gameId) {
+        long h = gameId.getMostSignificantBits() ^ gameId.getLeastSignificantBits();
+        h ^= (h >>> 32);
+        h *= 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 40) & mask;
+    }
+}
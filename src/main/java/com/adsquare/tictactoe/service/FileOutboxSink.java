@@ -0,0 +1,53 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.event.OutboxMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Appends each batch as NDJSON and forces it to disk before the relay deletes the rows
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxSink(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void deliver(List<OutboxMessage> messages) {
+        StringBuilder lines = new StringBuilder(messages.size() * 256);
+        try {
+            for (OutboxMessage message : messages) {
+                lines.append(objectMapper.writeValueAsString(message)).append('\n');
+            }
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND)) {
+                ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                channel.force(false);
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox message", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to outbox file " + file, e);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.event.GameChange;
+import com.adsquare.tictactoe.event.GameChangeBatch;
+import com.adsquare.tictactoe.event.GameEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tells the other nodes which games changed so their local caches drop stale entries. Changes are collected per
+ * transaction (coalesced to the last version per game) and published once per commit; batches coming back from
+ * the transport are applied to the snapshot cache unless this node sent them, and watched games are re-read through
+ * the cache and pushed to their spectators here. The latency timer measures commit
+ * to invalidation on the receiving node, so it includes clock skew between nodes.
+ */
+@Slf4j
+@Service
+public class GameChangeNotifier implements GameChangeTransport.Subscriber, InitializingBean {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final GameChangeTransport transport;
+    private final GameSnapshotCache snapshots;
+    private final SpectatorHub spectators;
+    private final Counter published;
+    private final Counter received;
+    private final Counter gaps;
+    private final Timer latency;
+
+    public GameChangeNotifier(GameChangeTransport transport, GameSnapshotCache snapshots, SpectatorHub spectators,
+                              MeterRegistry registry) {
+        this.transport = transport;
+        this.snapshots = snapshots;
+        this.spectators = spectators;
+        this.published = Counter.builder("tictactoe.change-notifications.changes").tag("direction", "published").register(registry);
+        this.received = Counter.builder("tictactoe.change-notifications.changes").tag("direction", "received").register(registry);
+        this.gaps = Counter.builder("tictactoe.change-notifications.gaps").register(registry);
+        this.latency = Timer.builder("tictactoe.change-notifications.latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        transport.subscribe(this);
+    }
+
+    // runs inside the transaction that produced the event, unlike the after-commit listeners
+    @EventListener
+    public void onGameEvent(GameEvent event) {
+        GameChange change = GameChange.of(event);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(List.of(change));
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(change);
+    }
+
+    @Override
+    public void onChanges(GameChangeBatch batch) {
+        if (nodeId.equals(batch.origin())) {
+            return; // applied locally by the cache's own event listener
+        }
+        for (GameChange change : batch.changes()) {
+            if (change.deleted()) {
+                snapshots.evict(change.gameId());
+            } else {
+                snapshots.invalidate(change.gameId(), change.version());
+            }
+            spectators.refresh(change.gameId(), () -> snapshots.get(change.gameId()));
+        }
+        received.increment(batch.changes().size());
+        latency.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - batch.committedAtMillis())));
+    }
+
+    @Override
+    public void onGap() {
+        gaps.increment();
+        snapshots.invalidateAll();
+        spectators.refreshAll(snapshots::get);
+    }
+
+    private void publish(List<GameChange> changes) {
+        transport.publish(new GameChangeBatch(nodeId, System.currentTimeMillis(), changes));
+        published.increment(changes.size());
+    }
+
+    private final class PendingChanges implements TransactionSynchronization {
+
+        private final Map<UUID, GameChange> changes = new LinkedHashMap<>();
+
+        private void add(GameChange change) {
+            changes.merge(change.gameId(), change, GameChange::latest);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (transport.transactional()) {
+                publish(List.copyOf(changes.values()));
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            if (!transport.transactional()) {
+                try {
+                    publish(List.copyOf(changes.values()));
+                } catch (RuntimeException e) {
+                    log.warn("Could not publish {} game changes: {}", changes.size(), e.getMessage());
+                }
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(GameChangeNotifier.this);
+        }
+    }
+}
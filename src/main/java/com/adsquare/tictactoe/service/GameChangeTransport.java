@@ -0,0 +1,25 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.event.GameChangeBatch;
+
+/**
+ * Carries committed game changes between nodes. A transactional transport publishes while the committing
+ * transaction is still open and relies on the commit to release the message (Postgres NOTIFY); any other
+ * transport is handed the batch after the commit.
+ */
+public interface GameChangeTransport {
+
+    boolean transactional();
+
+    void publish(GameChangeBatch batch);
+
+    void subscribe(Subscriber subscriber);
+
+    interface Subscriber {
+
+        void onChanges(GameChangeBatch batch);
+
+        // changes may have been missed (e.g. the listener reconnected), so nothing cached can be trusted
+        void onGap();
+    }
+}
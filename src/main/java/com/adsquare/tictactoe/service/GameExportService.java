@@ -0,0 +1,67 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.dto.GameExportRecord;
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.repository.GameRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes games as newline-delimited JSON straight from a database cursor. Each row is detached once written,
+ * so the persistence context never grows and memory stays flat however many games are exported.
+ */
+@Slf4j
+@Service
+public class GameExportService {
+
+    static final int FETCH_SIZE = 1000;
+
+    private final GameRepository repository;
+    private final EntityManager entityManager;
+    private final ObjectWriter rowWriter;
+    private final ObjectMapper objectMapper;
+
+    public GameExportService(GameRepository repository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writerFor(GameExportRecord.class).withRootValueSeparator("\n");
+    }
+
+    // the cursor only lives as long as the transaction, so the whole export runs inside one read-only transaction
+    @Transactional(readOnly = true)
+    public long export(GameStatus status, Instant updatedFrom, Instant updatedTo, OutputStream out) throws IOException {
+        long exported = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+             Stream<Game> games = repository.streamForExport(status, updatedFrom, updatedTo, FETCH_SIZE)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            try (SequenceWriter rows = rowWriter.writeValues(generator)) {
+                Iterator<Game> iterator = games.iterator();
+                while (iterator.hasNext()) {
+                    Game game = iterator.next();
+                    rows.write(GameExportRecord.of(game));
+                    entityManager.detach(game);
+                    exported++;
+                }
+            }
+            if (exported > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        log.debug("Exported {} games (status={}, updatedFrom={}, updatedTo={})", exported, status, updatedFrom, updatedTo);
+        return exported;
+    }
+}
@@ -0,0 +1,60 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.ImportProperties;
+import com.adsquare.tictactoe.dto.GameImportResponse;
+import com.adsquare.tictactoe.dto.ImportError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Command-line import: start the application with {@code --tictactoe.import.file=games.ndjson[.gz]}
+ * (and {@code --spring.main.web-application-type=none} for a one-shot run). Every rejected record is
+ * written to the error report, one JSON object per line.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "tictactoe.import", name = "file")
+public class GameImportRunner implements ApplicationRunner {
+
+    private final GameImportService gameImportService;
+    private final ImportProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Path source = Path.of(properties.file());
+        Path report = Path.of(properties.errorReport() != null ? properties.errorReport() : properties.file() + ".errors.ndjson");
+
+        try (InputStream raw = Files.newInputStream(source);
+             InputStream in = source.toString().endsWith(".gz") ? new GZIPInputStream(raw, 64 * 1024) : raw;
+             BufferedWriter errors = Files.newBufferedWriter(report, StandardCharsets.UTF_8)) {
+            GameImportResponse result = gameImportService.importGames(in, error -> writeError(errors, error));
+            log.info("Import of {} finished: {} imported, {} rejected (report: {})",
+                    source, result.imported(), result.rejected(), report);
+        }
+    }
+
+    private void writeError(BufferedWriter errors, ImportError error) {
+        try {
+            errors.write(objectMapper.writeValueAsString(error));
+            errors.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
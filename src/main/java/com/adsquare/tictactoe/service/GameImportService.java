@@ -0,0 +1,273 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.ImportProperties;
+import com.adsquare.tictactoe.dto.GameImportRecord;
+import com.adsquare.tictactoe.dto.GameImportResponse;
+import com.adsquare.tictactoe.dto.ImportError;
+import com.adsquare.tictactoe.dto.MoveRequest;
+import com.adsquare.tictactoe.exception.InvalidMoveException;
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+import com.adsquare.tictactoe.repository.GameImportRepository;
+import com.adsquare.tictactoe.repository.GameRepository;
+import com.adsquare.tictactoe.util.BoardBatchEvaluator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import static com.adsquare.tictactoe.util.BoardUtil.EMPTY_CELL;
+import static com.adsquare.tictactoe.util.BoardUtil.encode;
+
+/**
+ * Bulk import of NDJSON games. One reader thread cuts the input into chunks, a fixed pool parses, validates and
+ * writes them in parallel (at most two chunks queued per worker), and every chunk goes to the game repository in one
+ * {@link GameImportRepository#insertIfAbsent} call: a batched INSERT in its own transaction on the database, record
+ * writes on the memory-mapped store. Move lists are replayed through {@link GameService#applyMoveInMemory}, so
+ * imported games obey exactly the rules live games do.
+ */
+@Slf4j
+@Service
+public class GameImportService {
+
+    private static final Pattern BOARD_PATTERN = Pattern.compile("[XO_]{9}");
+
+    private final GameService gameService;
+    private final GameStatsService gameStatsService;
+    private final GameRepository gameRepository;
+    private final ObjectReader recordReader;
+    private final ImportProperties properties;
+    private final BoardBatchEvaluator boardEvaluator = BoardBatchEvaluator.best();
+
+    public GameImportService(GameService gameService,
+                             GameStatsService gameStatsService,
+                             GameRepository gameRepository,
+                             ObjectMapper objectMapper,
+                             ImportProperties properties) {
+        this.gameService = gameService;
+        this.gameStatsService = gameStatsService;
+        this.gameRepository = gameRepository;
+        this.recordReader = objectMapper.readerFor(GameImportRecord.class);
+        this.properties = properties;
+    }
+
+    public GameImportResponse importGames(InputStream in) throws IOException {
+        return importGames(in, error -> { });
+    }
+
+    // errorSink sees every rejection (calls are serialized); the response only carries the first maxReportedErrors
+    public GameImportResponse importGames(InputStream in, Consumer<ImportError> errorSink) throws IOException {
+        long started = System.nanoTime();
+        ImportRun run = new ImportRun(errorSink, properties.maxReportedErrors());
+        int parallelism = Math.max(1, properties.parallelism());
+        int batchSize = Math.max(1, properties.batchSize());
+        int maxInFlight = parallelism * 2;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            List<Line> chunk = new ArrayList<>(batchSize);
+            long lineNumber = 0;
+            String text;
+            while ((text = reader.readLine()) != null) {
+                lineNumber++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                chunk.add(new Line(lineNumber, text));
+                if (chunk.size() == batchSize) {
+                    submit(workers, inFlight, chunk, run);
+                    chunk = new ArrayList<>(batchSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(workers, inFlight, chunk, run);
+            }
+        } finally {
+            // waits for every submitted chunk, also when reading failed half way
+            inFlight.acquireUninterruptibly(maxInFlight);
+            workers.shutdown();
+        }
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Imported {} games, rejected {} in {} ms", run.imported.get(), run.rejected.get(), elapsedMillis);
+        return new GameImportResponse(run.imported.get(), run.rejected.get(), elapsedMillis, run.reportedErrors());
+    }
+
+    private void submit(ExecutorService workers, Semaphore inFlight, List<Line> chunk, ImportRun run) {
+        inFlight.acquireUninterruptibly();
+        workers.execute(() -> {
+            try {
+                importChunk(chunk, run);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    void importChunk(List<Line> chunk, ImportRun run) {
+        List<Line> parsedLines = new ArrayList<>(chunk.size());
+        List<GameImportRecord> records = new ArrayList<>(chunk.size());
+        for (Line line : chunk) {
+            try {
+                records.add(recordReader.readValue(line.text()));
+                parsedLines.add(line);
+            } catch (JsonProcessingException e) {
+                run.reject(line.number(), "Malformed record: " + e.getOriginalMessage());
+            }
+        }
+
+        // bare final boards are classified for the whole chunk in one batch call
+        int[] boards = new int[records.size()];
+        for (int i = 0; i < boards.length; i++) {
+            if (isBareBoard(records.get(i))) {
+                boards[i] = encode(records.get(i).board());
+            }
+        }
+        int[] codes = boardEvaluator.evaluate(boards);
+
+        List<Candidate> candidates = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            long line = parsedLines.get(i).number();
+            try {
+                candidates.add(new Candidate(line, toGame(records.get(i), codes[i])));
+            } catch (RuntimeException e) {
+                run.reject(line, e.getMessage());
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        boolean[] inserted;
+        try {
+            inserted = gameRepository.insertIfAbsent(candidates.stream().map(Candidate::game).toList());
+        } catch (DataAccessException e) {
+            log.warn("Import chunk starting at line {} failed: {}", chunk.get(0).number(), e.getMessage());
+            candidates.forEach(candidate -> run.reject(candidate.line(), "Database write failed"));
+            return;
+        }
+
+        Map<GameStatus, long[]> imported = new EnumMap<>(GameStatus.class);
+        for (int i = 0; i < candidates.size(); i++) {
+            Candidate candidate = candidates.get(i);
+            if (!inserted[i]) {
+                run.reject(candidate.line(), "Game " + candidate.game().getId() + " already exists");
+                continue;
+            }
+            long[] totals = imported.computeIfAbsent(candidate.game().getStatus(), status -> new long[2]);
+            totals[0]++;
+            totals[1] += movesOn(candidate.game().getBoard());
+        }
+        imported.forEach((status, totals) -> {
+            gameStatsService.recordImported(status, totals[0], totals[1]);
+            run.imported.addAndGet(totals[0]);
+        });
+    }
+
+    // boardCode is the BoardBatchEvaluator result for bare boards and ignored otherwise
+    Game toGame(GameImportRecord record, int boardCode) {
+        Game game = new Game();
+        if (record.moves() != null && !record.moves().isEmpty()) {
+            for (MoveRequest move : record.moves()) {
+                game = gameService.applyMoveInMemory(game, move.row(), move.col(), move.player());
+            }
+            if (record.board() != null && !record.board().equals(game.getBoard())) {
+                throw new InvalidMoveException("Board " + record.board() + " does not match replayed moves " + game.getBoard());
+            }
+        } else if (record.board() != null) {
+            game = fromBoard(record.board(), boardCode);
+        }
+        if (record.status() != null && record.status() != game.getStatus()) {
+            throw new InvalidMoveException("Declared status " + record.status() + " but board gives " + game.getStatus());
+        }
+        if (record.nextPlayer() != null && record.nextPlayer() != game.getNextPlayer()) {
+            throw new InvalidMoveException("Declared next player " + record.nextPlayer() + " but board gives " + game.getNextPlayer());
+        }
+
+        Instant now = Instant.now();
+        game.setId(record.id() != null ? record.id() : UUID.randomUUID());
+        game.setCreatedAt(record.createdAt() != null ? record.createdAt() : now);
+        game.setUpdatedAt(now);
+        return game;
+    }
+
+    private static boolean isBareBoard(GameImportRecord record) {
+        return (record.moves() == null || record.moves().isEmpty())
+                && record.board() != null && BOARD_PATTERN.matcher(record.board()).matches();
+    }
+
+    // a final position without its history: same win/draw rules as GameService.updateGameState, plus turn parity
+    private static Game fromBoard(String board, int code) {
+        if (!BOARD_PATTERN.matcher(board).matches()) {
+            throw new InvalidMoveException("Board must be 9 characters of X, O or _");
+        }
+        if ((code & BoardBatchEvaluator.UNREACHABLE) != 0) {
+            throw new InvalidMoveException("Board " + board + " cannot be reached in a legal game");
+        }
+        Game game = new Game();
+        game.setBoard(board);
+        game.setStatus(GameStatus.values()[BoardBatchEvaluator.status(code)]);
+        game.setNextPlayer(Player.values()[BoardBatchEvaluator.nextPlayer(code)]);
+        return game;
+    }
+
+    private static long movesOn(String board) {
+        return board.chars().filter(c -> c != EMPTY_CELL).count();
+    }
+
+    record Line(long number, String text) {
+    }
+
+    private record Candidate(long line, Game game) {
+    }
+
+    static final class ImportRun {
+
+        private final Consumer<ImportError> errorSink;
+        private final int maxReportedErrors;
+        private final List<ImportError> reported = new ArrayList<>();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+
+        ImportRun(Consumer<ImportError> errorSink, int maxReportedErrors) {
+            this.errorSink = errorSink;
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        synchronized void reject(long line, String reason) {
+            ImportError error = new ImportError(line, reason);
+            rejected.incrementAndGet();
+            errorSink.accept(error);
+            if (reported.size() < maxReportedErrors) {
+                reported.add(error);
+            }
+        }
+
+        synchronized List<ImportError> reportedErrors() {
+            return reported.stream().sorted(Comparator.comparingLong(ImportError::line)).toList();
+        }
+    }
+}
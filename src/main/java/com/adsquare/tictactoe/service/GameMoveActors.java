@@ -0,0 +1,173 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.ActorProperties;
+import com.adsquare.tictactoe.dto.MoveRequest;
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.Player;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Single-writer execution mode: every active game owns a mailbox that is drained by one virtual thread at a time,
+ * so moves for the same game are applied in arrival order and persisted as one coalesced write per batch.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "tictactoe.actor", name = "enabled", havingValue = "true")
+public class GameMoveActors implements DisposableBean {
+
+    private final GameService gameService;
+    private final ActorProperties properties;
+    private final ConcurrentHashMap<UUID, GameActor> actors = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public GameMoveActors(GameService gameService, ActorProperties properties) {
+        this.gameService = gameService;
+        this.properties = properties;
+    }
+
+    public Game makeMove(UUID id, int row, int col, Player player) {
+        try {
+            return submit(id, new MoveRequest(row, col, player)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public CompletableFuture<Game> submit(UUID id, MoveRequest move) {
+        PendingMove pending = new PendingMove(move, new CompletableFuture<>());
+        GameActor actor = actors.compute(id, (key, existing) -> {
+            GameActor target = existing != null ? existing : new GameActor(key);
+            target.enqueue(pending);
+            return target;
+        });
+        actor.scheduleDrain();
+        return pending.result();
+    }
+
+    public int activeActors() {
+        return actors.size();
+    }
+
+    @Scheduled(fixedDelayString = "${tictactoe.actor.passivation-interval-ms:5000}")
+    public void passivateIdleActors() {
+        long now = System.nanoTime();
+        long idleNanos = properties.idleTimeout().toNanos();
+        actors.forEach((id, actor) ->
+                actors.computeIfPresent(id, (key, current) -> current.isIdle(now, idleNanos) ? null : current));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private record PendingMove(MoveRequest move, CompletableFuture<Game> result) {
+    }
+
+    private final class GameActor {
+
+        private final UUID gameId;
+        private final Queue<PendingMove> mailbox = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long lastActiveNanos = System.nanoTime();
+
+        private GameActor(UUID gameId) {
+            this.gameId = gameId;
+        }
+
+        // only called inside actors.compute, which is what keeps passivation from dropping a fresh message
+        private void enqueue(PendingMove pending) {
+            mailbox.add(pending);
+            lastActiveNanos = System.nanoTime();
+        }
+
+        private void scheduleDrain() {
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private boolean isIdle(long now, long idleNanos) {
+            return !scheduled.get() && mailbox.isEmpty() && now - lastActiveNanos >= idleNanos;
+        }
+
+        private void drain() {
+            try {
+                List<PendingMove> batch;
+                while (!(batch = takeBatch()).isEmpty()) {
+                    process(batch);
+                }
+            } finally {
+                lastActiveNanos = System.nanoTime();
+                scheduled.set(false);
+                if (!mailbox.isEmpty()) {
+                    scheduleDrain();
+                }
+            }
+        }
+
+        private List<PendingMove> takeBatch() {
+            List<PendingMove> batch = new ArrayList<>();
+            PendingMove next;
+            while (batch.size() < properties.maxBatchSize() && (next = mailbox.poll()) != null) {
+                batch.add(next);
+            }
+            return batch;
+        }
+
+        private void process(List<PendingMove> batch) {
+            List<MoveRequest> moves = batch.stream().map(PendingMove::move).toList();
+            int attempts = 0;
+            while (true) {
+                try {
+                    MoveBatchResult result = gameService.makeMoves(gameId, moves);
+                    for (int i = 0; i < batch.size(); i++) {
+                        RuntimeException rejection = result.rejectionFor(i);
+                        if (rejection != null) {
+                            batch.get(i).result().completeExceptionally(rejection);
+                        } else {
+                            batch.get(i).result().complete(result.game());
+                        }
+                    }
+                    return;
+                } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                    // only a writer outside this actor (reset, another node) can cause this, so re-read and replay
+                    attempts++;
+                    log.warn("Actor for game {} lost a write race (attempt {})", gameId, attempts);
+                    if (attempts >= properties.maxAttempts()) {
+                        failAll(batch, e);
+                        return;
+                    }
+                } catch (RuntimeException e) {
+                    failAll(batch, e);
+                    return;
+                }
+            }
+        }
+
+        private void failAll(List<PendingMove> batch, RuntimeException e) {
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+}
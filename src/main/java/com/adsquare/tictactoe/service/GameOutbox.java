@@ -0,0 +1,122 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.event.GameEvent;
+import com.adsquare.tictactoe.model.GameSnapshot;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.OutboxEventType;
+import com.adsquare.tictactoe.model.Player;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes game-created, move-made and game-finished events to the game_outbox table in the transaction that made
+ * the change, so downstream consumers see exactly the committed history. The rows of one transaction go in as a
+ * single JDBC batch just before commit; saveAll would insert them one by one because of the IDENTITY key.
+ */
+@Service
+@ConditionalOnProperty(prefix = "tictactoe.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class GameOutbox {
+
+    static final String INSERT = "insert into game_outbox (type, game_id, payload, created_at) values (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Counter written;
+
+    public GameOutbox(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.written = Counter.builder("tictactoe.outbox.events").tag("stage", "written").register(registry);
+    }
+
+    // runs inside the transaction that produced the event
+    @EventListener
+    public void onGameEvent(GameEvent event) {
+        List<OutboxRow> rows = rowsFor(event);
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(rows);
+            return;
+        }
+        PendingRows pending = (PendingRows) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingRows();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.rows.addAll(rows);
+    }
+
+    private List<OutboxRow> rowsFor(GameEvent event) {
+        List<OutboxRow> rows = new ArrayList<>(2);
+        switch (event.type()) {
+            case CREATED -> rows.add(row(OutboxEventType.GAME_CREATED, event));
+            case MOVE_MADE -> rows.add(row(OutboxEventType.MOVE_MADE, event));
+            default -> {
+            }
+        }
+        if (event.finishesGame()) {
+            rows.add(row(OutboxEventType.GAME_FINISHED, event));
+        }
+        return rows;
+    }
+
+    private OutboxRow row(OutboxEventType type, GameEvent event) {
+        GameSnapshot game = event.game();
+        Payload payload = new Payload(type, game.id(), game.version(), game.status(), game.board(), game.nextPlayer(),
+                event.player(), event.cell() >= 0 ? event.cell() : null, game.xPlayerId(), game.oPlayerId());
+        try {
+            return new OutboxRow(type, game.id(), objectMapper.writeValueAsString(payload), Instant.now());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox event for game " + game.id(), e);
+        }
+    }
+
+    private void insert(List<OutboxRow> rows) {
+        jdbcTemplate.batchUpdate(INSERT, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.type().name());
+            ps.setObject(2, row.gameId());
+            ps.setString(3, row.payload());
+            ps.setTimestamp(4, Timestamp.from(row.createdAt()));
+        });
+        written.increment(rows.size());
+    }
+
+    private record OutboxRow(OutboxEventType type, UUID gameId, String payload, Instant createdAt) {
+    }
+
+    private record Payload(OutboxEventType type, UUID gameId, long version, GameStatus status, String board,
+                           Player nextPlayer, Player player, Integer cell, UUID xPlayerId, UUID oPlayerId) {
+    }
+
+    private final class PendingRows implements TransactionSynchronization {
+
+        private final List<OutboxRow> rows = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            insert(rows);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(GameOutbox.this);
+        }
+    }
+}
@@ -1,22 +1,33 @@
 package com.adsquare.tictactoe.service;
 
 import com.adsquare.tictactoe.dto.CreateGameResponse;
+import com.adsquare.tictactoe.dto.MoveRequest;
+import com.adsquare.tictactoe.event.GameEvent;
 import com.adsquare.tictactoe.exception.GameFinishedException;
 import com.adsquare.tictactoe.exception.GameNotFoundException;
 import com.adsquare.tictactoe.exception.InvalidMoveException;
 import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameSnapshot;
 import com.adsquare.tictactoe.model.GameStatus;
 import com.adsquare.tictactoe.model.Player;
 import com.adsquare.tictactoe.repository.GameRepository;
 import jakarta.persistence.OptimisticLockException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static com.adsquare.tictactoe.util.BoardUtil.*;
@@ -26,67 +37,156 @@ import static com.adsquare.tictactoe.util.BoardUtil.*;
 @RequiredArgsConstructor
 public class GameService {
 
-    private static final int MAX_RETRY_ATTEMPTS = 3;
-    private static final long RETRY_BACKOFF_MS = 10L;
-
     private final GameRepository repository;
+    private final ContentionTracker contentionTracker;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JoinCodeAllocator joinCodes;
+    private final TransactionOperations transactions;
 
 
     @Transactional
     public CreateGameResponse createNewGame() {
-        log.info("Creating new game");
-        Game game = repository.save(new Game());
-        log.info("Created new game with ID: {}", game.getId());
-        return new CreateGameResponse(game.getId(), game.getBoard(), game.getNextPlayer(), game.getStatus());
+        return createNewGame(null);
     }
 
     @Transactional
-    public Game makeMove(UUID id, int row, int col, Player player) {
-        log.info("Making move for game {}: player={}, row={}, col={}", id, player, row, col);
+    public CreateGameResponse createNewGame(Integer moveTimeLimitSeconds) {
+        Game newGame = new Game();
+        newGame.setMoveTimeLimitSeconds(moveTimeLimitSeconds);
+        newGame.setJoinCode(joinCodes.next());
+        startMoveClock(newGame);
+        Game game = repository.save(newGame);
+        eventPublisher.publishEvent(GameEvent.created(game));
+        return new CreateGameResponse(game.getId(), game.getBoard(), game.getNextPlayer(), game.getStatus(), game.getJoinCode());
+    }
+
+    // one transaction and one batched insert for a burst of new games (matchmaking)
+    @Transactional
+    public List<Game> createNewGames(int count) {
+        List<Game> games = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Game game = new Game();
+            game.setJoinCode(joinCodes.next());
+            games.add(game);
+        }
+        List<Game> saved = repository.saveAll(games);
+        saved.forEach(game -> eventPublisher.publishEvent(GameEvent.created(game)));
+        return saved;
+    }
 
+    // not @Transactional: every attempt runs in its own transaction, so a retry re-reads the committed row
+    // instead of the stale entity of a transaction that is already marked rollback-only
+    public Game makeMove(UUID id, int row, int col, Player player) {
         int attempts = 0;
         while (true) {
             try {
-                Game game = getGame(id);
-
-                validateGameInProgress(game);
-                Game updated = applyMoveInMemory(game, row, col, player);
-
-                Game saved = repository.saveAndFlush(updated);
-
-                log.info("Move completed successfully for game {}", id);
-                return saved;
-
+                return transactions.execute(status -> attemptMove(id, row, col, player));
             } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                contentionTracker.recordConflict(id);
                 attempts++;
                 log.warn("Optimistic lock conflict for game {} (attempt {})", id, attempts);
-                if (attempts >= MAX_RETRY_ATTEMPTS) {
+                if (attempts >= contentionTracker.maxAttempts(id)) {
                     log.error("Max retry attempts reached for game {}", id);
                     throw e;
                 }
-                sleepQuietly(RETRY_BACKOFF_MS);
+                sleepQuietly(contentionTracker.backoffNanos(id, attempts));
             }
         }
     }
 
+    private Game attemptMove(UUID id, int row, int col, Player player) {
+        boolean pessimistic = contentionTracker.shouldLockPessimistically(id);
+        Game game = pessimistic ? lockGame(id) : getGame(id);
+
+        validateGameInProgress(game);
+        Game updated = applyMoveInMemory(game, row, col, player);
+        startMoveClock(updated);
+
+        Game saved = repository.saveAndFlush(updated);
+        eventPublisher.publishEvent(GameEvent.moveMade(game.getStatus(), GameSnapshot.of(saved), player, toIndex(row, col)));
+        return saved;
+    }
+
+    @Transactional
+    public MoveBatchResult makeMoves(UUID id, List<MoveRequest> moves) {
+        Game game = getGame(id);
+
+        Game latest = game;
+        Map<Integer, RuntimeException> rejected = new HashMap<>();
+        List<GameEvent> applied = new ArrayList<>();
+        for (int i = 0; i < moves.size(); i++) {
+            MoveRequest move = moves.get(i);
+            try {
+                GameStatus previousStatus = latest.getStatus();
+                latest = applyMoveInMemory(latest, move.row(), move.col(), move.player());
+                applied.add(GameEvent.moveMade(previousStatus, GameSnapshot.of(latest), move.player(), toIndex(move.row(), move.col())));
+            } catch (InvalidMoveException | GameFinishedException e) {
+                rejected.put(i, e);
+            }
+        }
+
+        if (applied.isEmpty()) {
+            return new MoveBatchResult(game, rejected);
+        }
+        startMoveClock(latest);
+        Game saved = repository.saveAndFlush(latest);
+        // intermediate states are never written on their own, so every move of the batch carries the committed version
+        applied.forEach(event -> eventPublisher.publishEvent(new GameEvent(event.type(),
+                event.game().withVersion(saved.getVersion()).withMoveDeadline(saved.getMoveDeadline()),
+                event.previousStatus(), event.player(), event.cell())));
+        return new MoveBatchResult(saved, rejected);
+    }
+
     @Transactional
     public Game resetGame(UUID id) {
         Game game = repository.findById(id)
                 .orElseThrow(() -> new GameNotFoundException("Game not found: " + id));
+        GameStatus previousStatus = game.getStatus();
 
         game.setBoard("_________");
         game.setStatus(GameStatus.IN_PROGRESS);
         game.setNextPlayer(Player.X);
+        startMoveClock(game);
 
-        return repository.saveAndFlush(game);
+        Game saved = repository.saveAndFlush(game);
+        eventPublisher.publishEvent(GameEvent.reset(previousStatus, saved));
+        return saved;
     }
 
+    // taking the seat you already hold is a no-op; seats can only be taken while the game is running
     @Transactional
-    public void deleteGame(UUID id) {
-        if (!repository.existsById(id)) {
-            throw new GameNotFoundException("Game not found: " + id);
+    public Game takeSeat(UUID id, Player seat, UUID playerId) {
+        Game game = getGame(id);
+        if (game.getStatus() != GameStatus.IN_PROGRESS) {
+            throw new GameFinishedException("Game already finished with status: " + game.getStatus());
         }
-        repository.deleteById(id);
+        UUID holder = seat == Player.X ? game.getXPlayerId() : game.getOPlayerId();
+        UUID opponent = seat == Player.X ? game.getOPlayerId() : game.getXPlayerId();
+        if (playerId.equals(holder)) {
+            return game;
+        }
+        if (holder != null) {
+            throw new InvalidMoveException("Seat " + seat + " is already taken");
+        }
+        if (playerId.equals(opponent)) {
+            throw new InvalidMoveException("Player already holds the other seat");
+        }
+        if (seat == Player.X) {
+            game.setXPlayerId(playerId);
+        } else {
+            game.setOPlayerId(playerId);
+        }
+        Game saved = repository.saveAndFlush(game);
+        eventPublisher.publishEvent(GameEvent.seatTaken(saved));
+        return saved;
+    }
+
+    @Transactional
+    public void deleteGame(UUID id) {
+        Game game = repository.findById(id)
+                .orElseThrow(() -> new GameNotFoundException("Game not found: " + id));
+        repository.delete(game);
+        eventPublisher.publishEvent(GameEvent.deleted(game));
     }
 
 
@@ -97,6 +197,14 @@ public class GameService {
                 .orElseThrow(() -> new GameNotFoundException("Game not found: " + id));
     }
 
+    private Game lockGame(UUID id) {
+        long start = System.nanoTime();
+        Game game = repository.findByIdForUpdate(id)
+                .orElseThrow(() -> new GameNotFoundException("Game not found: " + id));
+        contentionTracker.recordLockWait(id, System.nanoTime() - start);
+        return game;
+    }
+
     @Transactional(readOnly = true)
     public Page<Game> listOfGames(Pageable pageable) {
         log.debug("Fetching games list with pageable: {}", pageable);
@@ -124,6 +232,13 @@ public class GameService {
         copyingGame.setStatus(orginalGame.getStatus());
         copyingGame.setNextPlayer(orginalGame.getNextPlayer());
         copyingGame.setVersion(orginalGame.getVersion());
+        copyingGame.setJoinCode(orginalGame.getJoinCode());
+        copyingGame.setCreatedAt(orginalGame.getCreatedAt());
+        copyingGame.setUpdatedAt(orginalGame.getUpdatedAt());
+        copyingGame.setMoveTimeLimitSeconds(orginalGame.getMoveTimeLimitSeconds());
+        copyingGame.setMoveDeadline(orginalGame.getMoveDeadline());
+        copyingGame.setXPlayerId(orginalGame.getXPlayerId());
+        copyingGame.setOPlayerId(orginalGame.getOPlayerId());
         return copyingGame;
     }
 
@@ -157,6 +272,15 @@ public class GameService {
         if (game.getStatus() != GameStatus.IN_PROGRESS) {
             throw new GameFinishedException("Game already finished with status: " + game.getStatus());
         }
+        // the timeout service forfeits the game within a tick; until then late moves are refused
+        if (game.getMoveDeadline() != null && Instant.now().isAfter(game.getMoveDeadline())) {
+            throw new GameFinishedException("Move time limit exceeded for player " + game.getNextPlayer());
+        }
+    }
+
+    private static void startMoveClock(Game game) {
+        boolean timed = game.getStatus() == GameStatus.IN_PROGRESS && game.getMoveTimeLimitSeconds() != null;
+        game.setMoveDeadline(timed ? Instant.now().plusSeconds(game.getMoveTimeLimitSeconds()) : null);
     }
 
     private void updateGameState(Game game, Player player, String board) {
@@ -164,22 +288,20 @@ public class GameService {
 
         if (hasWon(board, mark)) {
             game.setStatus(player == Player.X ? GameStatus.X_WON : GameStatus.O_WON); // Option A winner encoding
-            log.info("Game {} won by player {}", game.getId(), player);
             return;
         }
 
         if (isDraw(board)) {
             game.setStatus(GameStatus.DRAW);
-            log.info("Game {} ended in a draw", game.getId());
             return;
         }
 
         game.setNextPlayer(opposite(player));
     }
 
-    private static void sleepQuietly(long ms) {
+    private static void sleepQuietly(long nanos) {
         try {
-            Thread.sleep(ms);
+            Thread.sleep(Duration.ofNanos(nanos));
         } catch (InterruptedException ignored) {
             Thread.currentThread().interrupt();
         }
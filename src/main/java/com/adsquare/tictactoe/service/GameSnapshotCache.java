@@ -0,0 +1,99 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.GameCacheProperties;
+import com.adsquare.tictactoe.event.GameEvent;
+import com.adsquare.tictactoe.exception.GameNotFoundException;
+import com.adsquare.tictactoe.model.GameSnapshot;
+import com.adsquare.tictactoe.repository.GameRepository;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Read-through cache of committed game snapshots for polling clients. Concurrent misses for one id share a
+ * single load, and an entry is only dropped when a commit carries a newer version than the cached one, so a hot
+ * game is read from the database at most once per state change on this node. The TTL only bounds staleness for
+ * writes this node never hears about (imports, other nodes).
+ */
+@Service
+public class GameSnapshotCache implements DisposableBean {
+
+    private final GameRepository repository;
+    private final ExecutorService loader = Executors.newVirtualThreadPerTaskExecutor();
+    private final AsyncLoadingCache<UUID, GameSnapshot> snapshots;
+    private final Timer loads;
+
+    public GameSnapshotCache(GameRepository repository, GameCacheProperties properties, MeterRegistry registry) {
+        this.repository = repository;
+        this.loads = Timer.builder("tictactoe.game-cache.load")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(properties.maxSize())
+                .expireAfterWrite(properties.ttl())
+                .executor(loader)
+                .recordStats()
+                .buildAsync(this::load);
+        // cache.gets{result=hit|miss}, cache.evictions, cache.load.duration, tagged cache=games
+        CaffeineCacheMetrics.monitor(registry, snapshots.synchronous(), "games");
+    }
+
+    public GameSnapshot get(UUID id) {
+        try {
+            return snapshots.get(id).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public void invalidate(UUID id, long committedVersion) {
+        snapshots.asMap().computeIfPresent(id, (key, cached) -> isCurrent(cached, committedVersion) ? cached : null);
+    }
+
+    public void evict(UUID id) {
+        snapshots.synchronous().invalidate(id);
+    }
+
+    public void invalidateAll() {
+        snapshots.synchronous().invalidateAll();
+    }
+
+    @TransactionalEventListener
+    public void onGameEvent(GameEvent event) {
+        if (event.type() == GameEvent.Type.DELETED) {
+            evict(event.game().id());
+        } else {
+            invalidate(event.game().id(), event.game().version());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        loader.shutdown();
+    }
+
+    private GameSnapshot load(UUID id) {
+        return loads.record(() -> repository.findById(id)
+                .map(GameSnapshot::of)
+                .orElseThrow(() -> new GameNotFoundException("Game not found: " + id)));
+    }
+
+    // a load still in flight may have read the row before this commit, so only a finished, newer-or-equal entry stays
+    private static boolean isCurrent(CompletableFuture<GameSnapshot> cached, long committedVersion) {
+        return cached.isDone() && !cached.isCompletedExceptionally() && cached.join().version() >= committedVersion;
+    }
+}
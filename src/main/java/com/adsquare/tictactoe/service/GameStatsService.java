@@ -0,0 +1,190 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.dto.GameStatsResponse;
+import com.adsquare.tictactoe.event.GameEvent;
+import com.adsquare.tictactoe.model.GameStatCounter;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.repository.GameRepository;
+import com.adsquare.tictactoe.repository.GameStatCounterRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live game counts without scanning the game table. Committed changes land in per-status LongAdder deltas;
+ * a scheduled reconcile adds the deltas to the persisted game_stat_counter rows and re-reads them, so counts
+ * survive restarts and include changes made by other nodes.
+ */
+@Slf4j
+@Service
+public class GameStatsService implements SmartInitializingSingleton {
+
+    static final String MOVES = "MOVES";
+
+    private final GameRepository gameRepository;
+    private final GameStatCounterRepository counterRepository;
+    private final TransactionOperations transactions;
+
+    private final Map<GameStatus, LongAdder> pendingGames = new EnumMap<>(GameStatus.class);
+    private final LongAdder pendingMoves = new LongAdder();
+    private final LongAdder movesObserved = new LongAdder();
+
+    private volatile Map<String, Long> persisted = Map.of();
+    // deltas taken out of the adders but not yet visible in persisted
+    private volatile Map<String, Long> flushing = Map.of();
+    private volatile double movesPerSecond;
+    private long lastSampleMoves;
+    private long lastSampleNanos = System.nanoTime();
+
+    public GameStatsService(GameRepository gameRepository,
+                            GameStatCounterRepository counterRepository,
+                            TransactionOperations transactions) {
+        this.gameRepository = gameRepository;
+        this.counterRepository = counterRepository;
+        this.transactions = transactions;
+        for (GameStatus status : GameStatus.values()) {
+            pendingGames.put(status, new LongAdder());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onGameEvent(GameEvent event) {
+        switch (event.type()) {
+            case CREATED -> pendingGames.get(event.game().status()).increment();
+            case MOVE_MADE -> {
+                pendingMoves.increment();
+                movesObserved.increment();
+                transition(event.previousStatus(), event.game().status());
+            }
+            case RESET, FORFEITED -> transition(event.previousStatus(), event.game().status());
+            case DELETED -> pendingGames.get(event.game().status()).decrement();
+        }
+    }
+
+    public void recordImported(GameStatus status, long games, long moves) {
+        pendingGames.get(status).add(games);
+        pendingMoves.add(moves);
+    }
+
+    public GameStatsResponse stats() {
+        Map<String, Long> base = persisted;
+        Map<String, Long> inFlight = flushing;
+        Map<GameStatus, Long> games = new EnumMap<>(GameStatus.class);
+        long totalGames = 0;
+        for (GameStatus status : GameStatus.values()) {
+            long count = base.getOrDefault(status.name(), 0L)
+                    + inFlight.getOrDefault(status.name(), 0L)
+                    + pendingGames.get(status).sum();
+            games.put(status, count);
+            totalGames += count;
+        }
+        long totalMoves = base.getOrDefault(MOVES, 0L) + inFlight.getOrDefault(MOVES, 0L) + pendingMoves.sum();
+        return new GameStatsResponse(games, totalGames, totalMoves, movesPerSecond);
+    }
+
+    // runs before the web server and the schedulers start, so no game can be counted by both the seed and the adders
+    @Override
+    public void afterSingletonsInstantiated() {
+        seedCounters();
+    }
+
+    void seedCounters() {
+        if (counterRepository.count() > 0) {
+            refresh();
+            return;
+        }
+        try {
+            transactions.executeWithoutResult(status -> {
+                log.info("Seeding game stat counters from the game table");
+                Map<String, Long> seed = new HashMap<>();
+                for (GameRepository.StatusCount count : gameRepository.countByStatus()) {
+                    seed.put(count.getStatus().name(), count.getTotal());
+                }
+                for (GameStatus gameStatus : GameStatus.values()) {
+                    counterRepository.save(new GameStatCounter(gameStatus.name(), seed.getOrDefault(gameStatus.name(), 0L)));
+                }
+                counterRepository.save(new GameStatCounter(MOVES, gameRepository.countPlacedMarks()));
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.info("Game stat counters were seeded concurrently by another node");
+        }
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${tictactoe.stats.reconcile-interval-ms:10000}")
+    public void reconcile() {
+        Map<String, Long> deltas = new HashMap<>();
+        pendingGames.forEach((status, adder) -> deltas.put(status.name(), adder.sumThenReset()));
+        deltas.put(MOVES, pendingMoves.sumThenReset());
+        deltas.values().removeIf(delta -> delta == 0);
+        flushing = Map.copyOf(deltas);
+
+        try {
+            if (!deltas.isEmpty()) {
+                transactions.executeWithoutResult(status -> deltas.forEach(this::applyDelta));
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not persist game stat deltas, keeping them for the next run: {}", e.getMessage());
+            deltas.forEach(this::restoreDelta);
+            flushing = Map.of();
+            return;
+        }
+
+        try {
+            refresh();
+        } catch (DataAccessException e) {
+            log.warn("Could not refresh game stat counters: {}", e.getMessage());
+        } finally {
+            flushing = Map.of();
+        }
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void sampleMoveRate() {
+        long now = System.nanoTime();
+        long moves = movesObserved.sum();
+        double elapsedSeconds = (now - lastSampleNanos) / 1_000_000_000d;
+        if (elapsedSeconds > 0) {
+            movesPerSecond = (moves - lastSampleMoves) / elapsedSeconds;
+        }
+        lastSampleMoves = moves;
+        lastSampleNanos = now;
+    }
+
+    private void transition(GameStatus from, GameStatus to) {
+        if (from != to) {
+            pendingGames.get(from).decrement();
+            pendingGames.get(to).increment();
+        }
+    }
+
+    private void applyDelta(String name, long delta) {
+        if (counterRepository.increment(name, delta) == 0) {
+            counterRepository.save(new GameStatCounter(name, delta));
+        }
+    }
+
+    private void restoreDelta(String name, long delta) {
+        if (MOVES.equals(name)) {
+            pendingMoves.add(delta);
+        } else {
+            pendingGames.get(GameStatus.valueOf(name)).add(delta);
+        }
+    }
+
+    private void refresh() {
+        Map<String, Long> latest = new HashMap<>();
+        counterRepository.findAll().forEach(counter -> latest.put(counter.getName(), counter.getTotal()));
+        persisted = Map.copyOf(latest);
+    }
+}
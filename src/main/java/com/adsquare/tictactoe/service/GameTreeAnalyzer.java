@@ -0,0 +1,150 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.dto.GameAnalysisResponse;
+import com.adsquare.tictactoe.dto.MoveAnalysis;
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.adsquare.tictactoe.util.BoardUtil.*;
+
+/**
+ * Exhaustive game-tree search shared by all requests. Positions are keyed by the smallest of their 8
+ * rotations/reflections (packed mover/opponent masks), so symmetric positions are solved once. The table is
+ * seeded with the whole tree from the empty board at class load (under a thousand canonical positions), which
+ * leaves every later analysis at one lookup per legal move. The PERFECT simulation strategy plays from the
+ * same table through {@link #outcome}.
+ */
+@Slf4j
+@Component
+public class GameTreeAnalyzer {
+
+    private static final Node WIN_NOW = new Node(MoveAnalysis.Outcome.WIN, 1, 1, 0, 0);
+    private static final Node DRAW_NOW = new Node(MoveAnalysis.Outcome.DRAW, 1, 0, 1, 0);
+
+    private static final ConcurrentHashMap<Integer, Node> NODES = new ConcurrentHashMap<>();
+
+    static {
+        node(0, 0);
+        log.debug("Game tree seeded with {} canonical positions", NODES.size());
+    }
+
+    public GameAnalysisResponse analyse(Game game) {
+        List<MoveAnalysis> moves = new ArrayList<>();
+        if (game.getStatus() == GameStatus.IN_PROGRESS) {
+            int encoded = encode(game.getBoard());
+            int x = encoded & FULL_MASK;
+            int o = encoded >>> CELL_BITS;
+            boolean xToMove = game.getNextPlayer() == Player.X;
+            int mover = xToMove ? x : o;
+            int opponent = xToMove ? o : x;
+            for (int cell = 0; cell < CELL_BITS; cell++) {
+                if (((x | o) >>> cell & 1) != 0) {
+                    continue;
+                }
+                Node result = afterMove(mover, opponent, cell);
+                moves.add(new MoveAnalysis(cell / BOARD_SIZE, cell % BOARD_SIZE, result.value(), result.plies(),
+                        result.wins(), result.draws(), result.losses()));
+            }
+        }
+        return new GameAnalysisResponse(game.getId(), game.getBoard(), game.getNextPlayer(), game.getStatus(), moves);
+    }
+
+    // value of player playing cell on board, from that player's point of view
+    static MoveAnalysis.Outcome outcome(String board, int cell, Player player) {
+        int encoded = encode(board);
+        int x = encoded & FULL_MASK;
+        int o = encoded >>> CELL_BITS;
+        return player == Player.X ? afterMove(x, o, cell).value() : afterMove(o, x, cell).value();
+    }
+
+    int cachedPositions() {
+        return NODES.size();
+    }
+
+    // outcome of mover playing cell, seen by mover
+    private static Node afterMove(int mover, int opponent, int cell) {
+        int next = mover | 1 << cell;
+        if (hasWon(next)) {
+            return WIN_NOW;
+        }
+        if ((next | opponent) == FULL_MASK) {
+            return DRAW_NOW;
+        }
+        return node(opponent, next).fromOpponentsSide();
+    }
+
+    // not computeIfAbsent: the search recurses into the map, which ConcurrentHashMap forbids inside a compute;
+    // two threads racing on a miss just compute the same value twice
+    private static Node node(int mover, int opponent) {
+        Integer key = canonicalKey(mover, opponent);
+        Node known = NODES.get(key);
+        if (known != null) {
+            return known;
+        }
+        Node solved = search(mover, opponent);
+        Node raced = NODES.putIfAbsent(key, solved);
+        return raced != null ? raced : solved;
+    }
+
+    private static Node search(int mover, int opponent) {
+        MoveAnalysis.Outcome best = MoveAnalysis.Outcome.LOSS;
+        int fastestWin = Integer.MAX_VALUE;
+        int slowestDraw = 0;
+        int slowestLoss = 0;
+        long wins = 0;
+        long draws = 0;
+        long losses = 0;
+        for (int cell = 0; cell < CELL_BITS; cell++) {
+            if (((mover | opponent) >>> cell & 1) != 0) {
+                continue;
+            }
+            Node move = afterMove(mover, opponent, cell);
+            wins += move.wins();
+            draws += move.draws();
+            losses += move.losses();
+            if (move.value().compareTo(best) < 0) {
+                best = move.value();
+            }
+            switch (move.value()) {
+                case WIN -> fastestWin = Math.min(fastestWin, move.plies());
+                case DRAW -> slowestDraw = Math.max(slowestDraw, move.plies());
+                case LOSS -> slowestLoss = Math.max(slowestLoss, move.plies());
+            }
+        }
+        // a winner finishes as fast as possible, a loser holds out as long as possible
+        int plies = switch (best) {
+            case WIN -> fastestWin;
+            case DRAW -> slowestDraw;
+            case LOSS -> slowestLoss;
+        };
+        return new Node(best, plies, wins, draws, losses);
+    }
+
+    private static int canonicalKey(int mover, int opponent) {
+        int best = Integer.MAX_VALUE;
+        for (int[] symmetry : SYMMETRIES) {
+            best = Math.min(best, transform(mover, symmetry) | transform(opponent, symmetry) << CELL_BITS);
+        }
+        return best;
+    }
+
+    // value, plies to the end and counts of finished continuations, all for the player to move
+    private record Node(MoveAnalysis.Outcome value, int plies, long wins, long draws, long losses) {
+
+        private Node fromOpponentsSide() {
+            MoveAnalysis.Outcome flipped = switch (value) {
+                case WIN -> MoveAnalysis.Outcome.LOSS;
+                case LOSS -> MoveAnalysis.Outcome.WIN;
+                case DRAW -> MoveAnalysis.Outcome.DRAW;
+            };
+            return new Node(flipped, plies + 1, losses, draws, wins);
+        }
+    }
+}
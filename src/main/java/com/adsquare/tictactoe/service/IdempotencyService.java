@@ -0,0 +1,180 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.IdempotencyProperties;
+import com.adsquare.tictactoe.exception.IdempotencyKeyReusedException;
+import com.adsquare.tictactoe.exception.IdempotencyRequestInProgressException;
+import com.adsquare.tictactoe.model.IdempotencyRecord;
+import com.adsquare.tictactoe.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Replays the first successful response for an Idempotency-Key instead of executing the request again.
+ * Concurrent duplicates wait for the original; a failed original frees the key so the retry runs for real.
+ * In persistent mode the key is claimed with an insert-if-absent row before the request runs, so across nodes
+ * exactly one of several concurrent duplicates executes; the others get a 409 until its response is stored. A
+ * node that dies mid-request leaves its claim behind until the TTL expires.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyProperties properties;
+    private final IdempotencyRecordRepository recordRepository;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CompletableFuture<StoredResponse>> responses;
+
+    public IdempotencyService(IdempotencyProperties properties,
+                              IdempotencyRecordRepository recordRepository,
+                              ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.recordRepository = recordRepository;
+        this.objectMapper = objectMapper;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.maxEntries())
+                .expireAfterWrite(properties.ttl())
+                .build();
+    }
+
+    public <T> T execute(String key, String scope, String fingerprint, Class<T> type, Supplier<T> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1.." + MAX_KEY_LENGTH + " characters");
+        }
+        String id = scope + ":" + key;
+
+        while (true) {
+            CompletableFuture<StoredResponse> claim = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> existing = responses.asMap().putIfAbsent(id, claim);
+            if (existing == null) {
+                return runOnce(id, fingerprint, type, action, claim);
+            }
+            try {
+                return replay(existing.join(), id, fingerprint, type);
+            } catch (CompletionException e) {
+                // the original attempt failed and released the key; try to claim it ourselves
+                log.debug("Original request for idempotency key {} failed, retrying", id);
+            }
+        }
+    }
+
+    private <T> T runOnce(String id, String fingerprint, Class<T> type, Supplier<T> action,
+                          CompletableFuture<StoredResponse> claim) {
+        StoredResponse stored;
+        try {
+            stored = properties.persistent()
+                    ? runPersistent(id, fingerprint, type, action)
+                    : new StoredResponse(fingerprint, action.get());
+        } catch (RuntimeException e) {
+            responses.asMap().remove(id, claim);
+            claim.completeExceptionally(e);
+            throw e;
+        }
+        claim.complete(stored);
+        return replay(stored, id, fingerprint, type);
+    }
+
+    private <T> T replay(StoredResponse stored, String id, String fingerprint, Class<T> type) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException("Idempotency-Key " + id + " was already used for a different request");
+        }
+        return type.cast(stored.response());
+    }
+
+    private <T> StoredResponse runPersistent(String id, String fingerprint, Class<T> type, Supplier<T> action) {
+        while (true) {
+            Instant now = Instant.now();
+            boolean claimed;
+            try {
+                claimed = recordRepository.claim(id, fingerprint, now) == 1;
+            } catch (DataAccessException e) {
+                // the local cache still answers duplicates on this node
+                log.warn("Could not claim idempotency key {}: {}", id, e.getMessage());
+                return new StoredResponse(fingerprint, action.get());
+            }
+            if (claimed) {
+                return runClaimed(id, fingerprint, action);
+            }
+            Optional<IdempotencyRecord> record = recordRepository.findById(id);
+            if (record.isEmpty()) {
+                continue; // the claim was released by a failed attempt in between
+            }
+            IdempotencyRecord found = record.get();
+            Instant cutoff = now.minus(properties.ttl());
+            if (!found.getCreatedAt().isAfter(cutoff)) {
+                recordRepository.deleteExpired(id, cutoff);
+                continue;
+            }
+            if (found.getResponse().isEmpty()) {
+                if (!found.getFingerprint().equals(fingerprint)) {
+                    throw new IdempotencyKeyReusedException(
+                            "Idempotency-Key " + id + " was already used for a different request");
+                }
+                throw new IdempotencyRequestInProgressException(
+                        "A request with Idempotency-Key " + id + " is still in progress");
+            }
+            return new StoredResponse(found.getFingerprint(), readResponse(found, type));
+        }
+    }
+
+    private StoredResponse runClaimed(String id, String fingerprint, Supplier<?> action) {
+        StoredResponse stored;
+        try {
+            stored = new StoredResponse(fingerprint, action.get());
+        } catch (RuntimeException e) {
+            release(id);
+            throw e;
+        }
+        try {
+            String json = objectMapper.writeValueAsString(stored.response());
+            recordRepository.save(new IdempotencyRecord(id, fingerprint, json, Instant.now()));
+        } catch (JsonProcessingException | DataAccessException e) {
+            // the local cache still answers duplicates on this node; other nodes may run the request again
+            log.warn("Could not persist idempotency record {}: {}", id, e.getMessage());
+            release(id);
+        }
+        return stored;
+    }
+
+    private void release(String id) {
+        try {
+            recordRepository.deleteById(id);
+        } catch (DataAccessException e) {
+            log.warn("Could not release idempotency key {}, it stays claimed until it expires: {}", id, e.getMessage());
+        }
+    }
+
+    private <T> T readResponse(IdempotencyRecord record, Class<T> type) {
+        try {
+            return objectMapper.readValue(record.getResponse(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt idempotency record " + record.getId(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tictactoe.idempotency.purge-interval-ms:60000}")
+    @Transactional
+    public void purgeExpired() {
+        if (properties.persistent()) {
+            int purged = recordRepository.deleteCreatedBefore(Instant.now().minus(properties.ttl()));
+            log.debug("Purged {} expired idempotency records", purged);
+        }
+    }
+
+    private record StoredResponse(String fingerprint, Object response) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.event.GameChangeBatch;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Single-JVM stand-in: delivers every batch to every subscriber on the publishing thread
+public class InMemoryGameChangeTransport implements GameChangeTransport {
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public boolean transactional() {
+        return false;
+    }
+
+    @Override
+    public void publish(GameChangeBatch batch) {
+        subscribers.forEach(subscriber -> subscriber.onChanges(batch));
+    }
+
+    @Override
+    public void subscribe(Subscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+}
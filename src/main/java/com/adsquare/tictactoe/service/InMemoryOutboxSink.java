@@ -0,0 +1,32 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.event.OutboxMessage;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+// Keeps the most recent messages in memory; a stand-in for tests and single-node development
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final int capacity;
+    private final Deque<OutboxMessage> messages = new ArrayDeque<>();
+
+    public InMemoryOutboxSink(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void deliver(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            if (messages.size() == capacity) {
+                messages.removeFirst();
+            }
+            messages.addLast(message);
+        }
+    }
+
+    public synchronized List<OutboxMessage> messages() {
+        return List.copyOf(messages);
+    }
+}
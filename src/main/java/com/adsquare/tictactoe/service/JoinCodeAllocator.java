@@ -0,0 +1,53 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.util.JoinCodes;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out join codes from blocks of sequence numbers reserved with one nextval per block, so creating a game
+ * never loops on the database looking for a free code. Numbers are unique across nodes and restarts (an unused
+ * remainder of a block is simply skipped) and the encoding is a bijection, so codes cannot collide; the unique
+ * index on game.join_code is only the backstop.
+ */
+@Slf4j
+@Component
+public class JoinCodeAllocator implements InitializingBean {
+
+    // fixed: the sequence value is a block number, so changing this would make blocks overlap
+    static final int BLOCK_SIZE = 1000;
+    private static final String SEQUENCE = "game_join_code_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private long next;
+    private long end;
+
+    public JoinCodeAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // ddl-auto does not manage free-standing sequences
+        jdbcTemplate.execute("create sequence if not exists " + SEQUENCE);
+    }
+
+    public synchronized String next() {
+        if (next == end) {
+            reserveBlock();
+        }
+        return JoinCodes.encode(next++);
+    }
+
+    private void reserveBlock() {
+        Long block = jdbcTemplate.queryForObject("select nextval('" + SEQUENCE + "')", Long.class);
+        if (block == null) {
+            throw new IllegalStateException("Could not reserve a join code block");
+        }
+        next = block * BLOCK_SIZE;
+        end = next + BLOCK_SIZE;
+        log.debug("Reserved join code block {}", block);
+    }
+}
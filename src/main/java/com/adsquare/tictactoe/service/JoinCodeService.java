@@ -0,0 +1,70 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.JoinCodeProperties;
+import com.adsquare.tictactoe.event.GameEvent;
+import com.adsquare.tictactoe.exception.GameNotFoundException;
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameSnapshot;
+import com.adsquare.tictactoe.repository.GameRepository;
+import com.adsquare.tictactoe.util.JoinCodes;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Resolves join codes to games. A code never changes once assigned, so the near cache of code to id needs no
+ * invalidation except on delete; a hit turns the lookup into a primary key read, a miss is one probe of the
+ * unique join_code index. Games created on this node are cached as they commit.
+ */
+@Service
+public class JoinCodeService {
+
+    private final GameRepository repository;
+    private final Cache<String, UUID> gameIds;
+
+    public JoinCodeService(GameRepository repository, JoinCodeProperties properties) {
+        this.repository = repository;
+        this.gameIds = Caffeine.newBuilder()
+                .maximumSize(properties.cacheSize())
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public Game findByCode(String code) {
+        String normalized = JoinCodes.normalize(code);
+        if (normalized == null) {
+            throw new GameNotFoundException("Game not found for join code: " + code);
+        }
+        UUID cachedId = gameIds.getIfPresent(normalized);
+        if (cachedId != null) {
+            Optional<Game> game = repository.findById(cachedId);
+            if (game.isPresent()) {
+                return game.get();
+            }
+            gameIds.invalidate(normalized); // deleted on another node
+        }
+        Game game = repository.findByJoinCode(normalized)
+                .orElseThrow(() -> new GameNotFoundException("Game not found for join code: " + code));
+        gameIds.put(normalized, game.getId());
+        return game;
+    }
+
+    @TransactionalEventListener
+    public void onGameEvent(GameEvent event) {
+        GameSnapshot game = event.game();
+        if (game.joinCode() == null) {
+            return;
+        }
+        switch (event.type()) {
+            case CREATED -> gameIds.put(game.joinCode(), game.id());
+            case DELETED -> gameIds.invalidate(game.joinCode());
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.adsquare.tictactoe.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Ratings of every player, ordered without ever re-sorting. A red-black tree keyed by (rating desc, id) serves
+ * top-N by walking its head, and a Fenwick tree of player counts per rating point answers "how many players are
+ * rated higher" in O(log maxRating), so a rank never needs a scan. An update is one tree remove/insert plus two
+ * Fenwick point updates. Ties share a rank (1, 2, 2, 4).
+ */
+final class Leaderboard {
+
+    private static final Comparator<Standing> ORDER = Comparator.comparingInt(Standing::rating).reversed()
+            .thenComparing(Standing::playerId);
+
+    private final int maxRating;
+    private final long[] fenwick;
+    private final TreeSet<Standing> ordered = new TreeSet<>(ORDER);
+    private final Map<UUID, Integer> ratings = new HashMap<>();
+
+    Leaderboard(int maxRating) {
+        this.maxRating = maxRating;
+        this.fenwick = new long[maxRating + 2];
+    }
+
+    int clamp(int rating) {
+        return Math.max(0, Math.min(maxRating, rating));
+    }
+
+    synchronized void put(UUID playerId, int newRating) {
+        int rating = clamp(newRating);
+        Integer previous = ratings.put(playerId, rating);
+        if (previous != null) {
+            if (previous == rating) {
+                return;
+            }
+            ordered.remove(new Standing(playerId, previous));
+            add(previous, -1);
+        }
+        ordered.add(new Standing(playerId, rating));
+        add(rating, 1);
+    }
+
+    synchronized OptionalInt rating(UUID playerId) {
+        Integer rating = ratings.get(playerId);
+        return rating == null ? OptionalInt.empty() : OptionalInt.of(rating);
+    }
+
+    synchronized OptionalLong rank(UUID playerId) {
+        Integer rating = ratings.get(playerId);
+        return rating == null ? OptionalLong.empty() : OptionalLong.of(countAbove(rating) + 1);
+    }
+
+    synchronized List<Ranked> top(int limit) {
+        List<Ranked> top = new ArrayList<>(Math.min(limit, ordered.size()));
+        Iterator<Standing> iterator = ordered.iterator();
+        long rank = 0;
+        int previousRating = -1;
+        while (top.size() < limit && iterator.hasNext()) {
+            Standing standing = iterator.next();
+            if (standing.rating() != previousRating) {
+                rank = top.size() + 1;
+                previousRating = standing.rating();
+            }
+            top.add(new Ranked(rank, standing.playerId(), standing.rating()));
+        }
+        return top;
+    }
+
+    synchronized int size() {
+        return ratings.size();
+    }
+
+    private long countAbove(int rating) {
+        return ratings.size() - prefixCount(rating);
+    }
+
+    // players rated 0..rating inclusive
+    private long prefixCount(int rating) {
+        long count = 0;
+        for (int i = rating + 1; i > 0; i -= i & -i) {
+            count += fenwick[i];
+        }
+        return count;
+    }
+
+    private void add(int rating, long delta) {
+        for (int i = rating + 1; i < fenwick.length; i += i & -i) {
+            fenwick[i] += delta;
+        }
+    }
+
+    record Ranked(long rank, UUID playerId, int rating) {
+    }
+
+    private record Standing(UUID playerId, int rating) {
+    }
+}
@@ -0,0 +1,307 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.MatchmakingProperties;
+import com.adsquare.tictactoe.dto.MatchTicketResponse;
+import com.adsquare.tictactoe.dto.MatchTicketResponse.Status;
+import com.adsquare.tictactoe.exception.TicketAlreadyMatchingException;
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.Player;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+/**
+ * Pairs waiting players into new games. Enqueueing only appends to a lock-free per-bracket deque and wakes the
+ * matcher; the single matcher thread drains every bracket, claims tickets with a CAS (so a concurrent cancel
+ * either wins cleanly or is rejected as already matching), creates all games of the pass in one batched insert and completes both
+ * tickets of each pair. Waiting clients hold no threads: they long-poll on the ticket's future.
+ */
+@Slf4j
+@Service
+public class MatchmakingService implements InitializingBean, DisposableBean {
+
+    public static final String DEFAULT_BRACKET = "open";
+    private static final Pattern BRACKET = Pattern.compile("[a-z0-9-]{1,32}");
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAILURE_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final GameService gameService;
+    private final MatchmakingProperties properties;
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<String, BracketQueue> brackets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Ticket> tickets = new ConcurrentHashMap<>();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Counter matches;
+    private final Thread matcher;
+    private volatile boolean running = true;
+    private int passes; // matcher only
+
+    public MatchmakingService(GameService gameService, MatchmakingProperties properties, MeterRegistry registry) {
+        this.gameService = gameService;
+        this.properties = properties;
+        this.registry = registry;
+        this.waitTimer = Timer.builder("tictactoe.matchmaking.wait").publishPercentileHistogram().register(registry);
+        this.matches = Counter.builder("tictactoe.matchmaking.matches").register(registry);
+        Gauge.builder("tictactoe.matchmaking.waiting", waiting, AtomicInteger::get).register(registry);
+        this.matcher = Thread.ofPlatform().name("matchmaker").daemon().unstarted(this::run);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        matcher.start();
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        LockSupport.unpark(matcher);
+    }
+
+    public MatchTicketResponse enqueue(String requestedBracket) {
+        String bracket = requestedBracket == null || requestedBracket.isBlank() ? DEFAULT_BRACKET : requestedBracket;
+        if (!BRACKET.matcher(bracket).matches()) {
+            throw new IllegalArgumentException("bracket must be 1-32 characters of a-z, 0-9 or '-'");
+        }
+        BracketQueue queue = brackets.get(bracket);
+        if (queue == null) {
+            if (brackets.size() >= properties.maxBrackets()) {
+                throw new IllegalStateException("Too many matchmaking brackets");
+            }
+            queue = brackets.computeIfAbsent(bracket, this::newBracket);
+        }
+
+        Ticket ticket = new Ticket(UUID.randomUUID(), bracket, System.nanoTime());
+        tickets.put(ticket.id, ticket);
+        waiting.incrementAndGet();
+        queue.depth.incrementAndGet();
+        queue.deque.addLast(ticket);
+        LockSupport.unpark(matcher);
+        return ticket.response();
+    }
+
+    public Optional<MatchTicketResponse> status(UUID ticketId) {
+        return Optional.ofNullable(tickets.get(ticketId)).map(Ticket::response);
+    }
+
+    // completes when the ticket is matched, cancelled or expired
+    public Optional<CompletableFuture<MatchTicketResponse>> awaitMatch(UUID ticketId) {
+        return Optional.ofNullable(tickets.get(ticketId)).map(ticket -> ticket.outcome);
+    }
+
+    public Duration pollTimeout(Duration requested) {
+        return requested.compareTo(properties.maxPollTimeout()) > 0 ? properties.maxPollTimeout() : requested;
+    }
+
+    public Optional<MatchTicketResponse> cancel(UUID ticketId) {
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            return Optional.empty();
+        }
+        while (!ticket.finish(Status.CANCELLED)) {
+            TicketState state = ticket.state.get();
+            if (state == TicketState.FINISHED) {
+                return Optional.of(ticket.response());
+            }
+            if (state == TicketState.CLAIMED) {
+                // the matcher is creating this ticket's game; the outcome shows up on the ticket shortly
+                throw new TicketAlreadyMatchingException("Ticket " + ticketId + " is already being matched");
+            }
+            // released back to WAITING between the two reads, try again
+        }
+        waiting.decrementAndGet();
+        return Optional.of(ticket.response());
+    }
+
+    @Scheduled(fixedDelayString = "${tictactoe.matchmaking.purge-interval-ms:10000}")
+    public void expireAndPurge() {
+        long now = System.nanoTime();
+        long maxWait = properties.maxWait().toNanos();
+        long retention = properties.ticketRetention().toNanos();
+        tickets.values().removeIf(ticket -> {
+            if (ticket.state.get() == TicketState.WAITING && now - ticket.enqueuedAt > maxWait && ticket.finish(Status.EXPIRED)) {
+                waiting.decrementAndGet();
+            }
+            return ticket.finishedAt != 0 && now - ticket.finishedAt > retention;
+        });
+    }
+
+    private BracketQueue newBracket(String bracket) {
+        BracketQueue queue = new BracketQueue();
+        Gauge.builder("tictactoe.matchmaking.queue.depth", queue.depth, AtomicInteger::get)
+                .tag("bracket", bracket)
+                .register(registry);
+        return queue;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (matchOnce() == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            } catch (DataAccessException e) {
+                log.warn("Could not create matched games, retrying: {}", e.getMessage());
+                LockSupport.parkNanos(FAILURE_BACKOFF_NANOS);
+            } catch (RuntimeException e) {
+                log.error("Matchmaker pass failed", e);
+                LockSupport.parkNanos(FAILURE_BACKOFF_NANOS);
+            }
+        }
+    }
+
+    // one pass over all brackets; returns the number of games created
+    int matchOnce() {
+        List<Ticket[]> pairs = new ArrayList<>();
+        // the batch cap is shared by all brackets, so each pass starts one bracket further on and a busy bracket
+        // cannot keep the others waiting behind it
+        List<BracketQueue> queues = new ArrayList<>(brackets.values());
+        int start = queues.isEmpty() ? 0 : Math.floorMod(passes++, queues.size());
+        for (int b = 0; b < queues.size(); b++) {
+            BracketQueue queue = queues.get((start + b) % queues.size());
+            Ticket first = null;
+            Ticket polled;
+            while (pairs.size() < properties.maxBatchSize() && (polled = queue.deque.pollFirst()) != null) {
+                queue.depth.decrementAndGet();
+                if (!polled.claim()) {
+                    continue; // cancelled or expired while queued
+                }
+                if (first == null) {
+                    first = polled;
+                } else {
+                    pairs.add(new Ticket[]{first, polled});
+                    first = null;
+                }
+            }
+            if (first != null) {
+                // odd one out keeps its place at the head of the queue
+                first.release();
+                queue.depth.incrementAndGet();
+                queue.deque.addFirst(first);
+            }
+        }
+        if (pairs.isEmpty()) {
+            return 0;
+        }
+
+        List<Game> games;
+        try {
+            games = gameService.createNewGames(pairs.size());
+        } catch (RuntimeException e) {
+            // back to the front in reverse so the original order is kept
+            for (int i = pairs.size() - 1; i >= 0; i--) {
+                requeue(pairs.get(i)[1]);
+                requeue(pairs.get(i)[0]);
+            }
+            throw e;
+        }
+
+        long now = System.nanoTime();
+        for (int i = 0; i < pairs.size(); i++) {
+            boolean firstIsX = ThreadLocalRandom.current().nextBoolean();
+            Ticket[] pair = pairs.get(i);
+            UUID gameId = games.get(i).getId();
+            complete(pair[0], gameId, firstIsX ? Player.X : Player.O, now);
+            complete(pair[1], gameId, firstIsX ? Player.O : Player.X, now);
+        }
+        matches.increment(pairs.size());
+        return pairs.size();
+    }
+
+    private void complete(Ticket ticket, UUID gameId, Player seat, long now) {
+        waitTimer.record(now - ticket.enqueuedAt, TimeUnit.NANOSECONDS);
+        waiting.decrementAndGet();
+        ticket.match(gameId, seat);
+    }
+
+    private void requeue(Ticket ticket) {
+        ticket.release();
+        BracketQueue queue = brackets.get(ticket.bracket);
+        queue.depth.incrementAndGet();
+        queue.deque.addFirst(ticket);
+    }
+
+    private enum TicketState {
+        WAITING, CLAIMED, FINISHED
+    }
+
+    private static final class BracketQueue {
+        private final ConcurrentLinkedDeque<Ticket> deque = new ConcurrentLinkedDeque<>();
+        private final AtomicInteger depth = new AtomicInteger();
+    }
+
+    private static final class Ticket {
+
+        private final UUID id;
+        private final String bracket;
+        private final long enqueuedAt;
+        private final AtomicReference<TicketState> state = new AtomicReference<>(TicketState.WAITING);
+        private final CompletableFuture<MatchTicketResponse> outcome = new CompletableFuture<>();
+        private volatile Status status = Status.WAITING;
+        private volatile UUID gameId;
+        private volatile Player seat;
+        private volatile long finishedAt;
+
+        private Ticket(UUID id, String bracket, long enqueuedAt) {
+            this.id = id;
+            this.bracket = bracket;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        // matcher only
+        private boolean claim() {
+            return state.compareAndSet(TicketState.WAITING, TicketState.CLAIMED);
+        }
+
+        // matcher only, for a claimed ticket that could not be paired after all
+        private void release() {
+            state.set(TicketState.WAITING);
+        }
+
+        private void match(UUID matchedGameId, Player matchedSeat) {
+            gameId = matchedGameId;
+            seat = matchedSeat;
+            status = Status.MATCHED;
+            finishedAt = System.nanoTime();
+            state.set(TicketState.FINISHED);
+            outcome.complete(response());
+        }
+
+        // cancel/expire only succeed while waiting; a claimed ticket is about to be matched
+        private boolean finish(Status finalStatus) {
+            if (!state.compareAndSet(TicketState.WAITING, TicketState.FINISHED)) {
+                return false;
+            }
+            status = finalStatus;
+            finishedAt = System.nanoTime();
+            outcome.complete(response());
+            return true;
+        }
+
+        private MatchTicketResponse response() {
+            return new MatchTicketResponse(id, status, bracket, gameId, seat);
+        }
+    }
+}
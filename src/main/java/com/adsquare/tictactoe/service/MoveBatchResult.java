@@ -0,0 +1,13 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.model.Game;
+
+import java.util.Map;
+
+// game is the persisted state after all accepted moves; rejected is keyed by the move's position in the batch
+public record MoveBatchResult(Game game, Map<Integer, RuntimeException> rejected) {
+
+    public RuntimeException rejectionFor(int index) {
+        return rejected.get(index);
+    }
+}
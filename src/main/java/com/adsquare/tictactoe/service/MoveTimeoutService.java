@@ -0,0 +1,188 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.TimeoutProperties;
+import com.adsquare.tictactoe.event.GameEvent;
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameSnapshot;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+import com.adsquare.tictactoe.repository.GameRepository;
+import com.adsquare.tictactoe.util.HashedTimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Forfeits timed games whose player to move missed the deadline. Committed moves (re)arm one wheel timeout
+ * per game and cancel the previous one; expirations are forfeited in batched, SKIP LOCKED transactions off
+ * the wheel thread. The database stays the source of truth: a forfeit only applies while the stored deadline
+ * has really passed, a periodic sweep catches deadlines armed on other nodes, and the wheel is rebuilt from
+ * the stored deadlines at startup.
+ */
+@Slf4j
+@Service
+public class MoveTimeoutService implements DisposableBean {
+
+    private final GameRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionOperations transactions;
+    private final TimeoutProperties properties;
+    private final HashedTimingWheel<UUID> wheel;
+    private final ConcurrentHashMap<UUID, HashedTimingWheel.Timeout<UUID>> timers = new ConcurrentHashMap<>();
+    private final ExecutorService forfeitExecutor =
+            Executors.newSingleThreadExecutor(Thread.ofPlatform().name("move-timeout-forfeits").daemon().factory());
+    private final Counter forfeits;
+
+    public MoveTimeoutService(GameRepository repository,
+                              ApplicationEventPublisher eventPublisher,
+                              TransactionOperations transactions,
+                              TimeoutProperties properties,
+                              MeterRegistry registry) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.transactions = transactions;
+        this.properties = properties;
+        this.wheel = new HashedTimingWheel<>(properties.tick(), properties.wheelSize(), this::onExpired, "move-timeout-wheel");
+        this.forfeits = Counter.builder("tictactoe.timeouts.forfeits").register(registry);
+        Gauge.builder("tictactoe.timeouts.pending", wheel, HashedTimingWheel::pending).register(registry);
+    }
+
+    @TransactionalEventListener
+    public void onGameEvent(GameEvent event) {
+        GameSnapshot game = event.game();
+        if (event.type() != GameEvent.Type.DELETED && game.status() == GameStatus.IN_PROGRESS && game.moveDeadline() != null) {
+            track(game.id(), game.moveDeadline());
+        } else {
+            cancel(game.id());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Long restored = transactions.execute(status -> {
+            long count = 0;
+            try (Stream<GameRepository.PendingDeadline> pending = repository.streamPendingDeadlines()) {
+                Iterator<GameRepository.PendingDeadline> iterator = pending.iterator();
+                while (iterator.hasNext()) {
+                    GameRepository.PendingDeadline deadline = iterator.next();
+                    track(deadline.getId(), deadline.getMoveDeadline());
+                    count++;
+                }
+            }
+            return count;
+        });
+        log.info("Restored {} move deadlines into the timing wheel", restored);
+    }
+
+    @Scheduled(fixedDelayString = "${tictactoe.timeouts.sweep-interval-ms:30000}")
+    public void sweepOverdue() {
+        try {
+            Integer applied;
+            do {
+                applied = transactions.execute(status ->
+                        applyForfeits(repository.lockOverdue(Instant.now(), properties.batchSize())));
+            } while (applied != null && applied == properties.batchSize());
+        } catch (DataAccessException e) {
+            log.warn("Overdue game sweep failed: {}", e.getMessage());
+        }
+    }
+
+    public long pendingTimeouts() {
+        return wheel.pending();
+    }
+
+    @Override
+    public void destroy() {
+        wheel.close();
+        forfeitExecutor.shutdown();
+    }
+
+    // runs on the wheel thread, so the database work is handed off
+    private void onExpired(List<UUID> expired) {
+        expired.forEach(id -> timers.computeIfPresent(id, (key, timeout) -> timeout.isExpired() ? null : timeout));
+        forfeitExecutor.execute(() -> forfeit(expired));
+    }
+
+    void forfeit(List<UUID> ids) {
+        for (int from = 0; from < ids.size(); from += properties.batchSize()) {
+            List<UUID> batch = ids.subList(from, Math.min(ids.size(), from + properties.batchSize()));
+            try {
+                Set<UUID> forfeited = new HashSet<>();
+                transactions.executeWithoutResult(status -> {
+                    List<Game> overdue = repository.lockOverdueAmong(batch, Instant.now());
+                    applyForfeits(overdue);
+                    overdue.forEach(game -> forfeited.add(game.getId()));
+                });
+                rearmNotYetDue(batch, forfeited);
+            } catch (DataAccessException e) {
+                log.warn("Could not forfeit {} overdue games, the sweep will retry: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    private int applyForfeits(List<Game> games) {
+        if (games.isEmpty()) {
+            return 0;
+        }
+        for (Game game : games) {
+            game.setStatus(game.getNextPlayer() == Player.X ? GameStatus.O_WON_BY_FORFEIT : GameStatus.X_WON_BY_FORFEIT);
+            game.setMoveDeadline(null);
+        }
+        repository.saveAllAndFlush(games);
+        games.forEach(game -> eventPublisher.publishEvent(GameEvent.forfeited(game)));
+        forfeits.increment(games.size());
+        log.debug("Forfeited {} games on move timeout", games.size());
+        return games.size();
+    }
+
+    // the timer was already dropped; a game whose stored deadline is still ahead (another node's later move, or a
+    // clock running slightly behind the wheel) gets a new one instead of waiting for the sweep
+    private void rearmNotYetDue(List<UUID> ids, Set<UUID> forfeited) {
+        Instant now = Instant.now();
+        for (UUID id : ids) {
+            if (forfeited.contains(id) || timers.containsKey(id)) {
+                continue; // done, or a newer move armed its own timer
+            }
+            repository.findById(id)
+                    .filter(game -> game.getStatus() == GameStatus.IN_PROGRESS
+                            && game.getMoveDeadline() != null
+                            && game.getMoveDeadline().isAfter(now))
+                    .ifPresent(game -> timers.computeIfAbsent(id, key -> wheel.schedule(id, game.getMoveDeadline())));
+        }
+    }
+
+    private void track(UUID id, Instant deadline) {
+        HashedTimingWheel.Timeout<UUID> previous = timers.put(id, wheel.schedule(id, deadline));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    private void cancel(UUID id) {
+        HashedTimingWheel.Timeout<UUID> previous = timers.remove(id);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.OutboxProperties;
+import com.adsquare.tictactoe.event.OutboxMessage;
+import com.adsquare.tictactoe.model.OutboxEvent;
+import com.adsquare.tictactoe.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves outbox rows to the configured sink: lock the oldest batch with SKIP LOCKED, deliver it, delete it, commit.
+ * A failing sink rolls the batch back so it is retried on the next run (at-least-once). Relays on several nodes
+ * drain disjoint batches, so consumers order one game's events by version rather than by arrival.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "tictactoe.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxEventRepository repository;
+    private final OutboxSink sink;
+    private final OutboxProperties properties;
+    private final TransactionOperations transactions;
+    private final Counter delivered;
+    private final Timer lag;
+
+    public OutboxRelay(OutboxEventRepository repository, OutboxSink sink, OutboxProperties properties,
+                       TransactionOperations transactions, MeterRegistry registry) {
+        this.repository = repository;
+        this.sink = sink;
+        this.properties = properties;
+        this.transactions = transactions;
+        this.delivered = Counter.builder("tictactoe.outbox.events").tag("stage", "delivered").register(registry);
+        this.lag = Timer.builder("tictactoe.outbox.lag").publishPercentiles(0.5, 0.99).register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${tictactoe.outbox.relay-interval-ms:1000}")
+    public void relay() {
+        int relayed;
+        do {
+            try {
+                relayed = transactions.execute(status -> relayBatch());
+            } catch (RuntimeException e) {
+                log.warn("Outbox relay failed, retrying on the next run: {}", e.getMessage());
+                return;
+            }
+        } while (relayed == properties.batchSize());
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> events = repository.lockOldest(properties.batchSize());
+        if (events.isEmpty()) {
+            return 0;
+        }
+        List<OutboxMessage> messages = events.stream().map(OutboxMessage::of).toList();
+        sink.deliver(messages);
+        repository.deleteByIds(messages.stream().map(OutboxMessage::id).toList());
+        delivered.increment(messages.size());
+        lag.record(Duration.between(messages.getFirst().createdAt(), Instant.now()));
+        return messages.size();
+    }
+}
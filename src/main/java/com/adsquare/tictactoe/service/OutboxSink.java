@@ -0,0 +1,14 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.event.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox events. A batch counts as delivered when deliver returns; throwing keeps the whole
+ * batch in the outbox for the next run, so sinks must tolerate seeing a message twice.
+ */
+public interface OutboxSink {
+
+    void deliver(List<OutboxMessage> messages);
+}
@@ -0,0 +1,91 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.RatingProperties;
+import com.adsquare.tictactoe.dto.LeaderboardEntry;
+import com.adsquare.tictactoe.dto.PlayerResponse;
+import com.adsquare.tictactoe.exception.PlayerNameTakenException;
+import com.adsquare.tictactoe.exception.PlayerNotFoundException;
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.Player;
+import com.adsquare.tictactoe.model.PlayerAccount;
+import com.adsquare.tictactoe.repository.PlayerAccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class PlayerService {
+
+    private static final int MAX_NAME_LENGTH = 64;
+
+    private final PlayerAccountRepository repository;
+    private final RatingService ratingService;
+    private final GameService gameService;
+    private final RatingProperties properties;
+
+    public PlayerResponse createPlayer(String name) {
+        String trimmed = name == null ? "" : name.strip();
+        if (trimmed.isEmpty() || trimmed.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Player name must be 1.." + MAX_NAME_LENGTH + " characters");
+        }
+        if (repository.existsByName(trimmed)) {
+            throw new PlayerNameTakenException("Player name is already taken: " + trimmed);
+        }
+        PlayerAccount account;
+        try {
+            account = repository.save(new PlayerAccount(trimmed, properties.initialRating()));
+        } catch (DataIntegrityViolationException e) {
+            // another request registered the same name between the check and the insert (uk_player_account_name)
+            throw new PlayerNameTakenException("Player name is already taken: " + trimmed);
+        }
+        ratingService.register(account);
+        return toResponse(account);
+    }
+
+    @Transactional(readOnly = true)
+    public PlayerResponse getPlayer(UUID id) {
+        return toResponse(requirePlayer(id));
+    }
+
+    public Game takeSeat(UUID gameId, Player seat, UUID playerId) {
+        if (playerId == null) {
+            throw new IllegalArgumentException("playerId is required");
+        }
+        requirePlayer(playerId);
+        return gameService.takeSeat(gameId, seat, playerId);
+    }
+
+    // names for the page are fetched in one query; ratings and order come from memory
+    @Transactional(readOnly = true)
+    public List<LeaderboardEntry> leaderboard(int limit) {
+        List<Leaderboard.Ranked> top = ratingService.top(limit);
+        Map<UUID, String> names = repository.findAllById(top.stream().map(Leaderboard.Ranked::playerId).toList())
+                .stream()
+                .collect(Collectors.toMap(PlayerAccount::getId, PlayerAccount::getName));
+        return top.stream()
+                .map(ranked -> new LeaderboardEntry(ranked.rank(), ranked.playerId(), names.get(ranked.playerId()),
+                        ranked.rating()))
+                .toList();
+    }
+
+    private PlayerAccount requirePlayer(UUID id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new PlayerNotFoundException("Player not found: " + id));
+    }
+
+    private PlayerResponse toResponse(PlayerAccount account) {
+        RatingService.PendingResult unflushed = ratingService.pendingFor(account.getId());
+        int wins = account.getWins() + unflushed.wins();
+        int draws = account.getDraws() + unflushed.draws();
+        int losses = account.getLosses() + unflushed.losses();
+        return new PlayerResponse(account.getId(), account.getName(), ratingService.rating(account.getId()),
+                ratingService.rank(account.getId()).orElse(0), wins + draws + losses, wins, draws, losses);
+    }
+}
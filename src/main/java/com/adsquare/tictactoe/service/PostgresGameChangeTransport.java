@@ -0,0 +1,171 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.ChangeNotificationProperties;
+import com.adsquare.tictactoe.event.GameChange;
+import com.adsquare.tictactoe.event.GameChangeBatch;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * LISTEN/NOTIFY transport. Batches are sent with pg_notify inside the committing transaction, so Postgres delivers
+ * them exactly when (and only if) the change commits. Each node keeps one connection of its own, outside the pool,
+ * blocked in LISTEN; after that connection drops, subscribers are told they may have missed changes.
+ */
+@Slf4j
+public class PostgresGameChangeTransport implements GameChangeTransport, InitializingBean, DisposableBean {
+
+    // NOTIFY payloads are limited to 8000 bytes; a change takes at most 59
+    static final int MAX_CHANGES_PER_NOTIFICATION = 120;
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSource;
+    private final ChangeNotificationProperties properties;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Thread listener;
+    private volatile boolean running = true;
+
+    public PostgresGameChangeTransport(JdbcTemplate jdbcTemplate, DataSourceProperties dataSource,
+                                       ChangeNotificationProperties properties) {
+        if (!CHANNEL.matcher(properties.channel()).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel name: " + properties.channel());
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.listener = Thread.ofPlatform().name("game-change-listener").daemon().unstarted(this::listen);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        listener.start();
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        listener.interrupt();
+    }
+
+    @Override
+    public boolean transactional() {
+        return true;
+    }
+
+    @Override
+    public void publish(GameChangeBatch batch) {
+        List<GameChange> changes = batch.changes();
+        for (int from = 0; from < changes.size(); from += MAX_CHANGES_PER_NOTIFICATION) {
+            List<GameChange> chunk = changes.subList(from, Math.min(changes.size(), from + MAX_CHANGES_PER_NOTIFICATION));
+            String payload = encode(new GameChangeBatch(batch.origin(), batch.committedAtMillis(), chunk));
+            jdbcTemplate.queryForObject("select pg_notify(?, ?)", String.class, properties.channel(), payload);
+        }
+    }
+
+    @Override
+    public void subscribe(Subscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSource.determineUrl(),
+                    dataSource.determineUsername(), dataSource.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.channel());
+                }
+                if (reconnecting) {
+                    log.info("Game change listener reconnected, dropping cached state");
+                    subscribers.forEach(Subscriber::onGap);
+                }
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications((int) properties.pollTimeout().toMillis());
+                    if (received != null) {
+                        for (PGNotification notification : received) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Game change listener lost its connection, retrying in {}: {}",
+                            properties.reconnectBackoff(), e.getMessage());
+                    reconnecting = true;
+                    sleepQuietly(properties.reconnectBackoff().toMillis());
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        GameChangeBatch batch;
+        try {
+            batch = decode(payload);
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed game change notification: {}", payload);
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.onChanges(batch);
+            } catch (RuntimeException e) {
+                log.warn("Game change subscriber failed", e);
+            }
+        }
+    }
+
+    // origin|committedAtMillis|gameId:version[:d],...
+    static String encode(GameChangeBatch batch) {
+        StringBuilder payload = new StringBuilder(64 + batch.changes().size() * 48)
+                .append(batch.origin()).append('|').append(batch.committedAtMillis()).append('|');
+        for (int i = 0; i < batch.changes().size(); i++) {
+            GameChange change = batch.changes().get(i);
+            if (i > 0) {
+                payload.append(',');
+            }
+            payload.append(change.gameId()).append(':').append(change.version());
+            if (change.deleted()) {
+                payload.append(":d");
+            }
+        }
+        return payload.toString();
+    }
+
+    static GameChangeBatch decode(String payload) {
+        String[] parts = payload.split("\\|", 3);
+        List<GameChange> changes = new ArrayList<>();
+        if (!parts[2].isEmpty()) {
+            for (String entry : parts[2].split(",")) {
+                String[] fields = entry.split(":");
+                changes.add(new GameChange(UUID.fromString(fields[0]), Long.parseLong(fields[1]),
+                        fields.length > 2 && "d".equals(fields[2])));
+            }
+        }
+        return new GameChangeBatch(parts[0], Long.parseLong(parts[1]), changes);
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.RatingProperties;
+import com.adsquare.tictactoe.event.GameEvent;
+import com.adsquare.tictactoe.model.GameSnapshot;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.PlayerAccount;
+import com.adsquare.tictactoe.repository.PlayerAccountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Elo ratings for seated players. A finished game updates both ratings in the in-memory {@link Leaderboard}
+ * right away and accumulates a per-player delta; a scheduled flush adds the deltas to player_account in one
+ * batch (additive, so nodes never overwrite each other) and then picks up rows other nodes changed since the
+ * last flush. The leaderboard is built from the table once at startup.
+ */
+@Slf4j
+@Service
+public class RatingService {
+
+    private static final String APPLY_DELTA = "update player_account set rating = least(greatest(rating + ?, 0), ?), "
+            + "games_played = games_played + ?, wins = wins + ?, draws = draws + ?, losses = losses + ?, "
+            + "updated_at = ? where id = ?";
+
+    private final PlayerAccountRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations transactions;
+    private final RatingProperties properties;
+    private final Leaderboard leaderboard;
+    private final ConcurrentHashMap<UUID, PendingResult> pending = new ConcurrentHashMap<>();
+    private final Counter ratedGames;
+    private volatile Instant lastRefresh = Instant.EPOCH;
+
+    public RatingService(PlayerAccountRepository repository,
+                         JdbcTemplate jdbcTemplate,
+                         TransactionOperations transactions,
+                         RatingProperties properties,
+                         MeterRegistry registry) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactions = transactions;
+        this.properties = properties;
+        this.leaderboard = new Leaderboard(properties.maxRating());
+        this.ratedGames = Counter.builder("tictactoe.ratings.games").register(registry);
+        Gauge.builder("tictactoe.ratings.players", leaderboard, Leaderboard::size).register(registry);
+    }
+
+    @TransactionalEventListener
+    public void onGameEvent(GameEvent event) {
+        GameSnapshot game = event.game();
+        if (!event.finishesGame() || game.xPlayerId() == null || game.oPlayerId() == null) {
+            return;
+        }
+        ensureLoaded(game.xPlayerId());
+        ensureLoaded(game.oPlayerId());
+        recordResult(game.xPlayerId(), game.oPlayerId(), scoreForX(game.status()));
+    }
+
+    public void register(PlayerAccount account) {
+        leaderboard.put(account.getId(), account.getRating());
+    }
+
+    public int rating(UUID playerId) {
+        return leaderboard.rating(playerId).orElse(properties.initialRating());
+    }
+
+    public OptionalLong rank(UUID playerId) {
+        return leaderboard.rank(playerId);
+    }
+
+    List<Leaderboard.Ranked> top(int limit) {
+        return leaderboard.top(limit);
+    }
+
+    // results recorded locally but not flushed yet
+    public PendingResult pendingFor(UUID playerId) {
+        return pending.getOrDefault(playerId, PendingResult.NONE);
+    }
+
+    synchronized void recordResult(UUID xPlayerId, UUID oPlayerId, double xScore) {
+        int xRating = rating(xPlayerId);
+        int oRating = rating(oPlayerId);
+        double xExpected = 1 / (1 + Math.pow(10, (oRating - xRating) / 400d));
+        int change = (int) Math.round(properties.kFactor() * (xScore - xExpected));
+
+        int newX = leaderboard.clamp(xRating + change);
+        int newO = leaderboard.clamp(oRating - change);
+        leaderboard.put(xPlayerId, newX);
+        leaderboard.put(oPlayerId, newO);
+        pending.merge(xPlayerId, PendingResult.of(newX - xRating, xScore), PendingResult::plus);
+        pending.merge(oPlayerId, PendingResult.of(newO - oRating, 1 - xScore), PendingResult::plus);
+        ratedGames.increment();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadLeaderboard() {
+        Instant started = Instant.now();
+        Long loaded = transactions.execute(status -> {
+            long count = 0;
+            try (Stream<PlayerAccountRepository.PlayerRating> ratings = repository.streamRatings()) {
+                Iterator<PlayerAccountRepository.PlayerRating> iterator = ratings.iterator();
+                while (iterator.hasNext()) {
+                    PlayerAccountRepository.PlayerRating rating = iterator.next();
+                    leaderboard.put(rating.getId(), rating.getRating());
+                    count++;
+                }
+            }
+            return count;
+        });
+        lastRefresh = started;
+        log.info("Loaded {} player ratings into the leaderboard", loaded);
+    }
+
+    @Scheduled(fixedDelayString = "${tictactoe.ratings.flush-interval-ms:5000}")
+    public void flush() {
+        List<Map.Entry<UUID, PendingResult>> batch = new ArrayList<>();
+        for (UUID playerId : pending.keySet()) {
+            PendingResult result = pending.remove(playerId);
+            if (result != null) {
+                batch.add(Map.entry(playerId, result));
+            }
+        }
+
+        Instant now = Instant.now();
+        if (!batch.isEmpty()) {
+            try {
+                Timestamp updatedAt = Timestamp.from(now);
+                transactions.executeWithoutResult(status -> jdbcTemplate.batchUpdate(APPLY_DELTA, batch, batch.size(),
+                        (ps, entry) -> {
+                            PendingResult result = entry.getValue();
+                            ps.setInt(1, result.ratingDelta());
+                            ps.setInt(2, properties.maxRating());
+                            ps.setInt(3, result.wins() + result.draws() + result.losses());
+                            ps.setInt(4, result.wins());
+                            ps.setInt(5, result.draws());
+                            ps.setInt(6, result.losses());
+                            ps.setTimestamp(7, updatedAt);
+                            ps.setObject(8, entry.getKey());
+                        }));
+            } catch (DataAccessException e) {
+                log.warn("Could not persist rating changes, keeping them for the next run: {}", e.getMessage());
+                batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), PendingResult::plus));
+                return;
+            }
+        }
+
+        try {
+            refreshChanged(now);
+        } catch (DataAccessException e) {
+            log.warn("Could not refresh player ratings: {}", e.getMessage());
+        }
+    }
+
+    // picks up ratings flushed by other nodes; players with local unflushed results keep their newer in-memory value
+    private void refreshChanged(Instant now) {
+        List<PlayerAccountRepository.PlayerRating> changed =
+                repository.findRatingsUpdatedSince(lastRefresh.minus(properties.refreshOverlap()));
+        synchronized (this) {
+            for (PlayerAccountRepository.PlayerRating rating : changed) {
+                if (!pending.containsKey(rating.getId())) {
+                    leaderboard.put(rating.getId(), rating.getRating());
+                }
+            }
+        }
+        lastRefresh = now;
+    }
+
+    // a player created on another node since the last refresh
+    private void ensureLoaded(UUID playerId) {
+        if (leaderboard.rating(playerId).isEmpty()) {
+            repository.findById(playerId).ifPresent(this::register);
+        }
+    }
+
+    private static double scoreForX(GameStatus status) {
+        return switch (status) {
+            case X_WON, X_WON_BY_FORFEIT -> 1;
+            case O_WON, O_WON_BY_FORFEIT -> 0;
+            default -> 0.5;
+        };
+    }
+
+    public record PendingResult(int ratingDelta, int wins, int draws, int losses) {
+
+        static final PendingResult NONE = new PendingResult(0, 0, 0, 0);
+
+        static PendingResult of(int ratingDelta, double score) {
+            return new PendingResult(ratingDelta, score == 1 ? 1 : 0, score == 0.5 ? 1 : 0, score == 0 ? 1 : 0);
+        }
+
+        PendingResult plus(PendingResult other) {
+            return new PendingResult(ratingDelta + other.ratingDelta, wins + other.wins, draws + other.draws,
+                    losses + other.losses);
+        }
+    }
+}
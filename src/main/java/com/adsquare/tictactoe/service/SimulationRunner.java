@@ -0,0 +1,32 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.SimulationProperties;
+import com.adsquare.tictactoe.dto.SimulationRequest;
+import com.adsquare.tictactoe.dto.SimulationResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command-line simulation: start with {@code --tictactoe.simulation.games=1000000 --tictactoe.simulation.x=PERFECT}
+ * (plus {@code --spring.main.web-application-type=none}); the result is printed to stdout as JSON.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "tictactoe.simulation", name = "games")
+public class SimulationRunner implements ApplicationRunner {
+
+    private final SimulationService simulationService;
+    private final SimulationProperties properties;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        SimulationResult result = simulationService.run(
+                new SimulationRequest(properties.games(), properties.x(), properties.o(), properties.seed()));
+        System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(result));
+    }
+}
@@ -0,0 +1,142 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.SimulationProperties;
+import com.adsquare.tictactoe.dto.SimulationRequest;
+import com.adsquare.tictactoe.dto.SimulationResult;
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.adsquare.tictactoe.util.BoardUtil.BOARD_SIZE;
+
+/**
+ * Self-play without HTTP or the database: games are played through {@link GameService#applyMoveInMemory}
+ * on a dedicated fork/join pool. The game range is split in halves down to leafSize, and every split hands
+ * the new subtask its own {@link SplittableRandom}, so workers share nothing mutable and a fixed seed
+ * reproduces the same results on any number of cores.
+ */
+@Slf4j
+@Service
+public class SimulationService implements DisposableBean {
+
+    private final GameService gameService;
+    private final SimulationProperties properties;
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    public SimulationService(GameService gameService, SimulationProperties properties) {
+        this.gameService = gameService;
+        this.properties = properties;
+    }
+
+    public SimulationResult run(SimulationRequest request) {
+        if (request.games() < 1 || request.games() > properties.maxGames()) {
+            throw new IllegalArgumentException("games must be between 1 and " + properties.maxGames());
+        }
+        SimulationStrategy x = request.x() != null ? request.x() : SimulationStrategy.RANDOM;
+        SimulationStrategy o = request.o() != null ? request.o() : SimulationStrategy.RANDOM;
+        long seed = request.seed() != null ? request.seed() : ThreadLocalRandom.current().nextLong();
+
+        long started = System.nanoTime();
+        Tally tally = pool.invoke(new SimulationTask(request.games(), x, o, new SplittableRandom(seed)));
+        long elapsedNanos = Math.max(1, System.nanoTime() - started);
+
+        Map<GameStatus, Long> outcomes = new EnumMap<>(GameStatus.class);
+        Map<GameStatus, Double> shares = new EnumMap<>(GameStatus.class);
+        for (GameStatus status : GameStatus.values()) {
+            if (status == GameStatus.IN_PROGRESS) {
+                continue;
+            }
+            long count = tally.outcomes[status.ordinal()];
+            outcomes.put(status, count);
+            shares.put(status, (double) count / request.games());
+        }
+        double gamesPerSecond = request.games() * 1_000_000_000d / elapsedNanos;
+        log.info("Simulated {} games ({} vs {}) in {} ms, {} games/s",
+                request.games(), x, o, elapsedNanos / 1_000_000, Math.round(gamesPerSecond));
+        return new SimulationResult(request.games(), x, o, seed, outcomes, shares, tally.gamesByLength,
+                (double) tally.moves / request.games(), elapsedNanos / 1_000_000, gamesPerSecond);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private void playOne(SimulationStrategy x, SimulationStrategy o, SplittableRandom random, Tally tally) {
+        Game game = new Game();
+        int moves = 0;
+        while (game.getStatus() == GameStatus.IN_PROGRESS) {
+            Player player = game.getNextPlayer();
+            int cell = (player == Player.X ? x : o).chooseCell(game.getBoard(), player, random);
+            game = gameService.applyMoveInMemory(game, cell / BOARD_SIZE, cell % BOARD_SIZE, player);
+            moves++;
+        }
+        tally.record(game.getStatus(), moves);
+    }
+
+    private final class SimulationTask extends RecursiveTask<Tally> {
+
+        private final long games;
+        private final SimulationStrategy x;
+        private final SimulationStrategy o;
+        private final SplittableRandom random;
+
+        private SimulationTask(long games, SimulationStrategy x, SimulationStrategy o, SplittableRandom random) {
+            this.games = games;
+            this.x = x;
+            this.o = o;
+            this.random = random;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (games <= properties.leafSize()) {
+                Tally tally = new Tally();
+                for (long i = 0; i < games; i++) {
+                    playOne(x, o, random, tally);
+                }
+                return tally;
+            }
+            long half = games / 2;
+            SimulationTask left = new SimulationTask(half, x, o, random.split());
+            SimulationTask right = new SimulationTask(games - half, x, o, random);
+            left.fork();
+            Tally tally = right.compute();
+            return tally.merge(left.join());
+        }
+    }
+
+    private static final class Tally {
+
+        private final long[] outcomes = new long[GameStatus.values().length];
+        private final long[] gamesByLength = new long[BOARD_SIZE * BOARD_SIZE + 1];
+        private long moves;
+
+        private void record(GameStatus status, int gameMoves) {
+            outcomes[status.ordinal()]++;
+            gamesByLength[gameMoves]++;
+            moves += gameMoves;
+        }
+
+        private Tally merge(Tally other) {
+            for (int i = 0; i < outcomes.length; i++) {
+                outcomes[i] += other.outcomes[i];
+            }
+            for (int i = 0; i < gamesByLength.length; i++) {
+                gamesByLength[i] += other.gamesByLength[i];
+            }
+            moves += other.moves;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.dto.MoveAnalysis;
+import com.adsquare.tictactoe.model.Player;
+
+import java.util.SplittableRandom;
+
+import static com.adsquare.tictactoe.util.BoardUtil.EMPTY_CELL;
+import static com.adsquare.tictactoe.util.BoardUtil.WINNING_LINES;
+import static com.adsquare.tictactoe.util.BoardUtil.markOf;
+import static com.adsquare.tictactoe.util.BoardUtil.opposite;
+
+public enum SimulationStrategy {
+
+    RANDOM {
+        @Override
+        public int chooseCell(String board, Player player, SplittableRandom random) {
+            return randomEmptyCell(board, random);
+        }
+    },
+
+    // wins when it can, blocks when it must, prefers the centre, otherwise plays anywhere
+    GREEDY {
+        @Override
+        public int chooseCell(String board, Player player, SplittableRandom random) {
+            int win = completingCell(board, markOf(player));
+            if (win >= 0) {
+                return win;
+            }
+            int block = completingCell(board, markOf(opposite(player)));
+            if (block >= 0) {
+                return block;
+            }
+            if (board.charAt(CENTRE) == EMPTY_CELL) {
+                return CENTRE;
+            }
+            return randomEmptyCell(board, random);
+        }
+    },
+
+    // picks uniformly among the moves with the best minimax value, read from the analyzer's game tree
+    PERFECT {
+        @Override
+        public int chooseCell(String board, Player player, SplittableRandom random) {
+            MoveAnalysis.Outcome best = null;
+            int chosen = -1;
+            int ties = 0;
+            for (int cell = 0; cell < board.length(); cell++) {
+                if (board.charAt(cell) != EMPTY_CELL) {
+                    continue;
+                }
+                MoveAnalysis.Outcome value = GameTreeAnalyzer.outcome(board, cell, player);
+                // outcomes are declared best first
+                if (best == null || value.compareTo(best) < 0) {
+                    best = value;
+                    chosen = cell;
+                    ties = 1;
+                } else if (value == best && random.nextInt(++ties) == 0) {
+                    chosen = cell;
+                }
+            }
+            return chosen;
+        }
+    };
+
+    private static final int CENTRE = 4;
+
+    public abstract int chooseCell(String board, Player player, SplittableRandom random);
+
+    private static int randomEmptyCell(String board, SplittableRandom random) {
+        int chosen = -1;
+        int seen = 0;
+        for (int cell = 0; cell < board.length(); cell++) {
+            if (board.charAt(cell) == EMPTY_CELL && random.nextInt(++seen) == 0) {
+                chosen = cell;
+            }
+        }
+        return chosen;
+    }
+
+    private static int completingCell(String board, char mark) {
+        for (int[] line : WINNING_LINES) {
+            int marks = 0;
+            int empty = -1;
+            for (int cell : line) {
+                char c = board.charAt(cell);
+                if (c == mark) {
+                    marks++;
+                } else if (c == EMPTY_CELL) {
+                    empty = cell;
+                }
+            }
+            if (marks == 2 && empty >= 0) {
+                return empty;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,312 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.SpectatorProperties;
+import com.adsquare.tictactoe.dto.GameResponse;
+import com.adsquare.tictactoe.event.GameEvent;
+import com.adsquare.tictactoe.exception.GameNotFoundException;
+import com.adsquare.tictactoe.model.GameSnapshot;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Server-sent event fan-out for game spectators. A committed state change is serialized once, for games
+ * that have an audience, into a complete SSE frame; every spectator is handed the same byte array. The
+ * audience of a game is split into shards, each offered new frames by its own partition thread. A spectator
+ * keeps one pending slot that the newest frame overwrites, so a slow connection skips intermediate states
+ * instead of queueing them, and its writes run on a virtual thread where blocking holds up nobody else.
+ */
+@Slf4j
+@Service
+public class SpectatorHub implements DisposableBean {
+
+    private final ObjectMapper objectMapper;
+    private final SpectatorProperties properties;
+    private final ConcurrentHashMap<UUID, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService[] partitions;
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger connected = new AtomicInteger();
+    private final Counter framesSerialized;
+    private final Counter framesWritten;
+    private final Counter framesConflated;
+
+    public SpectatorHub(ObjectMapper objectMapper, SpectatorProperties properties, MeterRegistry registry) {
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.partitions = new ExecutorService[Math.max(1, properties.partitions())];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = Executors.newSingleThreadExecutor(
+                    Thread.ofPlatform().name("spectator-fanout-" + i).daemon().factory());
+        }
+        this.framesSerialized = Counter.builder("tictactoe.spectators.frames").tag("stage", "serialized").register(registry);
+        this.framesWritten = Counter.builder("tictactoe.spectators.frames").tag("stage", "written").register(registry);
+        this.framesConflated = Counter.builder("tictactoe.spectators.frames").tag("stage", "conflated").register(registry);
+        Gauge.builder("tictactoe.spectators.connected", connected, AtomicInteger::get).register(registry);
+    }
+
+    @TransactionalEventListener
+    public void onGameEvent(GameEvent event) {
+        Channel channel = channels.get(event.game().id());
+        if (channel == null) {
+            return; // nobody is watching, nothing gets serialized
+        }
+        channel.publish(event.type() == GameEvent.Type.DELETED ? Frame.DELETED : frameOf(event.game()));
+    }
+
+    /**
+     * Registers the spectator before reading the current state, so a change committed in between is either in
+     * that state or delivered as a frame; older frames are dropped by version.
+     */
+    public Subscription subscribe(UUID gameId, Supplier<GameSnapshot> currentState, SpectatorSink sink) {
+        if (connected.incrementAndGet() > properties.maxSpectators()) {
+            connected.decrementAndGet();
+            throw new IllegalStateException("Too many spectators. Please retry later");
+        }
+        Spectator spectator = new Spectator(gameId, sink, (int) (sequence.getAndIncrement() % partitions.length));
+        channels.compute(gameId, (id, channel) -> {
+            Channel target = channel != null ? channel : new Channel(partitions.length);
+            target.add(spectator);
+            return target;
+        });
+        try {
+            spectator.offer(frameOf(currentState.get()));
+        } catch (RuntimeException e) {
+            spectator.close();
+            throw e;
+        }
+        return spectator;
+    }
+
+    /**
+     * Pushes the current state of a game that changed without an event on this node (another node committed it, or
+     * its notification was lost) to the game's spectators. The state is read on a writer thread, so a slow read
+     * holds up nobody else; a game that is gone closes its spectators as a delete would.
+     */
+    public void refresh(UUID gameId, Supplier<GameSnapshot> currentState) {
+        if (channels.containsKey(gameId)) {
+            writers.execute(() -> reload(gameId, currentState));
+        }
+    }
+
+    // after a gap in the change feed any watched game may be stale
+    public void refreshAll(Function<UUID, GameSnapshot> currentState) {
+        channels.keySet().forEach(gameId -> refresh(gameId, () -> currentState.apply(gameId)));
+    }
+
+    public int spectators(UUID gameId) {
+        Channel channel = channels.get(gameId);
+        return channel == null ? 0 : channel.size.get();
+    }
+
+    @Override
+    public void destroy() {
+        for (ExecutorService partition : partitions) {
+            partition.shutdown();
+        }
+        channels.values().forEach(channel -> channel.forEach(Spectator::closeAndComplete));
+        writers.shutdown();
+    }
+
+    private Frame frameOf(GameSnapshot game) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(GameResponse.of(game));
+            framesSerialized.increment();
+            return Frame.state(game.version(), json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize game " + game.id(), e);
+        }
+    }
+
+    private void reload(UUID gameId, Supplier<GameSnapshot> currentState) {
+        Frame frame;
+        try {
+            frame = frameOf(currentState.get());
+        } catch (GameNotFoundException e) {
+            frame = Frame.DELETED;
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh spectators of game {}: {}", gameId, e.getMessage());
+            return;
+        }
+        Channel channel = channels.get(gameId);
+        if (channel != null) {
+            channel.publish(frame);
+        }
+    }
+
+    private void remove(Spectator spectator) {
+        connected.decrementAndGet();
+        channels.computeIfPresent(spectator.gameId, (id, channel) -> {
+            channel.remove(spectator);
+            return channel.size.get() == 0 ? null : channel;
+        });
+    }
+
+    public interface SpectatorSink {
+
+        void send(byte[] frame) throws IOException;
+
+        void complete();
+    }
+
+    public interface Subscription {
+
+        void close();
+    }
+
+    // a complete SSE frame; version orders frames so a late older state never replaces a newer one
+    record Frame(long version, byte[] bytes, boolean last) {
+
+        static final Frame DELETED = new Frame(Long.MAX_VALUE,
+                "event: deleted\ndata: {}\n\n".getBytes(StandardCharsets.UTF_8), true);
+
+        static Frame state(long version, byte[] json) {
+            byte[] head = ("id: " + version + "\nevent: state\ndata: ").getBytes(StandardCharsets.UTF_8);
+            byte[] bytes = new byte[head.length + json.length + 2];
+            System.arraycopy(head, 0, bytes, 0, head.length);
+            System.arraycopy(json, 0, bytes, head.length, json.length);
+            bytes[bytes.length - 2] = '\n';
+            bytes[bytes.length - 1] = '\n';
+            return new Frame(version, bytes, false);
+        }
+    }
+
+    private final class Channel {
+
+        private final Set<Spectator>[] shards;
+        private final AtomicInteger size = new AtomicInteger();
+
+        @SuppressWarnings("unchecked")
+        private Channel(int partitionCount) {
+            shards = new Set[partitionCount];
+            for (int i = 0; i < partitionCount; i++) {
+                shards[i] = ConcurrentHashMap.newKeySet();
+            }
+        }
+
+        // only called inside channels.compute, which keeps an emptied channel from being dropped under a new spectator
+        private void add(Spectator spectator) {
+            shards[spectator.shard].add(spectator);
+            size.incrementAndGet();
+        }
+
+        private void remove(Spectator spectator) {
+            if (shards[spectator.shard].remove(spectator)) {
+                size.decrementAndGet();
+            }
+        }
+
+        private void publish(Frame frame) {
+            for (int i = 0; i < shards.length; i++) {
+                Set<Spectator> shard = shards[i];
+                if (!shard.isEmpty()) {
+                    partitions[i].execute(() -> shard.forEach(spectator -> spectator.offer(frame)));
+                }
+            }
+        }
+
+        private void forEach(Consumer<Spectator> action) {
+            for (Set<Spectator> shard : shards) {
+                shard.forEach(action);
+            }
+        }
+    }
+
+    private final class Spectator implements Subscription {
+
+        private final UUID gameId;
+        private final SpectatorSink sink;
+        private final int shard;
+        private final AtomicReference<Frame> pending = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // only touched by the single drain in flight; the scheduled flag hands it from one drain to the next
+        private long lastSentVersion = -1;
+
+        private Spectator(UUID gameId, SpectatorSink sink, int shard) {
+            this.gameId = gameId;
+            this.sink = sink;
+            this.shard = shard;
+        }
+
+        private void offer(Frame frame) {
+            Frame previous;
+            do {
+                previous = pending.get();
+                if (previous != null && previous.version() > frame.version()) {
+                    return;
+                }
+            } while (!pending.compareAndSet(previous, frame));
+            if (previous != null) {
+                framesConflated.increment();
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!closed.get() && scheduled.compareAndSet(false, true)) {
+                writers.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Frame frame;
+                while (!closed.get() && (frame = pending.getAndSet(null)) != null) {
+                    if (frame.version() < lastSentVersion) {
+                        continue;
+                    }
+                    sink.send(frame.bytes());
+                    lastSentVersion = frame.version();
+                    framesWritten.increment();
+                    if (frame.last()) {
+                        closeAndComplete();
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug("Dropping spectator of game {}: {}", gameId, e.getMessage());
+                close();
+            } finally {
+                scheduled.set(false);
+                if (pending.get() != null) {
+                    scheduleDrain();
+                }
+            }
+        }
+
+        private void closeAndComplete() {
+            if (closed.compareAndSet(false, true)) {
+                remove(this);
+                sink.complete();
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                remove(this);
+            }
+        }
+    }
+}
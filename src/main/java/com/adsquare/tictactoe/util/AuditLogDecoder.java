@@ -0,0 +1,95 @@
+package com.adsquare.tictactoe.util;
+
+import com.adsquare.tictactoe.event.AuditRecord;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Prints binary audit files as one line per record, oldest first. Arguments are audit files or directories
+ * (default data/audit):
+ * <pre>
+ * java -cp target/classes com.adsquare.tictactoe.util.AuditLogDecoder data/audit
+ * </pre>
+ */
+public final class AuditLogDecoder {
+
+    private AuditLogDecoder() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (String arg : args.length == 0 ? new String[]{"data/audit"} : args) {
+            Path path = Path.of(arg);
+            files.addAll(Files.isDirectory(path) ? AuditRecord.files(path) : List.of(path));
+        }
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+        for (Path file : files) {
+            read(file, record -> out.println(format(record)));
+        }
+        out.flush();
+    }
+
+    public static void read(Path file, Consumer<AuditRecord> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(AuditRecord.HEADER_SIZE);
+            readFully(channel, header);
+            header.flip();
+            if (header.remaining() < AuditRecord.HEADER_SIZE || header.getInt() != AuditRecord.MAGIC) {
+                throw new IOException(file + " is not an audit file");
+            }
+            short version = header.getShort();
+            short recordSize = header.getShort();
+            if (version != AuditRecord.FORMAT_VERSION || recordSize != AuditRecord.SIZE) {
+                throw new IOException(file + " has unsupported format " + version + " with " + recordSize + "-byte records");
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(AuditRecord.SIZE * 1024);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.remaining() >= AuditRecord.SIZE) {
+                    consumer.accept(AuditRecord.decode(buffer, buffer.position()));
+                    buffer.position(buffer.position() + AuditRecord.SIZE);
+                }
+                buffer.compact();
+            }
+            // a trailing partial record is what a crash in the middle of a write leaves behind; it is skipped
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return;
+            }
+        }
+    }
+
+    public static String format(AuditRecord record) {
+        StringBuilder line = new StringBuilder(128)
+                .append(record.timestamp()).append(' ')
+                .append(record.type()).append(' ')
+                .append("game=").append(record.gameId())
+                .append(" version=").append(record.version());
+        if (record.player() != null) {
+            line.append(" player=").append(record.player()).append(" cell=").append(record.cell());
+        }
+        if (record.previousStatus() != null && record.previousStatus() != record.status()) {
+            line.append(" status=").append(record.previousStatus()).append("->").append(record.status());
+        } else {
+            line.append(" status=").append(record.status());
+        }
+        return line.append(" board=").append(record.board()).toString();
+    }
+}
@@ -0,0 +1,80 @@
+package com.adsquare.tictactoe.util;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded multi-producer, single-consumer ring of fixed-size binary records. A producer claims a sequence with
+ * one CAS, writes its slot into {@link #buffer()} with absolute puts only, and publishes it; a full ring rejects
+ * the claim instead of blocking. The consumer copies published slots in sequence order and only then frees them.
+ * Every claimed sequence must be published, otherwise the consumer stops at that slot.
+ */
+public final class BinaryRingBuffer {
+
+    private final int recordSize;
+    private final int mask;
+    private final ByteBuffer slots;
+    // the sequence last published in each slot; the consumer waits until it equals the one it expects
+    private final AtomicLongArray published;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    public BinaryRingBuffer(int capacity, int recordSize) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1) << 1);
+        this.recordSize = recordSize;
+        this.mask = size - 1;
+        this.slots = ByteBuffer.allocate(size * recordSize);
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    // returns the claimed sequence, or -1 when the consumer is a full ring behind
+    public long claim() {
+        long sequence;
+        do {
+            sequence = head.get();
+            if (sequence - tail.get() > mask) {
+                return -1;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+        return sequence;
+    }
+
+    public ByteBuffer buffer() {
+        return slots;
+    }
+
+    public int offset(long sequence) {
+        return (int) (sequence & mask) * recordSize;
+    }
+
+    public void publish(long sequence) {
+        published.setRelease((int) (sequence & mask), sequence);
+    }
+
+    // consumer side: copies as many consecutive published records as fit into target and returns how many
+    public int drainTo(ByteBuffer target) {
+        long next = tail.get();
+        int drained = 0;
+        while (target.remaining() >= recordSize && published.getAcquire((int) (next & mask)) == next) {
+            target.put(target.position(), slots, offset(next), recordSize);
+            target.position(target.position() + recordSize);
+            next++;
+            drained++;
+        }
+        tail.setRelease(next);
+        return drained;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    // claimed but not yet drained
+    public long size() {
+        return head.get() - tail.get();
+    }
+}
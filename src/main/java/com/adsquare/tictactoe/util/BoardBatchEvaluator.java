@@ -0,0 +1,56 @@
+package com.adsquare.tictactoe.util;
+
+/**
+ * Evaluates many packed boards (see {@link BoardUtil#encode}) in one call. Each result code holds the
+ * {@code GameStatus} ordinal in bits 0-1, the {@code Player} ordinal of the next player in bit 2 (the last
+ * mover once the game is over, as {@code GameService} does) and {@link #UNREACHABLE} when no legal game
+ * ends in that position.
+ */
+public interface BoardBatchEvaluator {
+
+    int STATUS_MASK = 0b11;
+    int NEXT_PLAYER_SHIFT = 2;
+    int UNREACHABLE = 1 << 3;
+
+    int IN_PROGRESS = 0;
+    int X_WON = 1;
+    int O_WON = 2;
+    int DRAW = 3;
+
+    int[] evaluate(int[] boards);
+
+    static BoardBatchEvaluator best() {
+        return Holder.BEST;
+    }
+
+    static int status(int code) {
+        return code & STATUS_MASK;
+    }
+
+    static int nextPlayer(int code) {
+        return code >>> NEXT_PLAYER_SHIFT & 1;
+    }
+
+    final class Holder {
+
+        private static final BoardBatchEvaluator BEST = load();
+
+        private Holder() {
+        }
+
+        // the vector class is only compiled with -Pvector and only loaded when the incubator module was added
+        // to the JVM (--add-modules), so it is looked up by name
+        private static BoardBatchEvaluator load() {
+            if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+                try {
+                    return (BoardBatchEvaluator) Class.forName("com.adsquare.tictactoe.util.VectorBoardEvaluator")
+                            .getDeclaredConstructor()
+                            .newInstance();
+                } catch (ReflectiveOperationException e) {
+                    // built without -Pvector
+                }
+            }
+            return new ScalarBoardEvaluator();
+        }
+    }
+}
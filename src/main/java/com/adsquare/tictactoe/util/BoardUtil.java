@@ -16,6 +16,13 @@ public class BoardUtil {
             {0,4,8},{2,4,6}
     };
 
+    // packed board: X cells in bits 0-8, O cells in bits 9-17 (bit i = cell i)
+    public static final int CELL_BITS = 9;
+    public static final int FULL_MASK = (1 << CELL_BITS) - 1;
+    public static final int[] WIN_MASKS = winMasks();
+    // the 8 rotations/reflections of the board, each mapping a cell index to its image
+    public static final int[][] SYMMETRIES = symmetries();
+
     public static int toIndex(int row, int col) {
         return row * BOARD_SIZE + col;
     }
@@ -48,4 +55,64 @@ public class BoardUtil {
     public static Player opposite(Player player) {
         return player == Player.X ? Player.O : Player.X;
     }
+
+    public static int encode(String board) {
+        int x = 0;
+        int o = 0;
+        for (int i = 0; i < CELL_BITS; i++) {
+            char c = board.charAt(i);
+            if (c == 'X') x |= 1 << i;
+            else if (c == 'O') o |= 1 << i;
+        }
+        return x | o << CELL_BITS;
+    }
+
+    public static String decode(int encoded) {
+        char[] cells = new char[CELL_BITS];
+        for (int i = 0; i < CELL_BITS; i++) {
+            cells[i] = (encoded >>> i & 1) != 0 ? 'X' : (encoded >>> (i + CELL_BITS) & 1) != 0 ? 'O' : EMPTY_CELL;
+        }
+        return new String(cells);
+    }
+
+    public static boolean hasWon(int cells) {
+        for (int m : WIN_MASKS) {
+            if ((cells & m) == m) return true;
+        }
+        return false;
+    }
+
+    public static int transform(int cells, int[] symmetry) {
+        int result = 0;
+        for (int i = 0; i < CELL_BITS; i++) {
+            if ((cells >>> i & 1) != 0) result |= 1 << symmetry[i];
+        }
+        return result;
+    }
+
+    private static int[] winMasks() {
+        int[] masks = new int[WINNING_LINES.length];
+        for (int i = 0; i < WINNING_LINES.length; i++) {
+            for (int cell : WINNING_LINES[i]) masks[i] |= 1 << cell;
+        }
+        return masks;
+    }
+
+    private static int[][] symmetries() {
+        int[][] result = new int[8][CELL_BITS];
+        for (int s = 0; s < 8; s++) {
+            for (int cell = 0; cell < CELL_BITS; cell++) {
+                int row = cell / BOARD_SIZE;
+                int col = cell % BOARD_SIZE;
+                if (s >= 4) col = BOARD_SIZE - 1 - col;           // mirror first
+                for (int r = 0; r < s % 4; r++) {                 // then rotate clockwise
+                    int rotatedRow = col;
+                    col = BOARD_SIZE - 1 - row;
+                    row = rotatedRow;
+                }
+                result[s][cell] = toIndex(row, col);
+            }
+        }
+        return result;
+    }
 }
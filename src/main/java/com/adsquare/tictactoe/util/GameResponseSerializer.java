@@ -0,0 +1,114 @@
+package com.adsquare.tictactoe.util;
+
+import com.adsquare.tictactoe.dto.GameResponse;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes GameResponse with its (board, nextPlayer, gameStatus) part taken from a cache of pre-encoded fragments.
+ * There are only a few thousand reachable states, so per response just the id, version and the optional fields are
+ * encoded. Compact JSON gets the fragment as raw text; binary formats and pretty printing get pre-built strings.
+ */
+public class GameResponseSerializer extends StdSerializer<GameResponse> {
+
+    // 3^9 boards x 2 players x every status bounds the map; the cap only guards against corrupt data
+    private static final int MAX_FRAGMENTS = 300_000;
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private static final SerializedString VERSION = new SerializedString("version");
+    private static final SerializedString BOARD = new SerializedString("board");
+    private static final SerializedString NEXT_PLAYER = new SerializedString("nextPlayer");
+    private static final SerializedString GAME_STATUS = new SerializedString("gameStatus");
+
+    private final ConcurrentHashMap<StateKey, StateFragment> fragments = new ConcurrentHashMap<>();
+
+    public GameResponseSerializer() {
+        super(GameResponse.class);
+    }
+
+    @Override
+    public void serialize(GameResponse response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(response);
+        provider.defaultSerializeField("gameId", response.gameId(), gen);
+        gen.writeFieldName(VERSION);
+        gen.writeNumber(response.version());
+        writeState(response, gen, provider);
+        provider.defaultSerializeField("moveDeadline", response.moveDeadline(), gen);
+        provider.defaultSerializeField("xPlayerId", response.xPlayerId(), gen);
+        provider.defaultSerializeField("oPlayerId", response.oPlayerId(), gen);
+        provider.defaultSerializeField("joinCode", response.joinCode(), gen);
+        gen.writeEndObject();
+    }
+
+    int cachedFragments() {
+        return fragments.size();
+    }
+
+    private void writeState(GameResponse response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        StateFragment fragment = fragmentFor(response);
+        if (fragment == null) {
+            provider.defaultSerializeField("board", response.board(), gen);
+            provider.defaultSerializeField("nextPlayer", response.nextPlayer(), gen);
+            provider.defaultSerializeField("gameStatus", response.gameStatus(), gen);
+        } else if (gen instanceof JsonGeneratorImpl && gen.getPrettyPrinter() == null) {
+            // starts with the separator, so the generator's own comma handling stays correct for the next field;
+            // SerializedString keeps the UTF-8 bytes, so this is a plain copy
+            gen.writeRaw(fragment.json());
+        } else {
+            gen.writeFieldName(BOARD);
+            gen.writeString(fragment.board());
+            gen.writeFieldName(NEXT_PLAYER);
+            gen.writeString(fragment.nextPlayer());
+            gen.writeFieldName(GAME_STATUS);
+            gen.writeString(fragment.gameStatus());
+        }
+    }
+
+    private StateFragment fragmentFor(GameResponse response) {
+        if (response.board() == null || response.nextPlayer() == null || response.gameStatus() == null) {
+            return null;
+        }
+        StateKey key = new StateKey(response.board(), response.nextPlayer(), response.gameStatus());
+        StateFragment fragment = fragments.get(key);
+        if (fragment == null && fragments.size() < MAX_FRAGMENTS) {
+            fragment = fragments.computeIfAbsent(key, GameResponseSerializer::encode);
+        }
+        return fragment;
+    }
+
+    private static StateFragment encode(StateKey key) {
+        StringWriter json = new StringWriter(64);
+        try (JsonGenerator gen = JSON.createGenerator(json)) {
+            gen.writeStartObject();
+            gen.writeStringField("board", key.board());
+            gen.writeStringField("nextPlayer", key.nextPlayer().name());
+            gen.writeStringField("gameStatus", key.gameStatus().name());
+            gen.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String object = json.toString();
+        return new StateFragment(new SerializedString("," + object.substring(1, object.length() - 1)),
+                new SerializedString(key.board()),
+                new SerializedString(key.nextPlayer().name()),
+                new SerializedString(key.gameStatus().name()));
+    }
+
+    private record StateKey(String board, Player nextPlayer, GameStatus gameStatus) {
+    }
+
+    private record StateFragment(SerializedString json, SerializedString board, SerializedString nextPlayer,
+                                 SerializedString gameStatus) {
+    }
+}
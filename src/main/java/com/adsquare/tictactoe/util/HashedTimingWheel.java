@@ -0,0 +1,227 @@
+package com.adsquare.tictactoe.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Hashed timing wheel (Varghese & Lauck) for very many coarse deadlines. Scheduling and cancelling are O(1)
+ * and lock-free for callers: both only append to a queue. A single worker thread owns the buckets, moves
+ * queued work into them once per tick and hands everything that expired in that tick to the callback as
+ * one list. A deadline is rounded up to the tick boundary at or after it, so it never fires early and at most
+ * one tick late. Deadlines further away than one revolution wait in their bucket with a rounds counter.
+ */
+@Slf4j
+public final class HashedTimingWheel<T> implements AutoCloseable {
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final long tickMillis;
+    private final int mask;
+    private final Bucket<T>[] wheel;
+    private final Consumer<List<T>> onExpired;
+    private final LongSupplier clock;
+    private final long startMillis;
+    private final Queue<Timeout<T>> scheduled = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout<T>> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long currentTick;
+
+    public HashedTimingWheel(Duration tick, int wheelSize, Consumer<List<T>> onExpired, String threadName) {
+        this(tick, wheelSize, onExpired, System::currentTimeMillis, threadName);
+        worker.start();
+    }
+
+    // package-private for tests: nothing is started, the test drives the wheel with advance()
+    @SuppressWarnings("unchecked")
+    HashedTimingWheel(Duration tick, int wheelSize, Consumer<List<T>> onExpired, LongSupplier clock, String threadName) {
+        int size = Integer.highestOneBit(Math.max(2, wheelSize - 1) << 1);
+        this.tickMillis = Math.max(1, tick.toMillis());
+        this.mask = size - 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket<>();
+        }
+        this.onExpired = onExpired;
+        this.clock = clock;
+        this.startMillis = clock.getAsLong();
+        this.worker = Thread.ofPlatform().name(threadName).daemon().unstarted(this::run);
+    }
+
+    public Timeout<T> schedule(T item, Instant deadline) {
+        Timeout<T> timeout = new Timeout<>(this, item, deadline.toEpochMilli());
+        pending.incrementAndGet();
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    public long pending() {
+        return pending.get();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+    }
+
+    private void run() {
+        while (running) {
+            // tick n is processed once it has begun; its bucket only holds deadlines at or before that instant
+            long nextTickAt = startMillis + currentTick * tickMillis;
+            long sleepMillis = nextTickAt - clock.getAsLong();
+            if (sleepMillis > 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(sleepMillis));
+                continue;
+            }
+            try {
+                advance(clock.getAsLong());
+            } catch (RuntimeException e) {
+                // a failing callback must not stop the clock for every other deadline
+                log.error("Timing wheel callback failed", e);
+            }
+        }
+    }
+
+    // worker thread only: processes every tick up to now and reports what expired
+    void advance(long nowMillis) {
+        removeCancelled();
+        long targetTick = (nowMillis - startMillis) / tickMillis;
+        transferScheduled();
+        List<T> expired = new ArrayList<>();
+        while (currentTick <= targetTick) {
+            wheel[(int) (currentTick & mask)].expire(expired, pending);
+            currentTick++;
+        }
+        if (!expired.isEmpty()) {
+            onExpired.accept(expired);
+        }
+    }
+
+    private void transferScheduled() {
+        Timeout<T> timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            if (timeout.state.get() == CANCELLED) {
+                continue;
+            }
+            // rounded up so the bucket is not processed before the deadline; anything already due lands in the
+            // next tick to be processed
+            long deadlineTick = Math.max(
+                    Math.floorDiv(timeout.deadlineMillis - startMillis + tickMillis - 1, tickMillis), currentTick);
+            timeout.remainingRounds = (deadlineTick - currentTick) / wheel.length;
+            wheel[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout<T> timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    public static final class Timeout<T> {
+
+        private final HashedTimingWheel<T> wheel;
+        private final T item;
+        private final long deadlineMillis;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        // owned by the worker thread
+        private long remainingRounds;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(HashedTimingWheel<T> wheel, T item, long deadlineMillis) {
+            this.wheel = wheel;
+            this.item = item;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            wheel.pending.decrementAndGet();
+            wheel.cancelled.add(this);
+            return true;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        public T item() {
+            return item;
+        }
+    }
+
+    // intrusive doubly linked list so a cancelled timeout leaves its bucket in O(1)
+    private static final class Bucket<T> {
+
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        private void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        private void remove(Timeout<T> timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        private void expire(List<T> expired, AtomicLong pending) {
+            Timeout<T> timeout = head;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.state.compareAndSet(PENDING, EXPIRED)) {
+                        pending.decrementAndGet();
+                        expired.add(timeout.item);
+                    }
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.adsquare.tictactoe.util;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Join codes are 8 Crockford base32 characters (40 bits). A sequence number is run through an invertible
+ * mix of the 40-bit space before encoding, so distinct numbers always give distinct codes while consecutive
+ * games do not get guessably consecutive codes.
+ */
+@UtilityClass
+public class JoinCodes {
+
+    public static final int LENGTH = 8;
+    public static final long MAX_NUMBER = (1L << 40) - 1;
+
+    private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    // odd multipliers are invertible modulo 2^40
+    private static final long MULTIPLIER_1 = 0x9E3779B97BL;
+    private static final long MULTIPLIER_2 = 0xC2B2AE3D27L;
+
+    public static String encode(long number) {
+        if (number < 0 || number > MAX_NUMBER) {
+            throw new IllegalStateException("Join code space exhausted: " + number);
+        }
+        long mixed = mix(number);
+        char[] code = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            code[i] = ALPHABET.charAt((int) (mixed & 31));
+            mixed >>>= 5;
+        }
+        return new String(code);
+    }
+
+    // upper-cases and maps the characters Crockford treats as look-alikes; null when it cannot be a code
+    public static String normalize(String code) {
+        if (code == null || code.length() != LENGTH) {
+            return null;
+        }
+        char[] normalized = new char[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            char c = Character.toUpperCase(code.charAt(i));
+            c = switch (c) {
+                case 'O' -> '0';
+                case 'I', 'L' -> '1';
+                default -> c;
+            };
+            if (ALPHABET.indexOf(c) < 0) {
+                return null;
+            }
+            normalized[i] = c;
+        }
+        return new String(normalized);
+    }
+
+    static long mix(long number) {
+        long x = (number * MULTIPLIER_1) & MAX_NUMBER;
+        x ^= x >>> 20;
+        x = (x * MULTIPLIER_2) & MAX_NUMBER;
+        x ^= x >>> 17;
+        return x;
+    }
+}
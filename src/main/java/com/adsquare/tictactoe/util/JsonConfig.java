@@ -1,9 +1,17 @@
 package com.adsquare.tictactoe.util;
 
+import com.adsquare.tictactoe.dto.GameResponse;
 import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 
 @Configuration
 public class JsonConfig {
@@ -12,4 +20,22 @@ public class JsonConfig {
     Jackson2ObjectMapperBuilderCustomizer enumsCaseInsensitive() {
         return builder -> builder.featuresToEnable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS);
     }
+
+    // picked up by every Boot-configured mapper, including the binary ones below
+    @Bean
+    Module gameResponseModule() {
+        return new SimpleModule("game-response").addSerializer(GameResponse.class, new GameResponseSerializer());
+    }
+
+    // application/cbor and application/x-jackson-smile next to JSON, chosen by Accept / Content-Type;
+    // built from Boot's builder so they share the JSON mapper's modules and features
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
 }
@@ -0,0 +1,32 @@
+package com.adsquare.tictactoe.util;
+
+import static com.adsquare.tictactoe.util.BoardUtil.CELL_BITS;
+import static com.adsquare.tictactoe.util.BoardUtil.FULL_MASK;
+import static com.adsquare.tictactoe.util.BoardUtil.hasWon;
+
+public final class ScalarBoardEvaluator implements BoardBatchEvaluator {
+
+    @Override
+    public int[] evaluate(int[] boards) {
+        int[] codes = new int[boards.length];
+        for (int i = 0; i < boards.length; i++) {
+            codes[i] = evaluate(boards[i]);
+        }
+        return codes;
+    }
+
+    static int evaluate(int board) {
+        int x = board & FULL_MASK;
+        int o = board >>> CELL_BITS & FULL_MASK;
+        boolean xWon = hasWon(x);
+        boolean oWon = hasWon(o);
+        int diff = Integer.bitCount(x) - Integer.bitCount(o);
+        boolean xAhead = diff > 0;
+
+        int status = xWon ? X_WON : oWon ? O_WON : (x | o) == FULL_MASK ? DRAW : IN_PROGRESS;
+        boolean nextIsO = (status == IN_PROGRESS) == xAhead;
+        boolean unreachable = diff < 0 || diff > 1 || (x & o) != 0
+                || (xWon && (oWon || !xAhead)) || (oWon && xAhead);
+        return status | (nextIsO ? 1 << NEXT_PLAYER_SHIFT : 0) | (unreachable ? UNREACHABLE : 0);
+    }
+}
@@ -0,0 +1,38 @@
+package com.adsquare.tictactoe.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its GCRA form: the whole state is the theoretical arrival time of the next permit,
+ * so acquiring is a single CAS on one long.
+ */
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.emissionIntervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    // 0 when a permit was taken, otherwise how long until the next one frees up
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long arrival = current - nowNanos < 0 ? nowNanos : current;
+            long waitNanos = arrival - nowNanos - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, arrival + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.adsquare.tictactoe.util;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static com.adsquare.tictactoe.util.BoardUtil.CELL_BITS;
+import static com.adsquare.tictactoe.util.BoardUtil.FULL_MASK;
+import static com.adsquare.tictactoe.util.BoardUtil.WIN_MASKS;
+
+/**
+ * SIMD version of {@link ScalarBoardEvaluator}: one lane per board, the eight win masks tested with lane-wise
+ * AND/compare, piece counts with BIT_COUNT and the result assembled with blends, so there is no per-board
+ * branching. The tail that does not fill a whole vector goes through the scalar code.
+ */
+public final class VectorBoardEvaluator implements BoardBatchEvaluator {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public int[] evaluate(int[] boards) {
+        int[] codes = new int[boards.length];
+        int upper = SPECIES.loopBound(boards.length);
+        int i = 0;
+        for (; i < upper; i += SPECIES.length()) {
+            IntVector board = IntVector.fromArray(SPECIES, boards, i);
+            IntVector x = board.and(FULL_MASK);
+            IntVector o = board.lanewise(VectorOperators.LSHR, CELL_BITS).and(FULL_MASK);
+
+            VectorMask<Integer> xWon = SPECIES.maskAll(false);
+            VectorMask<Integer> oWon = SPECIES.maskAll(false);
+            for (int mask : WIN_MASKS) {
+                xWon = xWon.or(x.and(mask).compare(VectorOperators.EQ, mask));
+                oWon = oWon.or(o.and(mask).compare(VectorOperators.EQ, mask));
+            }
+            VectorMask<Integer> full = x.or(o).compare(VectorOperators.EQ, FULL_MASK);
+
+            IntVector diff = x.lanewise(VectorOperators.BIT_COUNT).sub(o.lanewise(VectorOperators.BIT_COUNT));
+            VectorMask<Integer> xAhead = diff.compare(VectorOperators.GT, 0);
+
+            // later blends win, so the order mirrors the scalar precedence X_WON > O_WON > DRAW > IN_PROGRESS
+            IntVector status = IntVector.zero(SPECIES)
+                    .blend(DRAW, full)
+                    .blend(O_WON, oWon)
+                    .blend(X_WON, xWon);
+            VectorMask<Integer> inProgress = status.compare(VectorOperators.EQ, IN_PROGRESS);
+            VectorMask<Integer> nextIsO = inProgress.eq(xAhead);
+
+            VectorMask<Integer> unreachable = diff.compare(VectorOperators.LT, 0)
+                    .or(diff.compare(VectorOperators.GT, 1))
+                    .or(x.and(o).compare(VectorOperators.NE, 0))
+                    .or(xWon.and(oWon.or(xAhead.not())))
+                    .or(oWon.and(xAhead));
+
+            IntVector code = status.blend(status.or(1 << NEXT_PLAYER_SHIFT), nextIsO);
+            code.blend(code.or(UNREACHABLE), unreachable).intoArray(codes, i);
+        }
+        for (; i < boards.length; i++) {
+            codes[i] = ScalarBoardEvaluator.evaluate(boards[i]);
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,89 @@
+package com.adsquare.tictactoe.controller;
+
+import com.adsquare.tictactoe.config.AdmissionProperties;
+import com.adsquare.tictactoe.service.AdmissionControl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private SimpleMeterRegistry registry;
+    private String movePath;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        movePath = "/api/v1/games/" + UUID.randomUUID() + "/moves";
+    }
+
+    private AdmissionControlFilter filter(int maxConcurrent, int burst) {
+        AdmissionProperties properties = new AdmissionProperties(true, maxConcurrent, 1, burst, 1000, Duration.ofMinutes(1));
+        return new AdmissionControlFilter(new AdmissionControl(properties, registry));
+    }
+
+    @Test
+    void shouldRejectMovesBeyondPerGameBurst() throws Exception {
+        AdmissionControlFilter filter = filter(10, 2);
+
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletResponse accepted = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("POST", movePath), accepted, new MockFilterChain());
+            assertEquals(200, accepted.getStatus());
+        }
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", movePath), rejected, new MockFilterChain());
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(1.0, registry.counter("tictactoe.admission.rejected", "reason", "game_rate").count());
+    }
+
+    @Test
+    void shouldNotRateLimitReads() throws Exception {
+        AdmissionControlFilter filter = filter(10, 1);
+
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/games"), response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+    }
+
+    @Test
+    void shouldShedLoadWhenConcurrencyLimitIsReached() throws Exception {
+        AdmissionControlFilter filter = filter(1, 10);
+        MockHttpServletResponse nested = new MockHttpServletResponse();
+
+        // The outer request still holds the only permit while the nested one arrives
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/games"), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/games"), nested, new MockFilterChain()));
+
+        assertEquals(429, nested.getStatus());
+        assertEquals(1.0, registry.counter("tictactoe.admission.rejected", "reason", "concurrency").count());
+    }
+
+    @Test
+    void shouldNotSpendTheGameTokenOnMovesShedForConcurrency() throws Exception {
+        AdmissionControlFilter filter = filter(1, 1);
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/games"), new MockHttpServletResponse(),
+                (request, response) -> filter.doFilter(new MockHttpServletRequest("POST", movePath), shed, new MockFilterChain()));
+        MockHttpServletResponse retried = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", movePath), retried, new MockFilterChain());
+
+        assertEquals(429, shed.getStatus());
+        assertEquals(200, retried.getStatus());
+        assertEquals(0.0, registry.counter("tictactoe.admission.rejected", "reason", "game_rate").count());
+    }
+}
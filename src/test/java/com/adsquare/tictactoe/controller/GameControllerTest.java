@@ -1,13 +1,17 @@
 package com.adsquare.tictactoe.controller;
 
 import com.adsquare.tictactoe.dto.CreateGameResponse;
+import com.adsquare.tictactoe.dto.GameResponse;
 import com.adsquare.tictactoe.dto.MoveRequest;
 import com.adsquare.tictactoe.exception.GameNotFoundException;
 import com.adsquare.tictactoe.exception.InvalidMoveException;
 import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameSnapshot;
 import com.adsquare.tictactoe.model.GameStatus;
 import com.adsquare.tictactoe.model.Player;
 import com.adsquare.tictactoe.service.GameService;
+import com.adsquare.tictactoe.service.GameSnapshotCache;
+import com.adsquare.tictactoe.service.IdempotencyService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,6 +29,8 @@ import java.util.UUID;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,6 +44,12 @@ class GameControllerTest {
     @MockitoBean
     private GameService gameService;
 
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
+    @MockitoBean
+    private GameSnapshotCache gameSnapshots;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -57,8 +69,8 @@ class GameControllerTest {
     @Test
     void shouldCreateGameSuccessfully() throws Exception {
         // Given
-        CreateGameResponse response = new CreateGameResponse(testGameId, "_________", Player.X, GameStatus.IN_PROGRESS);
-        when(gameService.createNewGame()).thenReturn(response);
+        CreateGameResponse response = new CreateGameResponse(testGameId, "_________", Player.X, GameStatus.IN_PROGRESS, "7K3M9Q2X");
+        when(gameService.createNewGame(null)).thenReturn(response);
 
         // When & Then
         mockMvc.perform(post("/api/v1/games"))
@@ -66,13 +78,14 @@ class GameControllerTest {
                 .andExpect(jsonPath("$.gameId").value(testGameId.toString()))
                 .andExpect(jsonPath("$.board").value("_________"))
                 .andExpect(jsonPath("$.nextPlayer").value("X"))
-                .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS"))
+                .andExpect(jsonPath("$.joinCode").value("7K3M9Q2X"));
     }
 
     @Test
     void shouldGetGameSuccessfully() throws Exception {
         // Given
-        when(gameService.getGame(testGameId)).thenReturn(testGame);
+        when(gameSnapshots.get(testGameId)).thenReturn(GameSnapshot.of(testGame));
 
         // When & Then
         mockMvc.perform(get("/api/v1/games/{id}", testGameId))
@@ -84,7 +97,7 @@ class GameControllerTest {
     @Test
     void shouldReturn404WhenGameNotFound() throws Exception {
         // Given
-        when(gameService.getGame(testGameId)).thenThrow(new GameNotFoundException("Game not found"));
+        when(gameSnapshots.get(testGameId)).thenThrow(new GameNotFoundException("Game not found"));
 
         // When & Then
         mockMvc.perform(get("/api/v1/games/{id}", testGameId))
@@ -119,6 +132,25 @@ class GameControllerTest {
                 .andExpect(jsonPath("$.board").value("X________"));
     }
 
+    @Test
+    void shouldReplayMoveForRepeatedIdempotencyKey() throws Exception {
+        // Given
+        MoveRequest moveRequest = new MoveRequest(0, 0, Player.X);
+        GameResponse original = new GameResponse(testGameId, 1, "X________", Player.O, GameStatus.IN_PROGRESS, null, null, null, null);
+        when(idempotencyService.execute(eq("retry-1"), eq("move:" + testGameId), eq("0:0:X"), eq(GameResponse.class), any()))
+                .thenReturn(original);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/games/{id}/moves", testGameId)
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(moveRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.board").value("X________"));
+
+        verify(gameService, never()).makeMove(any(), anyInt(), anyInt(), any());
+    }
+
     @Test
     void shouldRejectInvalidMove() throws Exception {
         // Given
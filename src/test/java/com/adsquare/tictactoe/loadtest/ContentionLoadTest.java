@@ -0,0 +1,55 @@
+package com.adsquare.tictactoe.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load suite, excluded from the normal build. Run with {@code ./mvnw -Pload-test test}; tune with
+ * {@code -Dloadtest.workloads=HOT_GAMES -Dloadtest.clients=256 -Dloadtest.duration=60s} and gate releases with
+ * {@code -Dloadtest.max-error-rate=0 -Dloadtest.max-p99-ms=250}. Results go to target/load-test/results.json.
+ */
+@Tag("load")
+class ContentionLoadTest {
+
+    @Test
+    void runLoadSuite() throws Exception {
+        // Given
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        List<WorkloadResult> results = new ArrayList<>();
+
+        // When
+        // admission control would turn hot-game contention into 429s, which is not what this suite measures
+        try (ConfigurableApplicationContext app = EmbeddedApp.start(WebApplicationType.SERVLET,
+                "tictactoe.admission.enabled=false")) {
+            int port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            LoadTestDriver driver = new LoadTestDriver(URI.create("http://localhost:" + port),
+                    app.getBean(MeterRegistry.class), settings);
+            for (LoadTestSettings.Workload workload : settings.workloads()) {
+                results.add(driver.run(workload));
+            }
+        }
+        Files.createDirectories(settings.output().toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(settings.output().toFile(), results);
+
+        // Then
+        for (WorkloadResult result : results) {
+            assertTrue(result.requests() > 0, result.workload() + " made no requests");
+            assertTrue(result.errorRate() <= settings.maxErrorRate(),
+                    result.workload() + " error rate " + result.errorRate() + " > " + settings.maxErrorRate());
+            result.latencyMillis().forEach((operation, latency) -> assertTrue(latency.p99() <= settings.maxP99Millis(),
+                    result.workload() + " " + operation + " p99 " + latency.p99() + "ms > " + settings.maxP99Millis() + "ms"));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.adsquare.tictactoe.loadtest;
+
+import com.adsquare.tictactoe.TictactoeApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Boots the whole application against a private in-memory H2 database in Postgres mode, with every external
+ * dependency swapped for its in-JVM stand-in. Settings are passed as command-line arguments because those,
+ * unlike SpringApplicationBuilder default properties, win over application.properties.
+ */
+public final class EmbeddedApp {
+
+    private EmbeddedApp() {
+    }
+
+    // overrides are "name=value" pairs applied on top of the defaults below
+    public static ConfigurableApplicationContext start(WebApplicationType type, String... overrides) {
+        Map<String, String> settings = new LinkedHashMap<>();
+        settings.put("spring.datasource.url", "jdbc:h2:mem:" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        settings.put("spring.datasource.username", "sa");
+        settings.put("spring.datasource.password", "");
+        settings.put("server.port", "0");
+        settings.put("tictactoe.change-notifications.transport", "in-memory");
+        settings.put("tictactoe.outbox.sink", "in-memory");
+        settings.put("tictactoe.storage.directory", temporaryDirectory("tictactoe-store"));
+        settings.put("tictactoe.audit.directory", temporaryDirectory("tictactoe-audit"));
+        settings.put("logging.level.com.adsquare.tictactoe", "WARN");
+        for (String override : overrides) {
+            int separator = override.indexOf('=');
+            settings.put(override.substring(0, separator), override.substring(separator + 1));
+        }
+        // a repeated option would be joined with commas, hence one argument per name
+        String[] args = settings.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(TictactoeApplication.class).web(type).run(args);
+    }
+
+    private static String temporaryDirectory(String prefix) {
+        try {
+            return Files.createTempDirectory(prefix).toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
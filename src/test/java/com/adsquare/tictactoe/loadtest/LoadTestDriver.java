@@ -0,0 +1,258 @@
+package com.adsquare.tictactoe.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives one workload at a time from virtual-thread clients over real HTTP. Status codes and latencies are
+ * collected per operation on the client side; retries per move come from the server's contention conflict counter.
+ */
+class LoadTestDriver {
+
+    private static final String MOVES = "move";
+    private static final int[][] WINNING_GAME = {{0, 0}, {1, 0}, {0, 1}, {1, 1}, {0, 2}};
+
+    private final URI games;
+    private final MeterRegistry serverRegistry;
+    private final LoadTestSettings settings;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    LoadTestDriver(URI baseUri, MeterRegistry serverRegistry, LoadTestSettings settings) {
+        this.games = baseUri.resolve("/api/v1/games");
+        this.serverRegistry = serverRegistry;
+        this.settings = settings;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    WorkloadResult run(LoadTestSettings.Workload workload) throws Exception {
+        List<UUID> shared = switch (workload) {
+            case MANY_GAMES -> List.of();
+            case HOT_GAMES -> createGames(settings.hotGames());
+            case READ_HEAVY -> createGames(settings.pollGames());
+        };
+        drive(workload, shared, settings.warmup(), new Stats());
+
+        Stats stats = new Stats();
+        double conflictsBefore = serverConflicts();
+        long start = System.nanoTime();
+        drive(workload, shared, settings.duration(), stats);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return stats.result(workload.name(), settings.clients(), seconds, serverConflicts() - conflictsBefore);
+    }
+
+    private void drive(LoadTestSettings.Workload workload, List<UUID> shared, Duration duration, Stats stats)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < settings.clients(); i++) {
+                clients.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        try {
+                            switch (workload) {
+                                case MANY_GAMES -> playOwnGame(stats);
+                                case HOT_GAMES -> moveOnSharedGame(shared, stats);
+                                case READ_HEAVY -> {
+                                    if (ThreadLocalRandom.current().nextDouble() < settings.writeRatio()) {
+                                        moveOnSharedGame(shared, stats);
+                                    } else {
+                                        get(randomOf(shared), stats);
+                                    }
+                                }
+                            }
+                        } catch (IOException e) {
+                            stats.transportError();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                });
+            }
+            clients.shutdown();
+            if (!clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Load clients did not stop");
+            }
+        }
+    }
+
+    private void playOwnGame(Stats stats) throws IOException, InterruptedException {
+        UUID id = create(stats);
+        if (id == null) {
+            return;
+        }
+        for (int i = 0; i < WINNING_GAME.length; i++) {
+            move(id, WINNING_GAME[i][0], WINNING_GAME[i][1], i % 2 == 0 ? "X" : "O", stats);
+        }
+    }
+
+    // read the latest state, then race the other clients for a free cell
+    private void moveOnSharedGame(List<UUID> shared, Stats stats) throws IOException, InterruptedException {
+        UUID id = randomOf(shared);
+        JsonNode game = get(id, stats);
+        if (game == null) {
+            return;
+        }
+        if (!"IN_PROGRESS".equals(game.path("gameStatus").asText())) {
+            send("reset", HttpRequest.newBuilder(games.resolve("/api/v1/games/" + id + "/reset"))
+                    .POST(HttpRequest.BodyPublishers.noBody()), stats);
+            return;
+        }
+        String board = game.path("board").asText();
+        List<Integer> free = new ArrayList<>(9);
+        for (int cell = 0; cell < board.length(); cell++) {
+            if (board.charAt(cell) == '_') {
+                free.add(cell);
+            }
+        }
+        if (!free.isEmpty()) {
+            int cell = free.get(ThreadLocalRandom.current().nextInt(free.size()));
+            move(id, cell / 3, cell % 3, game.path("nextPlayer").asText(), stats);
+        }
+    }
+
+    private List<UUID> createGames(int count) throws IOException, InterruptedException {
+        Stats setup = new Stats();
+        List<UUID> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            UUID id = create(setup);
+            if (id == null) {
+                throw new IllegalStateException("Could not create games for the workload: " + setup.statuses);
+            }
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private UUID create(Stats stats) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send("create",
+                HttpRequest.newBuilder(games).POST(HttpRequest.BodyPublishers.noBody()), stats);
+        return response.statusCode() == 201
+                ? UUID.fromString(objectMapper.readTree(response.body()).path("gameId").asText())
+                : null;
+    }
+
+    private JsonNode get(UUID id, Stats stats) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send("get", HttpRequest.newBuilder(games.resolve("/api/v1/games/" + id)).GET(), stats);
+        return response.statusCode() == 200 ? objectMapper.readTree(response.body()) : null;
+    }
+
+    private void move(UUID id, int row, int col, String player, Stats stats) throws IOException, InterruptedException {
+        String body = "{\"row\":" + row + ",\"col\":" + col + ",\"player\":\"" + player + "\"}";
+        send(MOVES, HttpRequest.newBuilder(games.resolve("/api/v1/games/" + id + "/moves"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)), stats);
+    }
+
+    private HttpResponse<byte[]> send(String operation, HttpRequest.Builder request, Stats stats)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response = http.send(request.timeout(Duration.ofSeconds(30)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        stats.record(operation, response.statusCode(), System.nanoTime() - start);
+        return response;
+    }
+
+    private double serverConflicts() {
+        Counter conflicts = serverRegistry.find("tictactoe.contention.conflicts").counter();
+        return conflicts == null ? 0 : conflicts.count();
+    }
+
+    private static UUID randomOf(List<UUID> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static final class Stats {
+
+        private final MeterRegistry registry = new SimpleMeterRegistry();
+        private final Map<String, Timer> latencies = new ConcurrentHashMap<>();
+        private final Map<String, Map<Integer, LongAdder>> statuses = new ConcurrentHashMap<>();
+        private final LongAdder transportErrors = new LongAdder();
+
+        private void record(String operation, int status, long nanos) {
+            latencies.computeIfAbsent(operation, name -> Timer.builder("loadtest." + name)
+                    .publishPercentiles(0.5, 0.9, 0.99, 0.999)
+                    .distributionStatisticExpiry(Duration.ofDays(1))
+                    .register(registry)).record(nanos, TimeUnit.NANOSECONDS);
+            statuses.computeIfAbsent(operation, name -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(status, code -> new LongAdder())
+                    .increment();
+        }
+
+        private void transportError() {
+            transportErrors.increment();
+        }
+
+        private long count(String operation, int status) {
+            LongAdder adder = statuses.getOrDefault(operation, Map.of()).get(status);
+            return adder == null ? 0 : adder.sum();
+        }
+
+        private WorkloadResult result(String workload, int clients, double seconds, double serverConflicts) {
+            Map<String, Map<Integer, Long>> counts = new TreeMap<>();
+            long requests = 0;
+            long errors = transportErrors.sum();
+            for (Map.Entry<String, Map<Integer, LongAdder>> operation : statuses.entrySet()) {
+                Map<Integer, Long> byStatus = new TreeMap<>();
+                for (Map.Entry<Integer, LongAdder> status : operation.getValue().entrySet()) {
+                    long count = status.getValue().sum();
+                    byStatus.put(status.getKey(), count);
+                    requests += count;
+                    if (status.getKey() >= 500) {
+                        errors += count;
+                    }
+                }
+                counts.put(operation.getKey(), byStatus);
+            }
+
+            Map<String, WorkloadResult.Latency> latencyMillis = new TreeMap<>();
+            latencies.forEach((operation, timer) -> latencyMillis.put(operation, latency(timer.takeSnapshot())));
+
+            long moveAttempts = counts.getOrDefault(MOVES, Map.of()).values().stream().mapToLong(Long::longValue).sum();
+            long movesAccepted = count(MOVES, 200);
+            return new WorkloadResult(workload, clients, seconds, requests, requests / seconds,
+                    moveAttempts, movesAccepted,
+                    moveAttempts == 0 ? 0 : (double) count(MOVES, 409) / moveAttempts,
+                    moveAttempts == 0 ? 0 : serverConflicts / moveAttempts,
+                    requests + transportErrors.sum() == 0 ? 0 : (double) errors / (requests + transportErrors.sum()),
+                    counts, latencyMillis);
+        }
+
+        private static WorkloadResult.Latency latency(HistogramSnapshot snapshot) {
+            double[] percentiles = new double[4];
+            ValueAtPercentile[] values = snapshot.percentileValues();
+            for (int i = 0; i < Math.min(values.length, percentiles.length); i++) {
+                percentiles[i] = values[i].value(TimeUnit.MILLISECONDS);
+            }
+            return new WorkloadResult.Latency(snapshot.count(), snapshot.mean(TimeUnit.MILLISECONDS),
+                    percentiles[0], percentiles[1], percentiles[2], percentiles[3], snapshot.max(TimeUnit.MILLISECONDS));
+        }
+    }
+}
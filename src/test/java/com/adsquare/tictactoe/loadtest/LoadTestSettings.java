@@ -0,0 +1,37 @@
+package com.adsquare.tictactoe.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+// Read from -Dloadtest.* system properties so the suite can be tuned from the Maven command line
+record LoadTestSettings(List<Workload> workloads, Duration warmup, Duration duration, int clients, int hotGames,
+                        int pollGames, double writeRatio, Path output, double maxErrorRate, double maxP99Millis) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Arrays.stream(System.getProperty("loadtest.workloads", "MANY_GAMES,HOT_GAMES,READ_HEAVY").split(","))
+                        .map(String::trim)
+                        .map(Workload::valueOf)
+                        .toList(),
+                Duration.parse("PT" + System.getProperty("loadtest.warmup", "5s")),
+                Duration.parse("PT" + System.getProperty("loadtest.duration", "20s")),
+                Integer.getInteger("loadtest.clients", 64),
+                Integer.getInteger("loadtest.hot-games", 4),
+                Integer.getInteger("loadtest.poll-games", 256),
+                Double.parseDouble(System.getProperty("loadtest.write-ratio", "0.05")),
+                Path.of(System.getProperty("loadtest.output", "target/load-test/results.json")),
+                Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0")),
+                Double.parseDouble(System.getProperty("loadtest.max-p99-ms", "Infinity")));
+    }
+
+    enum Workload {
+        // every client plays its own games start to finish: no contention, create + 5 moves per game
+        MANY_GAMES,
+        // all clients read-then-move on a handful of games, resetting them when finished
+        HOT_GAMES,
+        // clients mostly poll GET on many games, with a small share of moves
+        READ_HEAVY
+    }
+}
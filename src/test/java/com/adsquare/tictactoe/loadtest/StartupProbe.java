@@ -0,0 +1,162 @@
+package com.adsquare.tictactoe.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Repeatable cold-start measurement of a packaged build. Launches the given command {@code -Dstartup.runs} times
+ * (default 5) on a free port and records per run the JVM-reported startup time from Spring Boot's "Started" line
+ * and the wall-clock time from launch until the first move is accepted over HTTP. Results, including medians,
+ * go to {@code -Dstartup.output} (default target/startup/results.json).
+ * <pre>
+ * java -cp target/test-classes:target/classes:$(cat target/test.cp) com.adsquare.tictactoe.loadtest.StartupProbe \
+ *   java -jar target/tictactoe-0.0.1-SNAPSHOT.jar
+ * </pre>
+ */
+public final class StartupProbe {
+
+    private static final Pattern STARTED =
+            Pattern.compile("Started \\S+ in ([\\d.]+) seconds \\(process running for ([\\d.]+)\\)");
+    private static final String MOVE = "{\"row\":0,\"col\":0,\"player\":\"X\"}";
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private StartupProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Usage: StartupProbe <command to start the application...>");
+        }
+        int runs = Integer.getInteger("startup.runs", 5);
+        Duration timeout = Duration.parse("PT" + System.getProperty("startup.timeout", "120s"));
+        Path output = Path.of(System.getProperty("startup.output", "target/startup/results.json"));
+
+        StartupProbe probe = new StartupProbe();
+        List<Run> results = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            Run run = probe.measure(List.of(args), timeout);
+            System.out.printf("run %d: started in %.3fs (process %.3fs), first move after %dms%n",
+                    i + 1, run.startedSeconds(), run.processSeconds(), run.firstMoveMillis());
+            results.add(run);
+        }
+
+        Summary summary = new Summary(List.of(args), runs,
+                median(results.stream().mapToDouble(Run::processSeconds).toArray()),
+                median(results.stream().mapToDouble(Run::firstMoveMillis).toArray()), results);
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), summary);
+        System.out.printf("median: process startup %.3fs, first move %.0fms -> %s%n",
+                summary.medianProcessSeconds(), summary.medianFirstMoveMillis(), output);
+    }
+
+    private Run measure(List<String> command, Duration timeout) throws Exception {
+        int port = freePort();
+        List<String> launch = new ArrayList<>(command);
+        launch.add("--server.port=" + port);
+
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(launch).redirectErrorStream(true).start();
+        CompletableFuture<double[]> started = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> watchOutput(process, started));
+        try {
+            long firstMove = firstMove(URI.create("http://localhost:" + port + "/api/v1/games"), launched, timeout);
+            double[] startup = started.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return new Run(startup[0], startup[1], TimeUnit.NANOSECONDS.toMillis(firstMove - launched));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    // polls create until the server answers, then plays one move; returns the nanoTime the move was accepted
+    private long firstMove(URI games, long launched, Duration timeout) throws IOException, InterruptedException {
+        long deadline = launched + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            HttpResponse<String> created;
+            try {
+                created = http.send(HttpRequest.newBuilder(games).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                        HttpResponse.BodyHandlers.ofString());
+            } catch (ConnectException e) {
+                Thread.sleep(5);
+                continue;
+            }
+            if (created.statusCode() != 201) {
+                throw new IllegalStateException("Create returned " + created.statusCode() + ": " + created.body());
+            }
+            String id = objectMapper.readTree(created.body()).path("gameId").asText();
+            HttpResponse<String> moved = http.send(HttpRequest.newBuilder(games.resolve("/api/v1/games/" + id + "/moves"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(MOVE))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (moved.statusCode() != 200) {
+                throw new IllegalStateException("Move returned " + moved.statusCode() + ": " + moved.body());
+            }
+            return System.nanoTime();
+        }
+        throw new IllegalStateException("Application did not accept a move within " + timeout);
+    }
+
+    // the output has to be drained anyway, or the child blocks once the pipe buffer is full
+    private static void watchOutput(Process process, CompletableFuture<double[]> started) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = STARTED.matcher(line);
+                if (!started.isDone() && matcher.find()) {
+                    started.complete(new double[]{Double.parseDouble(matcher.group(1)),
+                            Double.parseDouble(matcher.group(2))});
+                }
+            }
+            started.completeExceptionally(new IllegalStateException("Application exited before it started"));
+        } catch (IOException e) {
+            started.completeExceptionally(e);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    record Run(double startedSeconds, double processSeconds, long firstMoveMillis) {
+    }
+
+    record Summary(List<String> command, int runs, double medianProcessSeconds, double medianFirstMoveMillis,
+                   List<Run> results) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.adsquare.tictactoe.loadtest;
+
+import java.util.Map;
+
+// One line of the machine-readable report; latencies are client-observed milliseconds per operation
+record WorkloadResult(String workload, int clients, double seconds, long requests, double requestsPerSecond,
+                      long moveAttempts, long movesAccepted, double conflictRate, double retriesPerMove,
+                      double errorRate, Map<String, Map<Integer, Long>> statuses, Map<String, Latency> latencyMillis) {
+
+    record Latency(long count, double mean, double p50, double p90, double p99, double p999, double max) {
+    }
+}
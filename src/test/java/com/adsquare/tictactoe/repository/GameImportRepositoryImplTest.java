@@ -0,0 +1,67 @@
+package com.adsquare.tictactoe.repository;
+
+import com.adsquare.tictactoe.model.Game;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameImportRepositoryImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private GameImportRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new GameImportRepositoryImpl(jdbcTemplate, TransactionOperations.withoutTransaction());
+    }
+
+    @Test
+    void shouldInsertTheWholeChunkInOneBatch() {
+        // When
+        boolean[] inserted = repository.insertIfAbsent(List.of(game(), game()));
+
+        // Then
+        assertArrayEquals(new boolean[]{true, true}, inserted);
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> rows) -> rows.size() == 2));
+    }
+
+    @Test
+    void shouldFallBackToRowByRowInsertsToFindTheDuplicate() {
+        // Given
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DuplicateKeyException("duplicate"));
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenReturn(1, 0);
+
+        // When
+        boolean[] inserted = repository.insertIfAbsent(List.of(game(), game()));
+
+        // Then
+        assertArrayEquals(new boolean[]{true, false}, inserted);
+    }
+
+    private static Game game() {
+        Game game = new Game();
+        game.setId(UUID.randomUUID());
+        game.setCreatedAt(Instant.now());
+        game.setUpdatedAt(Instant.now());
+        return game;
+    }
+}
@@ -0,0 +1,93 @@
+package com.adsquare.tictactoe.repository;
+
+import com.adsquare.tictactoe.TictactoeApplication;
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.Player;
+import com.adsquare.tictactoe.service.GameService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full game (create + five moves to an X win) through GameService on the JPA path (H2 in memory, so the
+ * database round trip is a lower bound) against the memory-mapped store. Run like BoardEvaluationBenchmark:
+ * {@code java -cp target/test-classes:target/classes:<test classpath> com.adsquare.tictactoe.repository.GameRepositoryBenchmark}.
+ * Results are written to {@code target/jmh/game-repository.json}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class GameRepositoryBenchmark {
+
+    @Param({"jpa", "mmap"})
+    private String engine;
+
+    private ConfigurableApplicationContext context;
+    private GameService gameService;
+
+    // command-line arguments, unlike SpringApplicationBuilder default properties, win over application.properties
+    @Setup
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(TictactoeApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--logging.level.com.adsquare.tictactoe=WARN",
+                        "--tictactoe.change-notifications.transport=in-memory",
+                        "--tictactoe.outbox.sink=in-memory",
+                        "--tictactoe.audit.directory=" + Files.createTempDirectory("game-audit"),
+                        "--tictactoe.storage.engine=" + engine,
+                        "--tictactoe.storage.directory=" + Files.createTempDirectory("game-store"));
+        gameService = context.getBean(GameService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Game playGame() {
+        UUID id = gameService.createNewGame().gameId();
+        gameService.makeMove(id, 0, 0, Player.X);
+        gameService.makeMove(id, 1, 0, Player.O);
+        gameService.makeMove(id, 0, 1, Player.X);
+        gameService.makeMove(id, 1, 1, Player.O);
+        return gameService.makeMove(id, 0, 2, Player.X);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Files.createDirectories(Path.of("target/jmh"));
+        new Runner(new OptionsBuilder()
+                .include(GameRepositoryBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh/game-repository.json")
+                .build()).run();
+    }
+}
@@ -0,0 +1,395 @@
+package com.adsquare.tictactoe.repository;
+
+import com.adsquare.tictactoe.dto.CreateGameResponse;
+import com.adsquare.tictactoe.dto.MoveRequest;
+import com.adsquare.tictactoe.exception.GameFinishedException;
+import com.adsquare.tictactoe.exception.GameNotFoundException;
+import com.adsquare.tictactoe.exception.InvalidMoveException;
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+import com.adsquare.tictactoe.service.ContentionTracker;
+import com.adsquare.tictactoe.service.GameService;
+import com.adsquare.tictactoe.service.JoinCodeAllocator;
+import com.adsquare.tictactoe.service.MoveBatchResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the GameServiceTest scenarios, played against the memory-mapped store instead of mocks
+@ExtendWith(MockitoExtension.class)
+class MappedGameRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private ContentionTracker contentionTracker;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private JoinCodeAllocator joinCodes;
+
+    private MappedGameStore store;
+    private MappedGameRepository repository;
+    private GameService gameService;
+
+    @BeforeEach
+    void setUp() {
+        open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    private void open() {
+        store = new MappedGameStore(directory, 16, false);
+        repository = new MappedGameRepository(store);
+        gameService = new GameService(repository, contentionTracker, eventPublisher, joinCodes,
+                TransactionOperations.withoutTransaction());
+    }
+
+    private void reopen() {
+        store.close();
+        open();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // runs the transaction synchronizations without any resource behind them
+    private static final class ResourcelessTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
+    @Nested
+    class GameServiceScenarios {
+
+        @Test
+        void shouldCreateAndGetGame() {
+            // When
+            CreateGameResponse created = gameService.createNewGame();
+            Game game = gameService.getGame(created.gameId());
+
+            // Then
+            assertEquals("_________", game.getBoard());
+            assertEquals(Player.X, game.getNextPlayer());
+            assertEquals(GameStatus.IN_PROGRESS, game.getStatus());
+            assertEquals(0, game.getVersion());
+            assertNotNull(game.getCreatedAt());
+        }
+
+        @Test
+        void shouldThrowExceptionWhenGameNotFound() {
+            // When & Then
+            assertThrows(GameNotFoundException.class, () -> gameService.getGame(UUID.randomUUID()));
+        }
+
+        @Test
+        void shouldMakeMovesUntilWin() {
+            // Given
+            UUID id = gameService.createNewGame().gameId();
+
+            // When
+            gameService.makeMove(id, 0, 0, Player.X);
+            gameService.makeMove(id, 1, 0, Player.O);
+            gameService.makeMove(id, 0, 1, Player.X);
+            gameService.makeMove(id, 1, 1, Player.O);
+            Game result = gameService.makeMove(id, 0, 2, Player.X);
+
+            // Then
+            assertEquals(GameStatus.X_WON, result.getStatus());
+            Game stored = gameService.getGame(id);
+            assertEquals("XXXOO____", stored.getBoard());
+            assertEquals(5, stored.getVersion());
+            assertThrows(GameFinishedException.class, () -> gameService.makeMove(id, 2, 2, Player.O));
+        }
+
+        @Test
+        void shouldRejectInvalidMoves() {
+            // Given
+            UUID id = gameService.createNewGame().gameId();
+            gameService.makeMove(id, 0, 0, Player.X);
+
+            // When & Then
+            assertThrows(InvalidMoveException.class, () -> gameService.makeMove(id, 0, 0, Player.O));
+            assertThrows(InvalidMoveException.class, () -> gameService.makeMove(id, 1, 1, Player.X));
+            assertThrows(InvalidMoveException.class, () -> gameService.makeMove(id, 3, 0, Player.O));
+        }
+
+        @Test
+        void shouldApplyBatchAsOneWrite() {
+            // Given
+            UUID id = gameService.createNewGame().gameId();
+
+            // When
+            MoveBatchResult result = gameService.makeMoves(id, List.of(
+                    new MoveRequest(0, 0, Player.X), new MoveRequest(0, 0, Player.O), new MoveRequest(1, 1, Player.O)));
+
+            // Then
+            assertEquals("X___O____", result.game().getBoard());
+            assertEquals(1, gameService.getGame(id).getVersion());
+            assertNotNull(result.rejectionFor(1));
+        }
+
+        @Test
+        void shouldResetAndDeleteGame() {
+            // Given
+            UUID id = gameService.createNewGame().gameId();
+            gameService.makeMove(id, 0, 0, Player.X);
+
+            // When
+            Game reset = gameService.resetGame(id);
+            gameService.deleteGame(id);
+
+            // Then
+            assertEquals("_________", reset.getBoard());
+            assertThrows(GameNotFoundException.class, () -> gameService.getGame(id));
+            assertThrows(GameNotFoundException.class, () -> gameService.deleteGame(id));
+        }
+
+        @Test
+        void shouldRejectStaleVersion() {
+            // Given
+            UUID id = gameService.createNewGame().gameId();
+            Game stale = gameService.getGame(id);
+            gameService.makeMove(id, 0, 0, Player.X);
+
+            // When & Then
+            stale.setBoard("O________");
+            assertThrows(OptimisticLockingFailureException.class, () -> repository.saveAndFlush(stale));
+        }
+
+        @Test
+        void shouldListGamesWithPagination() {
+            // Given
+            for (int i = 0; i < 5; i++) {
+                gameService.createNewGame();
+            }
+
+            // When & Then
+            assertEquals(2, gameService.listOfGames(PageRequest.of(0, 2)).getContent().size());
+            assertEquals(1, gameService.listOfGames(PageRequest.of(2, 2)).getContent().size());
+            assertEquals(5, gameService.listOfGames(PageRequest.of(0, 2)).getTotalElements());
+        }
+    }
+
+    @Test
+    void shouldRoundTripEveryField() {
+        // Given
+        Game game = new Game();
+        game.setBoard("XO_XO_X__");
+        game.setStatus(GameStatus.X_WON);
+        game.setNextPlayer(Player.O);
+        game.setMoveTimeLimitSeconds(30);
+        game.setMoveDeadline(Instant.parse("2026-01-01T10:00:00.123456Z"));
+        game.setXPlayerId(UUID.randomUUID());
+        game.setOPlayerId(UUID.randomUUID());
+        game.setJoinCode("7K3M9Q2X");
+        UUID id = repository.save(game).getId();
+
+        // When
+        reopen();
+        Game stored = repository.findById(id).orElseThrow();
+
+        // Then
+        assertEquals("XO_XO_X__", stored.getBoard());
+        assertEquals(GameStatus.X_WON, stored.getStatus());
+        assertEquals(Player.O, stored.getNextPlayer());
+        assertEquals(30, stored.getMoveTimeLimitSeconds());
+        assertEquals(game.getMoveDeadline(), stored.getMoveDeadline());
+        assertEquals(game.getXPlayerId(), stored.getXPlayerId());
+        assertEquals(game.getOPlayerId(), stored.getOPlayerId());
+        assertEquals(id, repository.findByJoinCode("7K3M9Q2X").orElseThrow().getId());
+    }
+
+    @Test
+    void shouldRejectDuplicateJoinCode() {
+        // Given
+        Game first = new Game();
+        first.setJoinCode("AAAAAAAA");
+        repository.save(first);
+        Game second = new Game();
+        second.setJoinCode("AAAAAAAA");
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class, () -> repository.save(second));
+    }
+
+    @Test
+    void shouldImportOnlyGamesWhoseIdIsFree() {
+        // Given
+        UUID existing = gameService.createNewGame().gameId();
+        Game clash = new Game();
+        clash.setId(existing);
+        clash.setBoard("XXXOO____");
+        clash.setStatus(GameStatus.X_WON);
+        Game fresh = new Game();
+        fresh.setId(UUID.randomUUID());
+        fresh.setBoard("X________");
+        fresh.setNextPlayer(Player.O);
+
+        // When
+        boolean[] inserted = repository.insertIfAbsent(List.of(clash, fresh));
+
+        // Then
+        assertArrayEquals(new boolean[]{false, true}, inserted);
+        assertEquals("_________", repository.findById(existing).orElseThrow().getBoard());
+        assertEquals("X________", repository.findById(fresh.getId()).orElseThrow().getBoard());
+    }
+
+    @Test
+    void shouldApplyTransactionalWritesOnlyOnCommit() {
+        // Given
+        TransactionTemplate transactions = new TransactionTemplate(new ResourcelessTransactionManager());
+        UUID id = gameService.createNewGame().gameId();
+
+        // When
+        transactions.executeWithoutResult(status -> {
+            Game game = repository.findByIdForUpdate(id).orElseThrow();
+            game.setBoard("____X____");
+            repository.save(game);
+            assertEquals("____X____", repository.findById(id).orElseThrow().getBoard());
+            assertEquals("_________", store.findById(id).orElseThrow().getBoard());
+            status.setRollbackOnly();
+        });
+        Game rolledBack = repository.findById(id).orElseThrow();
+        transactions.executeWithoutResult(status -> {
+            Game game = repository.findById(id).orElseThrow();
+            game.setBoard("X________");
+            repository.save(game);
+        });
+
+        // Then
+        assertEquals("_________", rolledBack.getBoard());
+        assertEquals(0, rolledBack.getVersion());
+        Game committed = store.findById(id).orElseThrow();
+        assertEquals("X________", committed.getBoard());
+        assertEquals(1, committed.getVersion());
+    }
+
+    @Test
+    void shouldHoldTheRowLockOfAGameReadForUpdateUntilCommit() throws Exception {
+        // Given
+        TransactionTemplate transactions = new TransactionTemplate(new ResourcelessTransactionManager());
+        UUID id = gameService.createNewGame().gameId();
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> transactions.executeWithoutResult(status -> {
+            repository.findByIdForUpdate(id);
+            locked.countDown();
+            awaitQuietly(release);
+        }));
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+        // When
+        CompletableFuture<Game> waiter = CompletableFuture.supplyAsync(() ->
+                transactions.execute(status -> repository.findByIdForUpdate(id).orElseThrow()));
+
+        // Then
+        assertThrows(TimeoutException.class, () -> waiter.get(200, TimeUnit.MILLISECONDS));
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertEquals(id, waiter.get(5, TimeUnit.SECONDS).getId());
+    }
+
+    @Test
+    void shouldRecoverRecordsFromJournal() throws IOException {
+        // Given a write that reached the journal but whose record image was lost
+        UUID id = gameService.createNewGame().gameId();
+        gameService.makeMove(id, 1, 1, Player.X);
+        try (FileChannel file = FileChannel.open(directory.resolve("games.dat"), StandardOpenOption.WRITE)) {
+            file.write(ByteBuffer.allocate(MappedGameStore.RECORD_SIZE), 64);
+        }
+
+        MappedGameStore crashed = store;
+
+        // When
+        open();
+
+        // Then
+        Game recovered = repository.findById(id).orElseThrow();
+        assertEquals("____X____", recovered.getBoard());
+        assertEquals(1, recovered.getVersion());
+        crashed.close();
+    }
+
+    @Test
+    void shouldCompactDeletedSlots() {
+        // Given
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            ids.add(gameService.createNewGame().gameId());
+        }
+        for (int i = 0; i < 30; i++) {
+            gameService.deleteGame(ids.get(i));
+        }
+
+        // When
+        int moved = store.compact();
+        reopen();
+
+        // Then
+        assertEquals(10, moved);
+        assertEquals(10, repository.count());
+        assertEquals(0, store.deletedFraction());
+        for (int i = 30; i < 40; i++) {
+            assertTrue(repository.findById(ids.get(i)).isPresent());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.AuditProperties;
+import com.adsquare.tictactoe.event.AuditRecord;
+import com.adsquare.tictactoe.event.GameEvent;
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameSnapshot;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+import com.adsquare.tictactoe.util.AuditLogDecoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogTest {
+
+    private static final long START = 1_760_000_000_000L;
+
+    @TempDir
+    Path directory;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong(START);
+    private AuditLog auditLog;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        auditLog.destroy();
+    }
+
+    @Test
+    void shouldWriteRecordsThatDecodeToTheOriginalEvents() throws Exception {
+        // Given
+        auditLog = auditLog(1024, DataSize.ofMegabytes(1), 10, 1.0);
+        Game game = game(UUID.randomUUID());
+        auditLog.record(GameEvent.created(game));
+        game.setBoard("____X____");
+        game.setNextPlayer(Player.O);
+        game.setVersion(1L);
+        now.addAndGet(5);
+        auditLog.record(GameEvent.moveMade(GameStatus.IN_PROGRESS, GameSnapshot.of(game), Player.X, 4));
+
+        // When
+        int written = auditLog.flush();
+
+        // Then
+        assertEquals(2, written);
+        List<AuditRecord> records = readAll();
+        assertEquals(new AuditRecord(Instant.ofEpochMilli(START), game.getId(), 0, GameEvent.Type.CREATED,
+                null, GameStatus.IN_PROGRESS, null, -1, "_________"), records.get(0));
+        assertEquals(new AuditRecord(Instant.ofEpochMilli(START + 5), game.getId(), 1, GameEvent.Type.MOVE_MADE,
+                GameStatus.IN_PROGRESS, GameStatus.IN_PROGRESS, Player.X, 4, "____X____"), records.get(1));
+        assertTrue(AuditLogDecoder.format(records.get(1)).contains("MOVE_MADE game=" + game.getId() + " version=1 player=X cell=4"));
+    }
+
+    @Test
+    void shouldRotateFilesAndKeepOnlyTheNewest() throws Exception {
+        // Given
+        auditLog = auditLog(2, DataSize.ofBytes(AuditRecord.HEADER_SIZE + 2L * AuditRecord.SIZE), 2, 1.0);
+
+        // When
+        for (int i = 0; i < 8; i++) {
+            auditLog.record(GameEvent.created(game(UUID.randomUUID())));
+            now.incrementAndGet();
+        }
+        auditLog.flush();
+
+        // Then
+        List<Path> files = AuditRecord.files(directory);
+        assertEquals(2, files.size());
+        assertEquals(4, readAll().size());
+    }
+
+    @Test
+    void shouldSampleMovesPerGameButKeepLifecycleEvents() throws Exception {
+        // Given
+        auditLog = auditLog(1024, DataSize.ofMegabytes(1), 10, 0.0);
+        Game game = game(UUID.randomUUID());
+
+        // When
+        auditLog.record(GameEvent.created(game));
+        auditLog.record(GameEvent.moveMade(GameStatus.IN_PROGRESS, GameSnapshot.of(game), Player.X, 0));
+        auditLog.flush();
+
+        // Then
+        List<AuditRecord> records = readAll();
+        assertEquals(1, records.size());
+        assertEquals(GameEvent.Type.CREATED, records.get(0).type());
+        assertEquals(1.0, registry.get("tictactoe.audit.records").tag("outcome", "sampled-out").counter().count());
+    }
+
+    @Test
+    void shouldDropRecordsInsteadOfBlockingWhenTheRingIsFull() throws Exception {
+        // Given
+        auditLog = auditLog(1024, DataSize.ofMegabytes(1), 10, 1.0, 4);
+
+        // When
+        for (int i = 0; i < 6; i++) {
+            auditLog.record(GameEvent.created(game(UUID.randomUUID())));
+        }
+        auditLog.flush();
+
+        // Then
+        assertEquals(4, readAll().size());
+        assertEquals(2.0, registry.get("tictactoe.audit.records").tag("outcome", "dropped").counter().count());
+    }
+
+    private AuditLog auditLog(int batchSize, DataSize maxFileSize, int maxFiles, double sampleRate) {
+        return auditLog(batchSize, maxFileSize, maxFiles, sampleRate, 1024);
+    }
+
+    private AuditLog auditLog(int batchSize, DataSize maxFileSize, int maxFiles, double sampleRate, int capacity) {
+        return new AuditLog(new AuditProperties(true, directory, capacity, batchSize, maxFileSize, maxFiles,
+                sampleRate, Duration.ofMillis(10)), registry, now::get);
+    }
+
+    private List<AuditRecord> readAll() throws IOException {
+        List<AuditRecord> records = new ArrayList<>();
+        for (Path file : AuditRecord.files(directory)) {
+            AuditLogDecoder.read(file, records::add);
+        }
+        return records;
+    }
+
+    private static Game game(UUID id) {
+        Game game = new Game();
+        game.setId(id);
+        game.setVersion(0L);
+        return game;
+    }
+}
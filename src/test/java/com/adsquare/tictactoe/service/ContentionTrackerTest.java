@@ -0,0 +1,111 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.ContentionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentionTrackerTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private SimpleMeterRegistry registry;
+    private ContentionTracker tracker;
+    private UUID gameId;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        ContentionProperties properties = new ContentionProperties(1024, Duration.ofSeconds(10), 3.0, 0.5,
+                Duration.ofMillis(20), 2, 8, Duration.ofMillis(2), Duration.ofMillis(100));
+        tracker = new ContentionTracker(properties, registry, nanos::get);
+        gameId = UUID.randomUUID();
+    }
+
+    @Test
+    void quietGameStaysOptimistic() {
+        tracker.recordConflict(gameId);
+
+        assertFalse(tracker.shouldLockPessimistically(gameId));
+        assertEquals(1.0, registry.counter("tictactoe.contention.decisions", "mode", "optimistic").count());
+    }
+
+    @Test
+    void switchesToPessimisticOnceThresholdIsCrossed() {
+        for (int i = 0; i < 3; i++) {
+            tracker.recordConflict(gameId);
+        }
+
+        assertTrue(tracker.shouldLockPessimistically(gameId));
+        assertEquals(1.0, registry.counter("tictactoe.contention.switches", "to", "pessimistic").count());
+    }
+
+    @Test
+    void switchesBackWhenContentionDecays() {
+        for (int i = 0; i < 4; i++) {
+            tracker.recordConflict(gameId);
+        }
+        assertTrue(tracker.shouldLockPessimistically(gameId));
+
+        // Four half-lives bring a score of 4 down to 0.25, below the optimistic threshold
+        nanos.addAndGet(Duration.ofSeconds(40).toNanos());
+
+        assertFalse(tracker.shouldLockPessimistically(gameId));
+        assertEquals(1.0, registry.counter("tictactoe.contention.switches", "to", "optimistic").count());
+    }
+
+    @Test
+    void staysPessimisticBetweenThresholds() {
+        for (int i = 0; i < 4; i++) {
+            tracker.recordConflict(gameId);
+        }
+        assertTrue(tracker.shouldLockPessimistically(gameId));
+
+        // One half-life leaves a score of 2: below the switch-on threshold but above the switch-off one
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertTrue(tracker.shouldLockPessimistically(gameId));
+    }
+
+    @Test
+    void longLockWaitsCountAsContention() {
+        tracker.recordLockWait(gameId, Duration.ofMillis(1).toNanos());
+        assertEquals(0.0, tracker.score(gameId));
+
+        tracker.recordLockWait(gameId, Duration.ofMillis(50).toNanos());
+        assertEquals(1.0, tracker.score(gameId), 1e-6);
+    }
+
+    @Test
+    void grantsMoreAttemptsToContendedGames() {
+        assertEquals(2, tracker.maxAttempts(gameId));
+
+        tracker.recordConflict(gameId);
+        tracker.recordConflict(gameId);
+        assertEquals(4, tracker.maxAttempts(gameId));
+
+        for (int i = 0; i < 20; i++) {
+            tracker.recordConflict(gameId);
+        }
+        assertEquals(8, tracker.maxAttempts(gameId));
+    }
+
+    @Test
+    void backoffIsJitteredWithinAGrowingWindowAndSkippedOncePessimistic() {
+        tracker.recordConflict(gameId);
+        for (int i = 0; i < 100; i++) {
+            // window: 2ms * 2^(attempt-1) * (1 + score 1.0)
+            assertTrue(tracker.backoffNanos(gameId, 1) <= Duration.ofMillis(4).toNanos());
+            assertTrue(tracker.backoffNanos(gameId, 2) <= Duration.ofMillis(8).toNanos());
+        }
+
+        tracker.recordConflict(gameId);
+        tracker.recordConflict(gameId);
+        assertEquals(0, tracker.backoffNanos(gameId, 3));
+    }
+}
@@ -0,0 +1,177 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.event.GameChange;
+import com.adsquare.tictactoe.event.GameChangeBatch;
+import com.adsquare.tictactoe.event.GameEvent;
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameSnapshot;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameChangeNotifierTest {
+
+    @Mock
+    private GameSnapshotCache localCache;
+
+    @Mock
+    private GameSnapshotCache remoteCache;
+
+    @Mock
+    private SpectatorHub localHub;
+
+    @Mock
+    private SpectatorHub remoteHub;
+
+    private InMemoryGameChangeTransport transport;
+    private SimpleMeterRegistry remoteRegistry;
+    private GameChangeNotifier local;
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        transport = new InMemoryGameChangeTransport();
+        remoteRegistry = new SimpleMeterRegistry();
+        local = new GameChangeNotifier(transport, localCache, localHub, new SimpleMeterRegistry());
+        GameChangeNotifier remote = new GameChangeNotifier(transport, remoteCache, remoteHub, remoteRegistry);
+        local.afterPropertiesSet();
+        remote.afterPropertiesSet();
+        game = new Game();
+        game.setId(UUID.randomUUID());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldInvalidateOtherNodesButNotTheSender() {
+        // Given
+        game.setVersion(3);
+
+        // When
+        local.onGameEvent(GameEvent.moveMade(GameStatus.IN_PROGRESS, GameSnapshot.of(game), Player.X, 0));
+
+        // Then
+        verify(remoteCache).invalidate(game.getId(), 3);
+        verifyNoInteractions(localCache);
+        assertEquals(1, remoteRegistry.get("tictactoe.change-notifications.latency").timer().count());
+    }
+
+    @Test
+    void shouldPushRemoteChangesToSpectatorsThroughTheCache() {
+        // Given
+        game.setVersion(3);
+        GameSnapshot reloaded = GameSnapshot.of(game);
+        when(remoteCache.get(game.getId())).thenReturn(reloaded);
+        ArgumentCaptor<Supplier<GameSnapshot>> currentState = ArgumentCaptor.captor();
+
+        // When
+        local.onGameEvent(GameEvent.moveMade(GameStatus.IN_PROGRESS, GameSnapshot.of(game), Player.X, 0));
+
+        // Then
+        verify(remoteHub).refresh(eq(game.getId()), currentState.capture());
+        assertSame(reloaded, currentState.getValue().get());
+        verifyNoInteractions(localHub);
+    }
+
+    @Test
+    void shouldPublishOneCoalescedBatchAfterCommit() {
+        // Given
+        List<GameChangeBatch> delivered = new ArrayList<>();
+        transport.subscribe(new GameChangeTransport.Subscriber() {
+            @Override
+            public void onChanges(GameChangeBatch batch) {
+                delivered.add(batch);
+            }
+
+            @Override
+            public void onGap() {
+            }
+        });
+        Game other = new Game();
+        other.setId(UUID.randomUUID());
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        game.setVersion(1);
+        local.onGameEvent(GameEvent.moveMade(GameStatus.IN_PROGRESS, GameSnapshot.of(game), Player.X, 0));
+        game.setVersion(2);
+        local.onGameEvent(GameEvent.moveMade(GameStatus.IN_PROGRESS, GameSnapshot.of(game), Player.O, 4));
+        local.onGameEvent(GameEvent.deleted(other));
+        boolean publishedBeforeCommit = !delivered.isEmpty();
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Then
+        assertFalse(publishedBeforeCommit);
+        assertEquals(1, delivered.size());
+        assertEquals(List.of(new GameChange(game.getId(), 2, false), new GameChange(other.getId(), 0, true)),
+                delivered.getFirst().changes());
+        verify(remoteCache).invalidate(game.getId(), 2);
+        verify(remoteCache).evict(other.getId());
+        assertNull(TransactionSynchronizationManager.getResource(local));
+    }
+
+    @Test
+    void shouldDropEverythingAfterGap() {
+        // When
+        local.onGap();
+
+        // Then
+        verify(localCache).invalidateAll();
+        verify(localHub).refreshAll(any());
+    }
+
+    @Test
+    void shouldRoundTripNotificationPayload() {
+        // Given
+        GameChangeBatch batch = new GameChangeBatch(UUID.randomUUID().toString(), 1_700_000_000_000L, List.of(
+                new GameChange(UUID.randomUUID(), 7, false), new GameChange(UUID.randomUUID(), 12, true)));
+
+        // When
+        String payload = PostgresGameChangeTransport.encode(batch);
+
+        // Then
+        assertEquals(batch, PostgresGameChangeTransport.decode(payload));
+    }
+
+    @Test
+    void shouldKeepLargestChunkWithinNotifyPayloadLimit() {
+        // Given
+        List<GameChange> changes = new ArrayList<>();
+        for (int i = 0; i < PostgresGameChangeTransport.MAX_CHANGES_PER_NOTIFICATION; i++) {
+            changes.add(new GameChange(UUID.randomUUID(), Long.MAX_VALUE, true));
+        }
+
+        // When
+        String payload = PostgresGameChangeTransport.encode(
+                new GameChangeBatch(UUID.randomUUID().toString(), Long.MAX_VALUE, changes));
+
+        // Then
+        assertTrue(payload.length() < 8000);
+    }
+}
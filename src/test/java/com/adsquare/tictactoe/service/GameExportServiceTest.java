@@ -0,0 +1,121 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+import com.adsquare.tictactoe.repository.GameRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameExportServiceTest {
+
+    @Mock
+    private GameRepository repository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ObjectMapper objectMapper;
+    private GameExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportService = new GameExportService(repository, entityManager, objectMapper);
+    }
+
+    @Test
+    void shouldWriteOneJsonLinePerGameAndDetachEachRow() throws Exception {
+        // Given
+        Game first = game("X________", GameStatus.IN_PROGRESS);
+        Game second = game("XXXOO____", GameStatus.X_WON);
+        when(repository.streamForExport(null, null, null, GameExportService.FETCH_SIZE))
+                .thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long exported = exportService.export(null, null, null, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, exported);
+        assertEquals(2, lines.length);
+        JsonNode row = objectMapper.readTree(lines[1]);
+        assertEquals(second.getId().toString(), row.get("id").asText());
+        assertEquals("XXXOO____", row.get("board").asText());
+        assertEquals("X_WON", row.get("status").asText());
+        assertEquals("2025-01-01T10:00:00Z", row.get("updatedAt").asText());
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    @Test
+    void shouldPassFiltersToTheCursorQuery() throws Exception {
+        // Given
+        Instant from = Instant.parse("2025-01-01T00:00:00Z");
+        Instant to = Instant.parse("2025-02-01T00:00:00Z");
+        when(repository.streamForExport(GameStatus.DRAW, from, to, GameExportService.FETCH_SIZE))
+                .thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long exported = exportService.export(GameStatus.DRAW, from, to, out);
+
+        // Then
+        assertEquals(0, exported);
+        assertEquals(0, out.size());
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void shouldCloseTheCursorWhenTheClientGoesAway() {
+        // Given
+        AtomicBoolean cursorClosed = new AtomicBoolean();
+        when(repository.streamForExport(null, null, null, GameExportService.FETCH_SIZE))
+                .thenReturn(Stream.of(game("X________", GameStatus.IN_PROGRESS)).onClose(() -> cursorClosed.set(true)));
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // When
+        assertThrows(IOException.class, () -> exportService.export(null, null, null, disconnected));
+
+        // Then
+        assertTrue(cursorClosed.get());
+    }
+
+    private Game game(String board, GameStatus status) {
+        Game game = new Game();
+        game.setId(UUID.randomUUID());
+        game.setBoard(board);
+        game.setNextPlayer(Player.O);
+        game.setStatus(status);
+        game.setCreatedAt(Instant.parse("2025-01-01T09:00:00Z"));
+        game.setUpdatedAt(Instant.parse("2025-01-01T10:00:00Z"));
+        return game;
+    }
+}
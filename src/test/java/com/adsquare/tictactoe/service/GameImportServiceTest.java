@@ -0,0 +1,118 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.ImportProperties;
+import com.adsquare.tictactoe.dto.GameImportResponse;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.repository.GameRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameImportServiceTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private ContentionTracker contentionTracker;
+
+    @Mock
+    private JoinCodeAllocator joinCodes;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private GameStatsService gameStatsService;
+
+    private GameImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        GameService gameService = new GameService(gameRepository, contentionTracker, eventPublisher, joinCodes,
+                TransactionOperations.withoutTransaction());
+        importService = new GameImportService(gameService, gameStatsService, gameRepository,
+                new ObjectMapper().findAndRegisterModules(),
+                new ImportProperties(1000, 2, 100, null, null));
+    }
+
+    @Test
+    void shouldImportReplayedMovesAndFinalBoards() throws Exception {
+        // Given
+        String input = """
+                {"moves":[{"row":0,"col":0,"player":"X"},{"row":1,"col":1,"player":"O"}]}
+                {"board":"XXXOO____","status":"X_WON"}
+                """;
+
+        when(gameRepository.insertIfAbsent(anyList())).thenReturn(new boolean[]{true, true});
+
+        // When
+        GameImportResponse result = importService.importGames(ndjson(input));
+
+        // Then
+        assertEquals(2, result.imported());
+        assertEquals(0, result.rejected());
+        verify(gameRepository).insertIfAbsent(argThat(games -> games.size() == 2));
+        verify(gameStatsService).recordImported(GameStatus.IN_PROGRESS, 1, 2);
+        verify(gameStatsService).recordImported(GameStatus.X_WON, 1, 5);
+    }
+
+    @Test
+    void shouldReportInvalidRecordsWithTheirLineNumbers() throws Exception {
+        // Given
+        String input = """
+                {"moves":[{"row":0,"col":0,"player":"X"},{"row":0,"col":0,"player":"O"}]}
+                not json
+                {"board":"XXX______"}
+                {"board":"XX_OO____","status":"DRAW"}
+                """;
+
+        // When
+        GameImportResponse result = importService.importGames(ndjson(input));
+
+        // Then
+        assertEquals(0, result.imported());
+        assertEquals(4, result.rejected());
+        assertEquals(List.of(1L, 2L, 3L, 4L), result.errors().stream().map(e -> e.line()).toList());
+        assertTrue(result.errors().get(0).reason().contains("Cell is occupied"));
+        verify(gameRepository, never()).insertIfAbsent(anyList());
+    }
+
+    @Test
+    void shouldRejectOnlyTheDuplicateWhenBatchHitsExistingId() throws Exception {
+        // Given
+        String input = """
+                {"id":"11111111-1111-1111-1111-111111111111","board":"X________"}
+                {"id":"22222222-2222-2222-2222-222222222222","board":"X________"}
+                """;
+        when(gameRepository.insertIfAbsent(anyList())).thenReturn(new boolean[]{true, false});
+
+        // When
+        GameImportResponse result = importService.importGames(ndjson(input));
+
+        // Then
+        assertEquals(1, result.imported());
+        assertEquals(1, result.rejected());
+        assertEquals(2L, result.errors().get(0).line());
+        assertTrue(result.errors().get(0).reason().contains("already exists"));
+    }
+
+    private static ByteArrayInputStream ndjson(String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,135 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.ActorProperties;
+import com.adsquare.tictactoe.dto.MoveRequest;
+import com.adsquare.tictactoe.exception.GameNotFoundException;
+import com.adsquare.tictactoe.exception.InvalidMoveException;
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameMoveActorsTest {
+
+    @Mock
+    private GameService gameService;
+
+    private GameMoveActors actors;
+    private UUID gameId;
+    private Game savedGame;
+
+    @BeforeEach
+    void setUp() {
+        actors = new GameMoveActors(gameService, new ActorProperties(true, Duration.ZERO, 64, 3));
+        gameId = UUID.randomUUID();
+        savedGame = new Game();
+        savedGame.setId(gameId);
+        savedGame.setBoard("X________");
+        savedGame.setNextPlayer(Player.O);
+    }
+
+    @AfterEach
+    void tearDown() {
+        actors.destroy();
+    }
+
+    @Test
+    void shouldApplyMoveThroughActor() {
+        // Given
+        when(gameService.makeMoves(eq(gameId), anyList())).thenReturn(new MoveBatchResult(savedGame, Map.of()));
+
+        // When
+        Game result = actors.makeMove(gameId, 0, 0, Player.X);
+
+        // Then
+        assertEquals("X________", result.getBoard());
+        verify(gameService).makeMoves(gameId, List.of(new MoveRequest(0, 0, Player.X)));
+    }
+
+    @Test
+    void shouldRethrowRejectionForThatMoveOnly() {
+        // Given
+        when(gameService.makeMoves(eq(gameId), anyList()))
+                .thenReturn(new MoveBatchResult(savedGame, Map.of(0, new InvalidMoveException("Cell is occupied"))));
+
+        // When & Then
+        InvalidMoveException ex = assertThrows(InvalidMoveException.class,
+                () -> actors.makeMove(gameId, 0, 0, Player.O));
+        assertTrue(ex.getMessage().contains("Cell is occupied"));
+    }
+
+    @Test
+    void shouldReplayBatchAfterOptimisticLockConflict() {
+        // Given
+        when(gameService.makeMoves(eq(gameId), anyList()))
+                .thenThrow(new OptimisticLockingFailureException("Lock failed"))
+                .thenReturn(new MoveBatchResult(savedGame, Map.of()));
+
+        // When
+        Game result = actors.makeMove(gameId, 0, 0, Player.X);
+
+        // Then
+        assertNotNull(result);
+        verify(gameService, times(2)).makeMoves(eq(gameId), anyList());
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        // Given
+        when(gameService.makeMoves(eq(gameId), anyList()))
+                .thenThrow(new OptimisticLockingFailureException("Lock failed"));
+
+        // When & Then
+        assertThrows(OptimisticLockingFailureException.class, () -> actors.makeMove(gameId, 0, 0, Player.X));
+        verify(gameService, times(3)).makeMoves(eq(gameId), anyList());
+    }
+
+    @Test
+    void shouldFailMoveWhenGameDoesNotExist() {
+        // Given
+        when(gameService.makeMoves(eq(gameId), anyList())).thenThrow(new GameNotFoundException("Game not found"));
+
+        // When & Then
+        assertThrows(GameNotFoundException.class, () -> actors.makeMove(gameId, 0, 0, Player.X));
+    }
+
+    @Test
+    void shouldPassivateIdleActors() {
+        // Given
+        when(gameService.makeMoves(eq(gameId), anyList())).thenReturn(new MoveBatchResult(savedGame, Map.of()));
+        actors.makeMove(gameId, 0, 0, Player.X);
+
+        // When
+        await(() -> {
+            actors.passivateIdleActors();
+            return actors.activeActors() == 0;
+        });
+
+        // Then
+        assertEquals(0, actors.activeActors());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
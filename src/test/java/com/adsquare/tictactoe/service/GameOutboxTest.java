@@ -0,0 +1,98 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.event.GameEvent;
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameSnapshot;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameOutboxTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private GameOutbox outbox;
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        outbox = new GameOutbox(jdbcTemplate, new ObjectMapper(), new SimpleMeterRegistry());
+        game = new Game();
+        game.setId(UUID.randomUUID());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldWriteTransactionAsOneBatchBeforeCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        game.setBoard("XX_OO____");
+        game.setNextPlayer(Player.X);
+        GameSnapshot beforeWin = GameSnapshot.of(game);
+        game.setBoard("XXXOO____");
+        game.setStatus(GameStatus.X_WON);
+        game.setVersion(5);
+
+        // When
+        outbox.onGameEvent(GameEvent.moveMade(GameStatus.IN_PROGRESS, beforeWin, Player.O, 4));
+        outbox.onGameEvent(GameEvent.moveMade(GameStatus.IN_PROGRESS, GameSnapshot.of(game), Player.X, 2));
+        verifyNoInteractions(jdbcTemplate);
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Then: two moves plus the finish, in one batch
+        verify(jdbcTemplate).batchUpdate(eq(GameOutbox.INSERT), argThat((List<?> rows) -> rows.size() == 3), eq(3),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    void shouldIgnoreEventsOutsideTheContract() {
+        // When
+        outbox.onGameEvent(GameEvent.reset(GameStatus.X_WON, game));
+        outbox.onGameEvent(GameEvent.seatTaken(game));
+
+        // Then
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void shouldRecordForfeitAsFinish() {
+        // Given
+        game.setStatus(GameStatus.O_WON_BY_FORFEIT);
+
+        // When
+        outbox.onGameEvent(GameEvent.forfeited(game));
+
+        // Then
+        verify(jdbcTemplate).batchUpdate(eq(GameOutbox.INSERT), argThat((List<?> rows) -> rows.size() == 1), eq(1),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+}
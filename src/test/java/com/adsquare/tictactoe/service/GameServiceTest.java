@@ -2,10 +2,13 @@ package com.adsquare.tictactoe.service;
 
 
 import com.adsquare.tictactoe.dto.CreateGameResponse;
+import com.adsquare.tictactoe.dto.MoveRequest;
+import com.adsquare.tictactoe.event.GameEvent;
 import com.adsquare.tictactoe.exception.GameFinishedException;
 import com.adsquare.tictactoe.exception.GameNotFoundException;
 import com.adsquare.tictactoe.exception.InvalidMoveException;
 import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameSnapshot;
 import com.adsquare.tictactoe.model.GameStatus;
 import com.adsquare.tictactoe.model.Player;
 import com.adsquare.tictactoe.repository.GameRepository;
@@ -14,22 +17,28 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,7 +47,15 @@ class GameServiceTest {
     @Mock
     private GameRepository repository;
 
-    @InjectMocks
+    @Mock
+    private ContentionTracker contentionTracker;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private JoinCodeAllocator joinCodes;
+
     private GameService gameService;
 
     private Game testGame;
@@ -46,6 +63,8 @@ class GameServiceTest {
 
     @BeforeEach
     void setUp() {
+        gameService = new GameService(repository, contentionTracker, eventPublisher, joinCodes,
+                TransactionOperations.withoutTransaction());
         testGameId = UUID.randomUUID();
         testGame = new Game();
         testGame.setId(testGameId);
@@ -72,6 +91,34 @@ class GameServiceTest {
             assertEquals(GameStatus.IN_PROGRESS, response.status());
             verify(repository).save(any(Game.class));
         }
+
+        @Test
+        void shouldAssignJoinCodeToNewGame() {
+            // Given
+            when(joinCodes.next()).thenReturn("7K3M9Q2X");
+            when(repository.save(any(Game.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            CreateGameResponse response = gameService.createNewGame();
+
+            // Then
+            assertEquals("7K3M9Q2X", response.joinCode());
+            verify(repository).save(argThat((Game game) -> "7K3M9Q2X".equals(game.getJoinCode())));
+        }
+
+        @Test
+        void shouldCreateGamesInOneBatch() {
+            // Given
+            when(repository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            List<Game> games = gameService.createNewGames(3);
+
+            // Then
+            assertEquals(3, games.size());
+            verify(repository).saveAll(anyList());
+            verify(eventPublisher, times(3)).publishEvent(any(GameEvent.class));
+        }
     }
 
     @Nested
@@ -124,6 +171,39 @@ class GameServiceTest {
         }
     }
 
+    @Nested
+    class SeatTests {
+
+        @Test
+        void shouldSeatPlayer() {
+            // Given
+            UUID playerId = UUID.randomUUID();
+            when(repository.findById(testGameId)).thenReturn(Optional.of(testGame));
+            when(repository.saveAndFlush(testGame)).thenReturn(testGame);
+
+            // When
+            Game result = gameService.takeSeat(testGameId, Player.O, playerId);
+
+            // Then
+            assertEquals(playerId, result.getOPlayerId());
+            assertNull(result.getXPlayerId());
+            verify(eventPublisher).publishEvent(argThat((GameEvent e) -> e.type() == GameEvent.Type.SEAT_TAKEN));
+        }
+
+        @Test
+        void shouldRejectTakenSeatOrBothSeatsForOnePlayer() {
+            // Given
+            UUID playerId = UUID.randomUUID();
+            testGame.setXPlayerId(playerId);
+            when(repository.findById(testGameId)).thenReturn(Optional.of(testGame));
+
+            // When & Then
+            assertThrows(InvalidMoveException.class, () -> gameService.takeSeat(testGameId, Player.X, UUID.randomUUID()));
+            assertThrows(InvalidMoveException.class, () -> gameService.takeSeat(testGameId, Player.O, playerId));
+            verify(repository, never()).saveAndFlush(any());
+        }
+    }
+
     @Nested
     class GameResetAndDeleteTests {
 
@@ -144,6 +224,8 @@ class GameServiceTest {
             assertEquals(GameStatus.IN_PROGRESS, result.getStatus());
             assertEquals(Player.X, result.getNextPlayer());
             verify(repository).saveAndFlush(testGame);
+            verify(eventPublisher).publishEvent(new GameEvent(GameEvent.Type.RESET, GameSnapshot.of(testGame),
+                    GameStatus.X_WON, null, -1));
         }
 
         @Test
@@ -158,25 +240,27 @@ class GameServiceTest {
         @Test
         void shouldDeleteGameSuccessfully() {
             // Given
-            when(repository.existsById(testGameId)).thenReturn(true);
+            when(repository.findById(testGameId)).thenReturn(Optional.of(testGame));
 
             // When
             gameService.deleteGame(testGameId);
 
             // Then
-            verify(repository).existsById(testGameId);
-            verify(repository).deleteById(testGameId);
+            verify(repository).findById(testGameId);
+            verify(repository).delete(testGame);
+            verify(eventPublisher).publishEvent(any(GameEvent.class));
         }
 
         @Test
         void shouldThrowExceptionWhenDeletingNonExistentGame() {
             // Given
-            when(repository.existsById(testGameId)).thenReturn(false);
+            when(repository.findById(testGameId)).thenReturn(Optional.empty());
 
             // When & Then
             assertThrows(GameNotFoundException.class, () -> gameService.deleteGame(testGameId));
-            verify(repository).existsById(testGameId);
-            verify(repository, never()).deleteById(any());
+            verify(repository).findById(testGameId);
+            verify(repository, never()).delete(any());
+            verifyNoInteractions(eventPublisher);
         }
     }
 
@@ -198,9 +282,30 @@ class GameServiceTest {
             verify(repository).saveAndFlush(any(Game.class));
         }
 
+        @Test
+        void shouldPublishMoveEventOnlyAfterSuccessfulWrite() {
+            // Given
+            when(contentionTracker.maxAttempts(testGameId)).thenReturn(3);
+            when(repository.findById(testGameId)).thenReturn(Optional.of(testGame));
+            when(repository.saveAndFlush(any(Game.class)))
+                    .thenThrow(new OptimisticLockingFailureException("Lock failed"))
+                    .thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            gameService.makeMove(testGameId, 1, 2, Player.X);
+
+            // Then
+            verify(eventPublisher, times(1)).publishEvent(argThat((Object event) -> event instanceof GameEvent e
+                    && e.type() == GameEvent.Type.MOVE_MADE
+                    && e.player() == Player.X
+                    && e.cell() == 5
+                    && e.previousStatus() == GameStatus.IN_PROGRESS));
+        }
+
         @Test
         void shouldRetryOnOptimisticLockExceptionAndSucceed() {
             // Given
+            when(contentionTracker.maxAttempts(testGameId)).thenReturn(3);
             when(repository.findById(testGameId)).thenReturn(Optional.of(testGame));
             when(repository.saveAndFlush(any(Game.class)))
                     .thenThrow(new OptimisticLockingFailureException("Lock failed"))
@@ -218,6 +323,7 @@ class GameServiceTest {
         @Test
         void shouldFailAfterMaxRetryAttemptsOnOptimisticLock() {
             // Given
+            when(contentionTracker.maxAttempts(testGameId)).thenReturn(3);
             when(repository.findById(testGameId)).thenReturn(Optional.of(testGame));
             when(repository.saveAndFlush(any(Game.class)))
                     .thenThrow(new OptimisticLockingFailureException("Lock failed"));
@@ -228,6 +334,39 @@ class GameServiceTest {
             verify(repository, times(3)).saveAndFlush(any(Game.class));
         }
 
+        @Test
+        void shouldRecordConflictsWithContentionTracker() {
+            // Given
+            when(contentionTracker.maxAttempts(testGameId)).thenReturn(3);
+            when(repository.findById(testGameId)).thenReturn(Optional.of(testGame));
+            when(repository.saveAndFlush(any(Game.class)))
+                    .thenThrow(new OptimisticLockingFailureException("Lock failed"))
+                    .thenReturn(testGame);
+
+            // When
+            gameService.makeMove(testGameId, 0, 0, Player.X);
+
+            // Then
+            verify(contentionTracker, times(1)).recordConflict(testGameId);
+        }
+
+        @Test
+        void shouldLockRowWhenGameIsContended() {
+            // Given
+            when(contentionTracker.shouldLockPessimistically(testGameId)).thenReturn(true);
+            when(repository.findByIdForUpdate(testGameId)).thenReturn(Optional.of(testGame));
+            when(repository.saveAndFlush(any(Game.class))).thenReturn(testGame);
+
+            // When
+            Game result = gameService.makeMove(testGameId, 0, 0, Player.X);
+
+            // Then
+            assertNotNull(result);
+            verify(repository).findByIdForUpdate(testGameId);
+            verify(repository, never()).findById(testGameId);
+            verify(contentionTracker).recordLockWait(eq(testGameId), anyLong());
+        }
+
         @Test
         @DisplayName("Should handle ObjectOptimisticLockingFailureException")
         void shouldHandleObjectOptimisticLockingFailureException() {
@@ -242,6 +381,107 @@ class GameServiceTest {
         }
     }
 
+    @Nested
+    class MoveTimeLimitTests {
+
+        @Test
+        void shouldRestartMoveClockAfterEachMove() {
+            // Given
+            testGame.setMoveTimeLimitSeconds(30);
+            testGame.setMoveDeadline(Instant.now().plusSeconds(5));
+            when(repository.findById(testGameId)).thenReturn(Optional.of(testGame));
+            when(repository.saveAndFlush(any(Game.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            Game result = gameService.makeMove(testGameId, 0, 0, Player.X);
+
+            // Then
+            assertTrue(result.getMoveDeadline().isAfter(Instant.now().plusSeconds(25)));
+        }
+
+        @Test
+        void shouldClearDeadlineWhenGameEnds() {
+            // Given
+            testGame.setBoard("XX_OO____");
+            testGame.setMoveTimeLimitSeconds(30);
+            testGame.setMoveDeadline(Instant.now().plusSeconds(30));
+            when(repository.findById(testGameId)).thenReturn(Optional.of(testGame));
+            when(repository.saveAndFlush(any(Game.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            Game result = gameService.makeMove(testGameId, 0, 2, Player.X);
+
+            // Then
+            assertEquals(GameStatus.X_WON, result.getStatus());
+            assertNull(result.getMoveDeadline());
+        }
+
+        @Test
+        void shouldRefuseMoveAfterDeadline() {
+            // Given
+            testGame.setMoveTimeLimitSeconds(30);
+            testGame.setMoveDeadline(Instant.now().minusSeconds(1));
+            when(repository.findById(testGameId)).thenReturn(Optional.of(testGame));
+
+            // When & Then
+            assertThrows(GameFinishedException.class, () -> gameService.makeMove(testGameId, 0, 0, Player.X));
+            verify(repository, never()).saveAndFlush(any(Game.class));
+        }
+    }
+
+    @Nested
+    class MoveBatchTests {
+
+        @Test
+        void shouldPersistAllAcceptedMovesInOneWrite() {
+            // Given
+            when(repository.findById(testGameId)).thenReturn(Optional.of(testGame));
+            when(repository.saveAndFlush(any(Game.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            MoveBatchResult result = gameService.makeMoves(testGameId, List.of(
+                    new MoveRequest(0, 0, Player.X),
+                    new MoveRequest(1, 1, Player.O)));
+
+            // Then
+            assertEquals("X___O____", result.game().getBoard());
+            assertTrue(result.rejected().isEmpty());
+            verify(repository, times(1)).saveAndFlush(any(Game.class));
+        }
+
+        @Test
+        void shouldRejectOnlyTheInvalidMovesOfABatch() {
+            // Given
+            when(repository.findById(testGameId)).thenReturn(Optional.of(testGame));
+            when(repository.saveAndFlush(any(Game.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            MoveBatchResult result = gameService.makeMoves(testGameId, List.of(
+                    new MoveRequest(0, 0, Player.X),
+                    new MoveRequest(0, 0, Player.O),
+                    new MoveRequest(2, 2, Player.O)));
+
+            // Then
+            assertEquals("X_______O", result.game().getBoard());
+            assertNull(result.rejectionFor(0));
+            assertInstanceOf(InvalidMoveException.class, result.rejectionFor(1));
+            assertNull(result.rejectionFor(2));
+        }
+
+        @Test
+        void shouldNotWriteWhenEveryMoveIsRejected() {
+            // Given
+            when(repository.findById(testGameId)).thenReturn(Optional.of(testGame));
+
+            // When
+            MoveBatchResult result = gameService.makeMoves(testGameId, List.of(new MoveRequest(0, 0, Player.O)));
+
+            // Then
+            assertSame(testGame, result.game());
+            verify(repository, never()).saveAndFlush(any(Game.class));
+        }
+    }
+
     @Nested
     class InMemoryMoveLogicTests {
 
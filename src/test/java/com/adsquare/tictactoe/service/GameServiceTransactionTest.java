@@ -0,0 +1,75 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.loadtest.EmbeddedApp;
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.Player;
+import com.adsquare.tictactoe.repository.GameRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// makeMove against a real transaction manager and H2, where a retry has to start a fresh transaction to succeed
+class GameServiceTransactionTest {
+
+    private static ConfigurableApplicationContext app;
+
+    @BeforeAll
+    static void start() {
+        app = EmbeddedApp.start(WebApplicationType.NONE);
+    }
+
+    @AfterAll
+    static void stop() {
+        app.close();
+    }
+
+    @Test
+    void shouldRetryConflictingMoveInFreshTransaction() {
+        // Given
+        GameRepository repository = app.getBean(GameRepository.class);
+        JdbcTemplate jdbc = app.getBean(JdbcTemplate.class);
+        TransactionTemplate otherNode = new TransactionTemplate(app.getBean(PlatformTransactionManager.class));
+        otherNode.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        AtomicInteger writes = new AtomicInteger();
+        // the first write finds that another writer committed between this attempt's read and its write
+        GameRepository conflicting = (GameRepository) Proxy.newProxyInstance(GameRepository.class.getClassLoader(),
+                new Class<?>[]{GameRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("saveAndFlush") && writes.getAndIncrement() == 0) {
+                        UUID id = ((Game) args[0]).getId();
+                        otherNode.executeWithoutResult(status ->
+                                jdbc.update("update game set version = version + 1 where id = ?", id));
+                    }
+                    try {
+                        return method.invoke(repository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        GameService gameService = new GameService(conflicting, app.getBean(ContentionTracker.class), app,
+                app.getBean(JoinCodeAllocator.class), app.getBean(TransactionOperations.class));
+        UUID id = gameService.createNewGame().gameId();
+
+        // When
+        Game result = gameService.makeMove(id, 1, 1, Player.X);
+
+        // Then
+        assertEquals(2, writes.get());
+        assertEquals("____X____", result.getBoard());
+        assertEquals(Player.O, result.getNextPlayer());
+        assertEquals(2, repository.findById(id).orElseThrow().getVersion());
+    }
+}
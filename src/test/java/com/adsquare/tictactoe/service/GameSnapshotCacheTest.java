@@ -0,0 +1,121 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.GameCacheProperties;
+import com.adsquare.tictactoe.event.GameEvent;
+import com.adsquare.tictactoe.exception.GameNotFoundException;
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameSnapshot;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+import com.adsquare.tictactoe.repository.GameRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameSnapshotCacheTest {
+
+    @Mock
+    private GameRepository repository;
+
+    private SimpleMeterRegistry registry;
+    private GameSnapshotCache cache;
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cache = new GameSnapshotCache(repository, new GameCacheProperties(100, Duration.ofMinutes(5)), registry);
+        game = new Game();
+        game.setId(UUID.randomUUID());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.destroy();
+    }
+
+    @Test
+    void shouldCoalesceConcurrentMissesIntoOneLoad() throws Exception {
+        // Given
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findById(game.getId())).thenAnswer(invocation -> {
+            loadStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(game);
+        });
+
+        // When
+        List<CompletableFuture<GameSnapshot>> readers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            readers.add(CompletableFuture.supplyAsync(() -> cache.get(game.getId()), executor));
+            assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                readers.add(CompletableFuture.supplyAsync(() -> cache.get(game.getId()), executor));
+            }
+            release.countDown();
+            readers.forEach(CompletableFuture::join);
+        }
+
+        // Then
+        readers.forEach(reader -> assertEquals(game.getId(), reader.join().id()));
+        verify(repository, times(1)).findById(game.getId());
+    }
+
+    @Test
+    void shouldServeHitsUntilNewerVersionCommits() {
+        // Given
+        when(repository.findById(game.getId())).thenReturn(Optional.of(game));
+        cache.get(game.getId());
+
+        // When
+        cache.onGameEvent(GameEvent.created(game));
+        cache.get(game.getId());
+        game.setBoard("X________");
+        game.setNextPlayer(Player.O);
+        game.setVersion(1);
+        cache.onGameEvent(GameEvent.moveMade(GameStatus.IN_PROGRESS, GameSnapshot.of(game), Player.X, 0));
+        GameSnapshot afterMove = cache.get(game.getId());
+        cache.get(game.getId());
+
+        // Then
+        assertEquals("X________", afterMove.board());
+        verify(repository, times(2)).findById(game.getId());
+        assertEquals(2, registry.get("cache.gets").tag("cache", "games").tag("result", "hit").functionCounter().count());
+        assertEquals(2, registry.get("tictactoe.game-cache.load").timer().count());
+    }
+
+    @Test
+    void shouldEvictOnDeleteAndNotCacheMisses() {
+        // Given
+        when(repository.findById(game.getId())).thenReturn(Optional.of(game)).thenReturn(Optional.empty());
+        cache.get(game.getId());
+
+        // When
+        cache.onGameEvent(GameEvent.deleted(game));
+
+        // Then
+        assertThrows(GameNotFoundException.class, () -> cache.get(game.getId()));
+        assertThrows(GameNotFoundException.class, () -> cache.get(game.getId()));
+        verify(repository, times(3)).findById(game.getId());
+    }
+}
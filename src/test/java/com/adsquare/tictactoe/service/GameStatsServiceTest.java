@@ -0,0 +1,110 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.dto.GameStatsResponse;
+import com.adsquare.tictactoe.event.GameEvent;
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameSnapshot;
+import com.adsquare.tictactoe.model.GameStatCounter;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+import com.adsquare.tictactoe.repository.GameRepository;
+import com.adsquare.tictactoe.repository.GameStatCounterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameStatsServiceTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private GameStatCounterRepository counterRepository;
+
+    private GameStatsService statsService;
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        statsService = new GameStatsService(gameRepository, counterRepository, TransactionOperations.withoutTransaction());
+        game = new Game();
+        game.setId(UUID.randomUUID());
+    }
+
+    private GameSnapshot finished(GameStatus status) {
+        return new GameSnapshot(game.getId(), "XXXOO____", Player.X, status, 5, null, null, null, null);
+    }
+
+    @Test
+    void countsLifecycleTransitions() {
+        statsService.onGameEvent(GameEvent.created(game));
+        statsService.onGameEvent(GameEvent.moveMade(GameStatus.IN_PROGRESS, GameSnapshot.of(game), Player.X, 0));
+        statsService.onGameEvent(GameEvent.moveMade(GameStatus.IN_PROGRESS, finished(GameStatus.X_WON), Player.X, 2));
+
+        GameStatsResponse stats = statsService.stats();
+
+        assertEquals(0, stats.games().get(GameStatus.IN_PROGRESS));
+        assertEquals(1, stats.games().get(GameStatus.X_WON));
+        assertEquals(1, stats.totalGames());
+        assertEquals(2, stats.totalMoves());
+    }
+
+    @Test
+    void resetMovesGameBackToInProgressAndDeleteRemovesIt() {
+        statsService.onGameEvent(GameEvent.created(game));
+        statsService.onGameEvent(GameEvent.moveMade(GameStatus.IN_PROGRESS, finished(GameStatus.DRAW), Player.X, 8));
+        statsService.onGameEvent(GameEvent.reset(GameStatus.DRAW, game));
+
+        assertEquals(1, statsService.stats().games().get(GameStatus.IN_PROGRESS));
+        assertEquals(0, statsService.stats().games().get(GameStatus.DRAW));
+
+        statsService.onGameEvent(GameEvent.deleted(game));
+        assertEquals(0, statsService.stats().totalGames());
+    }
+
+    @Test
+    void reconcileAddsDeltasToPersistedRows() {
+        statsService.onGameEvent(GameEvent.created(game));
+        when(counterRepository.increment(anyString(), anyLong())).thenReturn(1);
+        when(counterRepository.findAll()).thenReturn(List.of(
+                new GameStatCounter(GameStatus.IN_PROGRESS.name(), 42),
+                new GameStatCounter(GameStatsService.MOVES, 100)));
+
+        statsService.reconcile();
+
+        verify(counterRepository).increment(GameStatus.IN_PROGRESS.name(), 1);
+        GameStatsResponse stats = statsService.stats();
+        assertEquals(42, stats.games().get(GameStatus.IN_PROGRESS));
+        assertEquals(100, stats.totalMoves());
+    }
+
+    @Test
+    void seedsCountersFromGameTableOnlyWhenEmpty() {
+        GameRepository.StatusCount inProgress = mock(GameRepository.StatusCount.class);
+        when(inProgress.getStatus()).thenReturn(GameStatus.IN_PROGRESS);
+        when(inProgress.getTotal()).thenReturn(7L);
+        when(counterRepository.count()).thenReturn(0L);
+        when(gameRepository.countByStatus()).thenReturn(List.of(inProgress));
+        when(gameRepository.countPlacedMarks()).thenReturn(23L);
+
+        statsService.afterSingletonsInstantiated();
+
+        verify(counterRepository).save(argThat(counter ->
+                counter.getName().equals(GameStatus.IN_PROGRESS.name()) && counter.getTotal() == 7));
+        verify(counterRepository).save(argThat(counter ->
+                counter.getName().equals(GameStatsService.MOVES) && counter.getTotal() == 23));
+    }
+}
@@ -0,0 +1,103 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.dto.GameAnalysisResponse;
+import com.adsquare.tictactoe.dto.MoveAnalysis;
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameTreeAnalyzerTest {
+
+    private static GameTreeAnalyzer analyzer;
+
+    @BeforeAll
+    static void setUp() {
+        analyzer = new GameTreeAnalyzer();
+    }
+
+    @Test
+    void emptyBoardShouldBeDrawnWithTheFullTreeCounted() {
+        // When
+        GameAnalysisResponse analysis = analyzer.analyse(game("_________", Player.X, GameStatus.IN_PROGRESS));
+
+        // Then
+        assertEquals(9, analysis.moves().size());
+        assertTrue(analysis.moves().stream().allMatch(m -> m.value() == MoveAnalysis.Outcome.DRAW));
+        assertEquals(131_184, analysis.moves().stream().mapToLong(MoveAnalysis::winningContinuations).sum());
+        assertEquals(46_080, analysis.moves().stream().mapToLong(MoveAnalysis::drawingContinuations).sum());
+        assertEquals(77_904, analysis.moves().stream().mapToLong(MoveAnalysis::losingContinuations).sum());
+        assertTrue(analyzer.cachedPositions() < 1_000);
+    }
+
+    @Test
+    void shouldFindImmediateWinAndForcedLosses() {
+        // When
+        GameAnalysisResponse analysis = analyzer.analyse(game("XX_OO____", Player.X, GameStatus.IN_PROGRESS));
+
+        // Then
+        MoveAnalysis win = move(analysis, 0, 2);
+        assertEquals(MoveAnalysis.Outcome.WIN, win.value());
+        assertEquals(1, win.pliesToResult());
+        assertEquals(1, win.winningContinuations());
+
+        MoveAnalysis elsewhere = move(analysis, 2, 2);
+        assertEquals(MoveAnalysis.Outcome.LOSS, elsewhere.value());
+        assertEquals(2, elsewhere.pliesToResult());
+    }
+
+    @Test
+    void symmetricPositionsShouldGetMatchingAnalysis() {
+        // Given - the second board is the first turned a quarter clockwise
+        GameAnalysisResponse first = analyzer.analyse(game("X___O____", Player.X, GameStatus.IN_PROGRESS));
+        GameAnalysisResponse rotated = analyzer.analyse(game("__X_O____", Player.X, GameStatus.IN_PROGRESS));
+
+        // When & Then
+        assertEquals(move(first, 0, 1), withCell(move(rotated, 1, 2), 0, 1));
+        assertEquals(move(first, 2, 2), withCell(move(rotated, 2, 0), 2, 2));
+    }
+
+    @Test
+    void outcomeShouldBeSeenFromThePlayerMakingTheMove() {
+        // When & Then
+        assertEquals(MoveAnalysis.Outcome.WIN, GameTreeAnalyzer.outcome("XX_OO____", 2, Player.X));
+        assertEquals(MoveAnalysis.Outcome.LOSS, GameTreeAnalyzer.outcome("XX_OO____", 8, Player.X));
+        assertEquals(MoveAnalysis.Outcome.WIN, GameTreeAnalyzer.outcome("XX_OO____", 5, Player.O));
+        assertEquals(MoveAnalysis.Outcome.DRAW, GameTreeAnalyzer.outcome("_________", 4, Player.X));
+    }
+
+    @Test
+    void finishedGameShouldHaveNoMoves() {
+        // When
+        GameAnalysisResponse analysis = analyzer.analyse(game("XXXOO____", Player.X, GameStatus.X_WON));
+
+        // Then
+        assertTrue(analysis.moves().isEmpty());
+    }
+
+    private static MoveAnalysis move(GameAnalysisResponse analysis, int row, int col) {
+        return analysis.moves().stream()
+                .filter(m -> m.row() == row && m.col() == col)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static MoveAnalysis withCell(MoveAnalysis move, int row, int col) {
+        return new MoveAnalysis(row, col, move.value(), move.pliesToResult(),
+                move.winningContinuations(), move.drawingContinuations(), move.losingContinuations());
+    }
+
+    private static Game game(String board, Player next, GameStatus status) {
+        Game game = new Game();
+        game.setId(UUID.randomUUID());
+        game.setBoard(board);
+        game.setNextPlayer(next);
+        game.setStatus(status);
+        return game;
+    }
+}
@@ -0,0 +1,140 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.IdempotencyProperties;
+import com.adsquare.tictactoe.dto.GameResponse;
+import com.adsquare.tictactoe.exception.IdempotencyKeyReusedException;
+import com.adsquare.tictactoe.exception.IdempotencyRequestInProgressException;
+import com.adsquare.tictactoe.exception.InvalidMoveException;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.IdempotencyRecord;
+import com.adsquare.tictactoe.model.Player;
+import com.adsquare.tictactoe.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRecordRepository recordRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger executions = new AtomicInteger();
+    private GameResponse response;
+
+    @BeforeEach
+    void setUp() {
+        response = new GameResponse(UUID.randomUUID(), 1, "X________", Player.O, GameStatus.IN_PROGRESS, null, null, null, null);
+    }
+
+    private IdempotencyService service(boolean persistent) {
+        return new IdempotencyService(new IdempotencyProperties(Duration.ofMinutes(10), 1000, persistent),
+                recordRepository, objectMapper);
+    }
+
+    private GameResponse move() {
+        executions.incrementAndGet();
+        return response;
+    }
+
+    @Test
+    void shouldExecuteOnceAndReplayDuplicates() {
+        IdempotencyService service = service(false);
+
+        GameResponse first = service.execute("k1", "move", "0:0:X", GameResponse.class, this::move);
+        GameResponse second = service.execute("k1", "move", "0:0:X", GameResponse.class, this::move);
+
+        assertSame(first, second);
+        assertEquals(1, executions.get());
+        verifyNoInteractions(recordRepository);
+    }
+
+    @Test
+    void shouldRejectKeyReusedForDifferentRequest() {
+        IdempotencyService service = service(false);
+        service.execute("k1", "move", "0:0:X", GameResponse.class, this::move);
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> service.execute("k1", "move", "1:1:X", GameResponse.class, this::move));
+    }
+
+    @Test
+    void shouldNotRememberFailedAttempts() {
+        IdempotencyService service = service(false);
+
+        assertThrows(InvalidMoveException.class, () -> service.execute("k1", "move", "0:0:X", GameResponse.class, () -> {
+            throw new InvalidMoveException("Cell is occupied");
+        }));
+        GameResponse retried = service.execute("k1", "move", "0:0:X", GameResponse.class, this::move);
+
+        assertSame(response, retried);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void shouldReplayPersistedResponseAfterRestart() throws Exception {
+        IdempotencyService service = service(true);
+        String json = objectMapper.writeValueAsString(response);
+        when(recordRepository.findById("move:k1"))
+                .thenReturn(Optional.of(new IdempotencyRecord("move:k1", "0:0:X", json, Instant.now())));
+
+        GameResponse replayed = service.execute("k1", "move", "0:0:X", GameResponse.class, this::move);
+
+        assertEquals(response, replayed);
+        assertEquals(0, executions.get());
+        verify(recordRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldClaimTheKeyBeforeExecutingAndPersistTheResponse() {
+        IdempotencyService service = service(true);
+        when(recordRepository.claim(eq("move:k1"), eq("0:0:X"), any())).thenReturn(1);
+
+        service.execute("k1", "move", "0:0:X", GameResponse.class, this::move);
+
+        InOrder order = inOrder(recordRepository);
+        order.verify(recordRepository).claim(eq("move:k1"), eq("0:0:X"), any());
+        order.verify(recordRepository).save(any(IdempotencyRecord.class));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void shouldRejectDuplicateWhileAnotherNodeHoldsTheClaim() {
+        IdempotencyService service = service(true);
+        when(recordRepository.findById("move:k1"))
+                .thenReturn(Optional.of(new IdempotencyRecord("move:k1", "0:0:X", "", Instant.now())));
+
+        assertThrows(IdempotencyRequestInProgressException.class,
+                () -> service.execute("k1", "move", "0:0:X", GameResponse.class, this::move));
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void shouldReleaseTheClaimWhenTheRequestFails() {
+        IdempotencyService service = service(true);
+        when(recordRepository.claim(eq("move:k1"), eq("0:0:X"), any())).thenReturn(1);
+
+        assertThrows(InvalidMoveException.class, () -> service.execute("k1", "move", "0:0:X", GameResponse.class, () -> {
+            throw new InvalidMoveException("Cell is occupied");
+        }));
+
+        verify(recordRepository).deleteById("move:k1");
+        verify(recordRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,107 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.JoinCodeProperties;
+import com.adsquare.tictactoe.event.GameEvent;
+import com.adsquare.tictactoe.exception.GameNotFoundException;
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.repository.GameRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JoinCodeServiceTest {
+
+    private static final String CODE = "7K3M9Q2X";
+
+    @Mock
+    private GameRepository repository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private JoinCodeService joinCodeService;
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        joinCodeService = new JoinCodeService(repository, new JoinCodeProperties(100));
+        game = new Game();
+        game.setId(UUID.randomUUID());
+        game.setJoinCode(CODE);
+    }
+
+    @Test
+    void shouldProbeIndexOnceThenServeIdFromNearCache() {
+        // Given
+        when(repository.findByJoinCode(CODE)).thenReturn(Optional.of(game));
+        when(repository.findById(game.getId())).thenReturn(Optional.of(game));
+
+        // When
+        joinCodeService.findByCode(CODE);
+        Game second = joinCodeService.findByCode("7k3m9q2x");
+
+        // Then
+        assertEquals(game.getId(), second.getId());
+        verify(repository, times(1)).findByJoinCode(CODE);
+        verify(repository, times(1)).findById(game.getId());
+    }
+
+    @Test
+    void shouldCacheGamesAsTheyAreCreated() {
+        // Given
+        when(repository.findById(game.getId())).thenReturn(Optional.of(game));
+        joinCodeService.onGameEvent(GameEvent.created(game));
+
+        // When
+        joinCodeService.findByCode(CODE);
+
+        // Then
+        verify(repository, never()).findByJoinCode(anyString());
+    }
+
+    @Test
+    void shouldForgetDeletedGames() {
+        // Given
+        joinCodeService.onGameEvent(GameEvent.created(game));
+        joinCodeService.onGameEvent(GameEvent.deleted(game));
+        when(repository.findByJoinCode(CODE)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(GameNotFoundException.class, () -> joinCodeService.findByCode(CODE));
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void shouldRejectMalformedCodesWithoutQuerying() {
+        // When & Then
+        assertThrows(GameNotFoundException.class, () -> joinCodeService.findByCode("not-a-code"));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldReserveOneSequenceValuePerBlock() {
+        // Given
+        JoinCodeAllocator allocator = new JoinCodeAllocator(jdbcTemplate);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L, 2L);
+
+        // When
+        for (int i = 0; i <= JoinCodeAllocator.BLOCK_SIZE; i++) {
+            allocator.next();
+        }
+
+        // Then
+        verify(jdbcTemplate, times(2)).queryForObject(anyString(), eq(Long.class));
+    }
+}
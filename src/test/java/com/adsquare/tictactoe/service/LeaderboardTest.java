@@ -0,0 +1,80 @@
+package com.adsquare.tictactoe.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+
+    private final Leaderboard leaderboard = new Leaderboard(4000);
+
+    @Test
+    void shouldRankByRatingWithSharedRanksForTies() {
+        // Given
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        UUID carol = UUID.randomUUID();
+        UUID dave = UUID.randomUUID();
+        leaderboard.put(alice, 1500);
+        leaderboard.put(bob, 1300);
+        leaderboard.put(carol, 1300);
+        leaderboard.put(dave, 1100);
+
+        // When
+        List<Leaderboard.Ranked> top = leaderboard.top(10);
+
+        // Then
+        assertEquals(List.of(1L, 2L, 2L, 4L), top.stream().map(Leaderboard.Ranked::rank).toList());
+        assertEquals(alice, top.get(0).playerId());
+        assertEquals(1, leaderboard.rank(alice).orElseThrow());
+        assertEquals(2, leaderboard.rank(carol).orElseThrow());
+        assertEquals(4, leaderboard.rank(dave).orElseThrow());
+    }
+
+    @Test
+    void shouldMovePlayerWhenRatingChanges() {
+        // Given
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        leaderboard.put(alice, 1500);
+        leaderboard.put(bob, 1200);
+
+        // When
+        leaderboard.put(bob, 1600);
+
+        // Then
+        assertEquals(1, leaderboard.rank(bob).orElseThrow());
+        assertEquals(2, leaderboard.rank(alice).orElseThrow());
+        assertEquals(2, leaderboard.size());
+        assertEquals(List.of(bob, alice), leaderboard.top(2).stream().map(Leaderboard.Ranked::playerId).toList());
+    }
+
+    @Test
+    void shouldClampRatingsToTheConfiguredRange() {
+        // Given
+        UUID player = UUID.randomUUID();
+
+        // When
+        leaderboard.put(player, 5000);
+
+        // Then
+        assertEquals(4000, leaderboard.rating(player).orElseThrow());
+        assertEquals(0, leaderboard.clamp(-20));
+    }
+
+    @Test
+    void shouldLimitTopAndIgnoreUnknownPlayers() {
+        // Given
+        for (int i = 0; i < 50; i++) {
+            leaderboard.put(UUID.randomUUID(), 1000 + i);
+        }
+
+        // When & Then
+        assertEquals(5, leaderboard.top(5).size());
+        assertEquals(1049, leaderboard.top(1).get(0).rating());
+        assertTrue(leaderboard.rank(UUID.randomUUID()).isEmpty());
+    }
+}
@@ -0,0 +1,201 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.MatchmakingProperties;
+import com.adsquare.tictactoe.dto.MatchTicketResponse;
+import com.adsquare.tictactoe.dto.MatchTicketResponse.Status;
+import com.adsquare.tictactoe.exception.TicketAlreadyMatchingException;
+import com.adsquare.tictactoe.model.Game;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MatchmakingServiceTest {
+
+    @Mock
+    private GameService gameService;
+
+    private MatchmakingService matchmaking;
+
+    @BeforeEach
+    void setUp() {
+        // the matcher thread is not started; tests drive matchOnce() directly
+        matchmaking = new MatchmakingService(gameService,
+                new MatchmakingProperties(256, 2, Duration.ofMinutes(10), Duration.ofMinutes(5), Duration.ofSeconds(30)),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldPairTwoWaitingPlayersIntoOneGame() {
+        // Given
+        Game game = gameWithId();
+        when(gameService.createNewGames(1)).thenReturn(List.of(game));
+        MatchTicketResponse first = matchmaking.enqueue(null);
+        MatchTicketResponse second = matchmaking.enqueue(null);
+
+        // When
+        int created = matchmaking.matchOnce();
+
+        // Then
+        assertEquals(1, created);
+        MatchTicketResponse a = matchmaking.awaitMatch(first.ticketId()).orElseThrow().join();
+        MatchTicketResponse b = matchmaking.awaitMatch(second.ticketId()).orElseThrow().join();
+        assertEquals(Status.MATCHED, a.status());
+        assertEquals(game.getId(), a.gameId());
+        assertEquals(game.getId(), b.gameId());
+        assertNotEquals(a.seat(), b.seat());
+    }
+
+    @Test
+    void shouldCreateAllGamesOfAPassInOneBatch() {
+        // Given
+        when(gameService.createNewGames(anyInt())).thenAnswer(invocation -> games(invocation.getArgument(0)));
+        for (int i = 0; i < 7; i++) {
+            matchmaking.enqueue("open");
+        }
+
+        // When
+        int created = matchmaking.matchOnce();
+
+        // Then
+        assertEquals(3, created);
+        verify(gameService, times(1)).createNewGames(3);
+    }
+
+    @Test
+    void shouldOnlyPairWithinTheSameBracket() {
+        // When
+        matchmaking.enqueue("beginners");
+        matchmaking.enqueue("experts");
+        int created = matchmaking.matchOnce();
+
+        // Then
+        assertEquals(0, created);
+        verifyNoInteractions(gameService);
+    }
+
+    @Test
+    void shouldSkipCancelledTickets() {
+        // Given
+        when(gameService.createNewGames(1)).thenReturn(List.of(gameWithId()));
+        MatchTicketResponse cancelled = matchmaking.enqueue(null);
+        MatchTicketResponse second = matchmaking.enqueue(null);
+        MatchTicketResponse third = matchmaking.enqueue(null);
+        assertEquals(Status.CANCELLED, matchmaking.cancel(cancelled.ticketId()).orElseThrow().status());
+
+        // When
+        matchmaking.matchOnce();
+
+        // Then
+        assertEquals(Status.MATCHED, matchmaking.status(second.ticketId()).orElseThrow().status());
+        assertEquals(Status.MATCHED, matchmaking.status(third.ticketId()).orElseThrow().status());
+        assertEquals(Status.CANCELLED, matchmaking.status(cancelled.ticketId()).orElseThrow().status());
+    }
+
+    @Test
+    void shouldRejectCancellingATicketTheMatcherHasClaimed() {
+        // Given
+        MatchTicketResponse first = matchmaking.enqueue(null);
+        matchmaking.enqueue(null);
+        AtomicReference<Throwable> cancelDuringMatch = new AtomicReference<>();
+        when(gameService.createNewGames(1)).thenAnswer(invocation -> {
+            cancelDuringMatch.set(assertThrows(TicketAlreadyMatchingException.class,
+                    () -> matchmaking.cancel(first.ticketId())));
+            return List.of(gameWithId());
+        });
+
+        // When
+        matchmaking.matchOnce();
+
+        // Then
+        assertNotNull(cancelDuringMatch.get());
+        assertEquals(Status.MATCHED, matchmaking.status(first.ticketId()).orElseThrow().status());
+        assertEquals(Status.MATCHED, matchmaking.cancel(first.ticketId()).orElseThrow().status());
+    }
+
+    @Test
+    void shouldShareACappedBatchAcrossBracketsInTurn() {
+        // Given
+        matchmaking = new MatchmakingService(gameService,
+                new MatchmakingProperties(1, 2, Duration.ofMinutes(10), Duration.ofMinutes(5), Duration.ofSeconds(30)),
+                new SimpleMeterRegistry());
+        when(gameService.createNewGames(1)).thenAnswer(invocation -> List.of(gameWithId()));
+        List<MatchTicketResponse> busy = new ArrayList<>();
+        List<MatchTicketResponse> quiet = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            busy.add(matchmaking.enqueue("busy"));
+        }
+        quiet.add(matchmaking.enqueue("quiet"));
+        quiet.add(matchmaking.enqueue("quiet"));
+
+        // When
+        matchmaking.matchOnce();
+        matchmaking.matchOnce();
+
+        // Then
+        assertTrue(quiet.stream().allMatch(t -> matchmaking.status(t.ticketId()).orElseThrow().status() == Status.MATCHED));
+        assertEquals(2, busy.stream().filter(t -> matchmaking.status(t.ticketId()).orElseThrow().status() == Status.MATCHED).count());
+    }
+
+    @Test
+    void shouldKeepTicketsWaitingWhenGameCreationFails() {
+        // Given
+        when(gameService.createNewGames(1))
+                .thenThrow(new DataAccessResourceFailureException("Database down"))
+                .thenReturn(List.of(gameWithId()));
+        MatchTicketResponse first = matchmaking.enqueue(null);
+        matchmaking.enqueue(null);
+
+        // When
+        assertThrows(DataAccessResourceFailureException.class, () -> matchmaking.matchOnce());
+
+        // Then
+        assertEquals(Status.WAITING, matchmaking.status(first.ticketId()).orElseThrow().status());
+        assertEquals(1, matchmaking.matchOnce());
+        assertEquals(Status.MATCHED, matchmaking.status(first.ticketId()).orElseThrow().status());
+    }
+
+    @Test
+    void shouldRejectInvalidOrTooManyBrackets() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> matchmaking.enqueue("Not Valid!"));
+        matchmaking.enqueue("one");
+        matchmaking.enqueue("two");
+        assertThrows(IllegalStateException.class, () -> matchmaking.enqueue("three"));
+    }
+
+    @Test
+    void shouldReportUnknownTickets() {
+        // When & Then
+        assertTrue(matchmaking.status(UUID.randomUUID()).isEmpty());
+        assertTrue(matchmaking.cancel(UUID.randomUUID()).isEmpty());
+    }
+
+    private static List<Game> games(int count) {
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            games.add(gameWithId());
+        }
+        return games;
+    }
+
+    private static Game gameWithId() {
+        Game game = new Game();
+        game.setId(UUID.randomUUID());
+        return game;
+    }
+}
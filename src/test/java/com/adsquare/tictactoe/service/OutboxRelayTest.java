@@ -0,0 +1,86 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.OutboxProperties;
+import com.adsquare.tictactoe.event.OutboxMessage;
+import com.adsquare.tictactoe.model.OutboxEvent;
+import com.adsquare.tictactoe.model.OutboxEventType;
+import com.adsquare.tictactoe.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository repository;
+
+    @Mock
+    private OutboxSink failingSink;
+
+    private InMemoryOutboxSink sink;
+
+    @BeforeEach
+    void setUp() {
+        sink = new InMemoryOutboxSink(100);
+    }
+
+    private OutboxRelay relay(OutboxSink target) {
+        return new OutboxRelay(repository, target, new OutboxProperties(true, "in-memory", Path.of("unused"), 100, 2),
+                TransactionOperations.withoutTransaction(), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void shouldDeliverAndDeleteFullBatchesUntilDrained() {
+        // Given
+        List<OutboxEvent> first = List.of(event(1), event(2));
+        List<OutboxEvent> second = List.of(event(3));
+        when(repository.lockOldest(2)).thenReturn(first).thenReturn(second);
+
+        // When
+        relay(sink).relay();
+
+        // Then
+        assertEquals(List.of(1L, 2L, 3L), sink.messages().stream().map(OutboxMessage::id).toList());
+        verify(repository).deleteByIds(List.of(1L, 2L));
+        verify(repository).deleteByIds(List.of(3L));
+        verify(repository, times(2)).lockOldest(2);
+    }
+
+    @Test
+    void shouldKeepRowsWhenSinkFails() {
+        // Given
+        when(repository.lockOldest(2)).thenReturn(new ArrayList<>(List.of(event(1), event(2))));
+        doThrow(new IllegalStateException("sink down")).when(failingSink).deliver(anyList());
+
+        // When
+        relay(failingSink).relay();
+
+        // Then
+        verify(repository, never()).deleteByIds(anyCollection());
+    }
+
+    private static OutboxEvent event(long id) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(id);
+        event.setType(OutboxEventType.MOVE_MADE);
+        event.setGameId(UUID.randomUUID());
+        event.setPayload("{}");
+        event.setCreatedAt(Instant.now());
+        return event;
+    }
+}
@@ -0,0 +1,61 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.RatingProperties;
+import com.adsquare.tictactoe.exception.PlayerNameTakenException;
+import com.adsquare.tictactoe.model.PlayerAccount;
+import com.adsquare.tictactoe.repository.PlayerAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlayerServiceTest {
+
+    @Mock
+    private PlayerAccountRepository repository;
+
+    @Mock
+    private RatingService ratingService;
+
+    @Mock
+    private GameService gameService;
+
+    private PlayerService playerService;
+
+    @BeforeEach
+    void setUp() {
+        playerService = new PlayerService(repository, ratingService, gameService,
+                new RatingProperties(1200, 32, 4000, Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void shouldRejectANameThatIsAlreadyTaken() {
+        // Given
+        when(repository.existsByName("alice")).thenReturn(true);
+
+        // When & Then
+        assertThrows(PlayerNameTakenException.class, () -> playerService.createPlayer(" alice "));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void shouldReportTheSameConflictWhenAConcurrentRegistrationWinsTheInsert() {
+        // Given
+        when(repository.existsByName("alice")).thenReturn(false);
+        when(repository.save(any(PlayerAccount.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_player_account_name"));
+
+        // When & Then
+        assertThrows(PlayerNameTakenException.class, () -> playerService.createPlayer("alice"));
+        verifyNoInteractions(ratingService);
+    }
+}
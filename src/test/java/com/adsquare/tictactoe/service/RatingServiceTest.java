@@ -0,0 +1,147 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.RatingProperties;
+import com.adsquare.tictactoe.event.GameEvent;
+import com.adsquare.tictactoe.model.GameSnapshot;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+import com.adsquare.tictactoe.model.PlayerAccount;
+import com.adsquare.tictactoe.repository.PlayerAccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingServiceTest {
+
+    @Mock
+    private PlayerAccountRepository repository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private RatingService ratingService;
+    private UUID alice;
+    private UUID bob;
+
+    @BeforeEach
+    void setUp() {
+        ratingService = new RatingService(repository, jdbcTemplate, TransactionOperations.withoutTransaction(),
+                new RatingProperties(1200, 32, 4000, Duration.ofSeconds(5)), new SimpleMeterRegistry());
+        alice = registered(1200);
+        bob = registered(1200);
+    }
+
+    @Test
+    void shouldMoveEqualRatingsByHalfTheKFactorOnAWin() {
+        // When
+        ratingService.onGameEvent(finished(GameStatus.X_WON, alice, bob));
+
+        // Then
+        assertEquals(1216, ratingService.rating(alice));
+        assertEquals(1184, ratingService.rating(bob));
+        assertEquals(1, ratingService.rank(alice).orElseThrow());
+        assertEquals(1, ratingService.pendingFor(alice).wins());
+        assertEquals(1, ratingService.pendingFor(bob).losses());
+    }
+
+    @Test
+    void shouldGainRatingForTheLowerRatedPlayerOnADraw() {
+        // Given
+        UUID strong = registered(1600);
+
+        // When
+        ratingService.onGameEvent(finished(GameStatus.DRAW, strong, alice));
+
+        // Then
+        assertTrue(ratingService.rating(alice) > 1200);
+        assertTrue(ratingService.rating(strong) < 1600);
+        assertEquals(1, ratingService.pendingFor(alice).draws());
+    }
+
+    @Test
+    void shouldTreatForfeitAsAWin() {
+        // When
+        ratingService.onGameEvent(finished(GameStatus.O_WON_BY_FORFEIT, alice, bob));
+
+        // Then
+        assertEquals(1184, ratingService.rating(alice));
+        assertEquals(1216, ratingService.rating(bob));
+    }
+
+    @Test
+    void shouldIgnoreGamesWithoutBothSeatsOrThatAreNotFinished() {
+        // When
+        ratingService.onGameEvent(finished(GameStatus.X_WON, alice, null));
+        ratingService.onGameEvent(GameEvent.moveMade(GameStatus.IN_PROGRESS,
+                snapshot(GameStatus.IN_PROGRESS, alice, bob), Player.X, 0));
+
+        // Then
+        assertEquals(1200, ratingService.rating(alice));
+        assertEquals(0, ratingService.pendingFor(alice).wins() + ratingService.pendingFor(alice).draws()
+                + ratingService.pendingFor(alice).losses());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldFlushAccumulatedDeltasInOneBatch() {
+        // Given
+        ratingService.onGameEvent(finished(GameStatus.X_WON, alice, bob));
+        ratingService.onGameEvent(finished(GameStatus.X_WON, alice, bob));
+        when(repository.findRatingsUpdatedSince(any())).thenReturn(List.of());
+
+        // When
+        ratingService.flush();
+
+        // Then
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<?> batch) -> batch.size() == 2), eq(2),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(0, ratingService.pendingFor(alice).wins());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldKeepDeltasWhenFlushFails() {
+        // Given
+        ratingService.onGameEvent(finished(GameStatus.X_WON, alice, bob));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("Database down"));
+
+        // When
+        ratingService.flush();
+
+        // Then
+        assertEquals(1, ratingService.pendingFor(alice).wins());
+        assertEquals(16, ratingService.pendingFor(alice).ratingDelta());
+    }
+
+    private UUID registered(int rating) {
+        PlayerAccount account = new PlayerAccount("player-" + rating, rating);
+        account.setId(UUID.randomUUID());
+        ratingService.register(account);
+        return account.getId();
+    }
+
+    private static GameEvent finished(GameStatus status, UUID xPlayerId, UUID oPlayerId) {
+        return GameEvent.moveMade(GameStatus.IN_PROGRESS, snapshot(status, xPlayerId, oPlayerId), Player.X, 2);
+    }
+
+    private static GameSnapshot snapshot(GameStatus status, UUID xPlayerId, UUID oPlayerId) {
+        return new GameSnapshot(UUID.randomUUID(), "XXXOO____", Player.O, status, 5, null, xPlayerId, oPlayerId, null);
+    }
+}
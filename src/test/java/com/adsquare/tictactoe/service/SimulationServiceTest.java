@@ -0,0 +1,92 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.SimulationProperties;
+import com.adsquare.tictactoe.dto.SimulationRequest;
+import com.adsquare.tictactoe.dto.SimulationResult;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.repository.GameRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class SimulationServiceTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private ContentionTracker contentionTracker;
+
+    @Mock
+    private JoinCodeAllocator joinCodes;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimulationService simulationService;
+
+    @BeforeEach
+    void setUp() {
+        GameService gameService = new GameService(gameRepository, contentionTracker, eventPublisher, joinCodes,
+                TransactionOperations.withoutTransaction());
+        simulationService = new SimulationService(gameService,
+                new SimulationProperties(10_000, 100, null, SimulationStrategy.RANDOM, SimulationStrategy.RANDOM, null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        simulationService.destroy();
+    }
+
+    @Test
+    void perfectPlayShouldAlwaysDraw() {
+        // When
+        SimulationResult result = simulationService.run(
+                new SimulationRequest(1_000, SimulationStrategy.PERFECT, SimulationStrategy.PERFECT, 1L));
+
+        // Then
+        assertEquals(1_000L, result.outcomes().get(GameStatus.DRAW));
+        assertEquals(1_000L, result.gamesByLength()[9]);
+    }
+
+    @Test
+    void perfectPlayerShouldNeverLoseToRandom() {
+        // When
+        SimulationResult result = simulationService.run(
+                new SimulationRequest(2_000, SimulationStrategy.RANDOM, SimulationStrategy.PERFECT, 7L));
+
+        // Then
+        assertEquals(0L, result.outcomes().get(GameStatus.X_WON));
+        assertEquals(2_000L, Arrays.stream(result.gamesByLength()).sum());
+    }
+
+    @Test
+    void sameSeedShouldReproduceTheSameOutcomes() {
+        // When
+        SimulationResult first = simulationService.run(
+                new SimulationRequest(5_000, SimulationStrategy.RANDOM, SimulationStrategy.GREEDY, 42L));
+        SimulationResult second = simulationService.run(
+                new SimulationRequest(5_000, SimulationStrategy.RANDOM, SimulationStrategy.GREEDY, 42L));
+
+        // Then
+        assertEquals(first.outcomes(), second.outcomes());
+        assertArrayEquals(first.gamesByLength(), second.gamesByLength());
+    }
+
+    @Test
+    void shouldRejectMoreGamesThanAllowed() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> simulationService.run(new SimulationRequest(10_001, null, null, null)));
+    }
+}
@@ -0,0 +1,215 @@
+package com.adsquare.tictactoe.service;
+
+import com.adsquare.tictactoe.config.SpectatorProperties;
+import com.adsquare.tictactoe.event.GameEvent;
+import com.adsquare.tictactoe.exception.GameNotFoundException;
+import com.adsquare.tictactoe.model.Game;
+import com.adsquare.tictactoe.model.GameSnapshot;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpectatorHubTest {
+
+    private SimpleMeterRegistry registry;
+    private SpectatorHub hub;
+    private UUID gameId;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        hub = new SpectatorHub(new ObjectMapper().findAndRegisterModules(),
+                new SpectatorProperties(2, 10, Duration.ofMinutes(1)), registry);
+        gameId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.destroy();
+    }
+
+    @Test
+    void shouldSendCurrentStateOnSubscribe() {
+        // Given
+        RecordingSink sink = new RecordingSink();
+
+        // When
+        hub.subscribe(gameId, () -> state("X________", 1), sink);
+
+        // Then
+        await(() -> sink.frames.size() == 1);
+        String frame = new String(sink.frames.get(0), StandardCharsets.UTF_8);
+        assertTrue(frame.startsWith("id: 1\nevent: state\ndata: {"));
+        assertTrue(frame.contains("\"board\":\"X________\""));
+        assertTrue(frame.endsWith("\n\n"));
+    }
+
+    @Test
+    void shouldSerializeEachChangeOnceAndShareTheBytes() {
+        // Given
+        RecordingSink first = new RecordingSink();
+        RecordingSink second = new RecordingSink();
+        hub.subscribe(gameId, () -> state("_________", 0), first);
+        hub.subscribe(gameId, () -> state("_________", 0), second);
+        await(() -> first.frames.size() == 1 && second.frames.size() == 1);
+        double serializedBefore = serialized();
+
+        // When
+        hub.onGameEvent(GameEvent.moveMade(GameStatus.IN_PROGRESS, state("X________", 1), Player.X, 0));
+
+        // Then
+        await(() -> first.frames.size() == 2 && second.frames.size() == 2);
+        assertSame(first.frames.get(1), second.frames.get(1));
+        assertEquals(serializedBefore + 1, serialized());
+    }
+
+    @Test
+    void shouldNotSerializeChangesOfUnwatchedGames() {
+        // When
+        hub.onGameEvent(GameEvent.moveMade(GameStatus.IN_PROGRESS, state("X________", 1), Player.X, 0));
+
+        // Then
+        assertEquals(0, serialized());
+        assertEquals(0, hub.spectators(gameId));
+    }
+
+    @Test
+    void shouldConflateFramesForSlowSpectator() throws InterruptedException {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink slow = new RecordingSink(release);
+        hub.subscribe(gameId, () -> state("_________", 0), slow);
+        await(() -> slow.sending);
+
+        // When
+        hub.onGameEvent(GameEvent.moveMade(GameStatus.IN_PROGRESS, state("X________", 1), Player.X, 0));
+        hub.onGameEvent(GameEvent.moveMade(GameStatus.IN_PROGRESS, state("X___O____", 2), Player.O, 4));
+        hub.onGameEvent(GameEvent.moveMade(GameStatus.IN_PROGRESS, state("XX__O____", 3), Player.X, 1));
+        await(() -> conflated() == 2);
+        release.countDown();
+
+        // Then
+        await(() -> slow.frames.size() == 2);
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertEquals(2, slow.frames.size());
+        assertTrue(new String(slow.frames.get(1), StandardCharsets.UTF_8).startsWith("id: 3\n"));
+    }
+
+    @Test
+    void shouldCloseSpectatorsWhenGameIsDeleted() {
+        // Given
+        RecordingSink sink = new RecordingSink();
+        hub.subscribe(gameId, () -> state("_________", 0), sink);
+        Game game = new Game();
+        game.setId(gameId);
+
+        // When
+        hub.onGameEvent(GameEvent.deleted(game));
+
+        // Then
+        await(() -> sink.completed);
+        assertTrue(new String(sink.frames.get(sink.frames.size() - 1), StandardCharsets.UTF_8).startsWith("event: deleted"));
+        assertEquals(0, hub.spectators(gameId));
+    }
+
+    @Test
+    void shouldPushStateOfGamesChangedElsewhere() {
+        // Given
+        RecordingSink watching = new RecordingSink();
+        RecordingSink other = new RecordingSink();
+        UUID otherId = UUID.randomUUID();
+        hub.subscribe(gameId, () -> state("_________", 0), watching);
+        hub.subscribe(otherId, () -> state("_________", 0), other);
+        await(() -> watching.frames.size() == 1 && other.frames.size() == 1);
+
+        // When
+        hub.refreshAll(id -> {
+            if (id.equals(otherId)) {
+                throw new GameNotFoundException("Game not found: " + id);
+            }
+            return state("X________", 1);
+        });
+
+        // Then
+        await(() -> watching.frames.size() == 2 && other.completed);
+        assertTrue(new String(watching.frames.get(1), StandardCharsets.UTF_8).startsWith("id: 1\n"));
+        assertTrue(new String(other.frames.get(1), StandardCharsets.UTF_8).startsWith("event: deleted"));
+        assertEquals(0, hub.spectators(otherId));
+    }
+
+    @Test
+    void shouldUnsubscribeWhenGameCannotBeLoaded() {
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> hub.subscribe(gameId, () -> {
+            throw new IllegalStateException("boom");
+        }, new RecordingSink()));
+        assertEquals(0, hub.spectators(gameId));
+    }
+
+    private double serialized() {
+        return registry.get("tictactoe.spectators.frames").tag("stage", "serialized").counter().count();
+    }
+
+    private double conflated() {
+        return registry.get("tictactoe.spectators.frames").tag("stage", "conflated").counter().count();
+    }
+
+    private GameSnapshot state(String board, long version) {
+        return new GameSnapshot(gameId, board, Player.X, GameStatus.IN_PROGRESS, version, null, null, null, null);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertTrue(condition.getAsBoolean(), "condition not met in time");
+    }
+
+    private static final class RecordingSink implements SpectatorHub.SpectatorSink {
+
+        private final List<byte[]> frames = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+        private volatile boolean sending;
+        private volatile boolean completed;
+
+        private RecordingSink() {
+            this(new CountDownLatch(0));
+        }
+
+        private RecordingSink(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(byte[] frame) {
+            sending = true;
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            frames.add(frame);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
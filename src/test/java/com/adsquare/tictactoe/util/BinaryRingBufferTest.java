@@ -0,0 +1,119 @@
+package com.adsquare.tictactoe.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryRingBufferTest {
+
+    private static final int RECORD_SIZE = 8;
+
+    @Test
+    void shouldRejectClaimsWhenFullAndAcceptThemAgainAfterDrain() {
+        // Given
+        BinaryRingBuffer ring = new BinaryRingBuffer(4, RECORD_SIZE);
+        for (long value = 0; value < 4; value++) {
+            offer(ring, value);
+        }
+
+        // When
+        long rejected = ring.claim();
+        ByteBuffer drained = ByteBuffer.allocate(16 * RECORD_SIZE);
+        int count = ring.drainTo(drained);
+
+        // Then
+        assertEquals(-1, rejected);
+        assertEquals(4, count);
+        assertTrue(offer(ring, 4));
+        assertEquals(1, ring.size());
+    }
+
+    @Test
+    void shouldStopDrainingAtFirstUnpublishedSlot() {
+        // Given
+        BinaryRingBuffer ring = new BinaryRingBuffer(8, RECORD_SIZE);
+        offer(ring, 1);
+        long pending = ring.claim();
+        offer(ring, 3);
+
+        // When
+        ByteBuffer target = ByteBuffer.allocate(8 * RECORD_SIZE);
+        int beforePublish = ring.drainTo(target);
+        ring.buffer().putLong(ring.offset(pending), 2);
+        ring.publish(pending);
+        int afterPublish = ring.drainTo(target);
+
+        // Then
+        assertEquals(1, beforePublish);
+        assertEquals(2, afterPublish);
+        target.flip();
+        assertEquals(1, target.getLong());
+        assertEquals(2, target.getLong());
+        assertEquals(3, target.getLong());
+    }
+
+    @Test
+    void shouldDeliverEveryRecordOnceAcrossWrapAroundWithConcurrentProducers() throws Exception {
+        // Given
+        BinaryRingBuffer ring = new BinaryRingBuffer(64, RECORD_SIZE);
+        int producers = 8;
+        int perProducer = 10_000;
+        Set<Long> received = new HashSet<>();
+        ByteBuffer target = ByteBuffer.allocate(16 * RECORD_SIZE);
+
+        // When
+        // producers give up once the consumer stops, so a failed assertion or a timeout cannot leave them spinning
+        AtomicBoolean stopped = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            for (int p = 0; p < producers; p++) {
+                long base = (long) p * perProducer;
+                executor.execute(() -> {
+                    for (long i = 0; i < perProducer; i++) {
+                        while (!offer(ring, base + i)) {
+                            if (stopped.get()) {
+                                return;
+                            }
+                            Thread.yield();
+                        }
+                    }
+                });
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received.size() < producers * perProducer && System.nanoTime() < deadline) {
+                target.clear();
+                ring.drainTo(target);
+                target.flip();
+                while (target.hasRemaining()) {
+                    assertTrue(received.add(target.getLong()), "record delivered twice");
+                }
+            }
+        } finally {
+            stopped.set(true);
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "producers did not stop");
+        }
+
+        // Then
+        assertEquals(producers * perProducer, received.size());
+        assertEquals(0, ring.size());
+    }
+
+    private static boolean offer(BinaryRingBuffer ring, long value) {
+        long sequence = ring.claim();
+        if (sequence < 0) {
+            return false;
+        }
+        ring.buffer().putLong(ring.offset(sequence), value);
+        ring.publish(sequence);
+        return true;
+    }
+}
@@ -0,0 +1,57 @@
+package com.adsquare.tictactoe.util;
+
+import org.junit.jupiter.api.Test;
+
+import static com.adsquare.tictactoe.util.BoardUtil.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardBatchEvaluatorTest {
+
+    // every assignment of X/O/_ to the nine cells, reachable or not
+    static int[] allBoards() {
+        int[] boards = new int[19683];
+        for (int n = 0; n < boards.length; n++) {
+            int x = 0;
+            int o = 0;
+            int rest = n;
+            for (int cell = 0; cell < CELL_BITS; cell++) {
+                int digit = rest % 3;
+                rest /= 3;
+                if (digit == 1) x |= 1 << cell;
+                else if (digit == 2) o |= 1 << cell;
+            }
+            boards[n] = x | o << CELL_BITS;
+        }
+        return boards;
+    }
+
+    @Test
+    void statusMatchesStringBoardRules() {
+        int[] boards = allBoards();
+        int[] codes = BoardBatchEvaluator.best().evaluate(boards);
+        for (int i = 0; i < boards.length; i++) {
+            String board = decode(boards[i]);
+            int status = BoardBatchEvaluator.status(codes[i]);
+            if (hasWon(board, 'X')) assertEquals(BoardBatchEvaluator.X_WON, status, board);
+            else if (hasWon(board, 'O')) assertEquals(BoardBatchEvaluator.O_WON, status, board);
+            else if (isDraw(board)) assertEquals(BoardBatchEvaluator.DRAW, status, board);
+            else assertEquals(BoardBatchEvaluator.IN_PROGRESS, status, board);
+        }
+    }
+
+    @Test
+    void nextPlayerAndReachability() {
+        int[] codes = BoardBatchEvaluator.best().evaluate(new int[]{
+                encode("_________"), encode("X___O____"), encode("X________"),
+                encode("XXXOO____"), encode("XXX______"), encode("XXXOOO___")});
+
+        assertEquals(0, BoardBatchEvaluator.nextPlayer(codes[0]));   // X to start
+        assertEquals(0, BoardBatchEvaluator.nextPlayer(codes[1]));
+        assertEquals(1, BoardBatchEvaluator.nextPlayer(codes[2]));   // O after X
+        assertEquals(0, BoardBatchEvaluator.nextPlayer(codes[3]));   // winner stays as last mover
+        assertEquals(0, codes[0] & BoardBatchEvaluator.UNREACHABLE);
+        assertEquals(0, codes[3] & BoardBatchEvaluator.UNREACHABLE);
+        assertNotEquals(0, codes[4] & BoardBatchEvaluator.UNREACHABLE);
+        assertNotEquals(0, codes[5] & BoardBatchEvaluator.UNREACHABLE);
+    }
+}
@@ -0,0 +1,89 @@
+package com.adsquare.tictactoe.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.adsquare.tictactoe.util.BoardUtil.*;
+
+/**
+ * Per-board string checks (what GameService does per move) against the batch evaluators. Run with
+ * {@code mvn -Pvector test-compile} and then
+ * {@code java --add-modules jdk.incubator.vector -cp target/test-classes:target/classes:<test classpath>
+ * com.adsquare.tictactoe.util.BoardEvaluationBenchmark}; results are written to
+ * {@code target/jmh/board-evaluation.json}. Built without -Pvector, batchBest measures the scalar fallback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BoardEvaluationBenchmark {
+
+    @Param({"1024", "65536"})
+    private int size;
+
+    private String[] stringBoards;
+    private int[] packedBoards;
+    private final ScalarBoardEvaluator scalar = new ScalarBoardEvaluator();
+    private final BoardBatchEvaluator best = BoardBatchEvaluator.best();
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        stringBoards = new String[size];
+        packedBoards = new int[size];
+        for (int i = 0; i < size; i++) {
+            char[] cells = new char[CELL_BITS];
+            for (int cell = 0; cell < CELL_BITS; cell++) {
+                cells[cell] = "XO_".charAt(random.nextInt(3));
+            }
+            stringBoards[i] = new String(cells);
+            packedBoards[i] = encode(stringBoards[i]);
+        }
+    }
+
+    @Benchmark
+    public void perBoardStrings(Blackhole blackhole) {
+        for (String board : stringBoards) {
+            blackhole.consume(hasWon(board, 'X') || hasWon(board, 'O') || isDraw(board));
+        }
+    }
+
+    @Benchmark
+    public int[] batchScalar() {
+        return scalar.evaluate(packedBoards);
+    }
+
+    @Benchmark
+    public int[] batchBest() {
+        return best.evaluate(packedBoards);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Files.createDirectories(Path.of("target/jmh"));
+        new Runner(new OptionsBuilder()
+                .include(BoardEvaluationBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh/board-evaluation.json")
+                .build()).run();
+    }
+}
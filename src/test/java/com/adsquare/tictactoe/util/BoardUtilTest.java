@@ -107,4 +107,30 @@ class BoardUtilTest {
         assertEquals(Player.O, opposite(Player.X));
         assertEquals(Player.X, opposite(Player.O));
     }
-}
\ No newline at end of file
+
+    @Test
+    void encode_roundTripsThroughDecode() {
+        String board = "XO_OX___X";
+        int encoded = encode(board);
+        assertEquals(0b100010001, encoded & FULL_MASK);
+        assertEquals(0b000001010, encoded >>> CELL_BITS);
+        assertEquals(board, decode(encoded));
+    }
+
+    @Test
+    void hasWon_packedMatchesStringVersion() {
+        String board = boardWith('_', 'X', 2, 4, 6);
+        assertTrue(hasWon(encode(board) & FULL_MASK));
+        assertFalse(hasWon(encode("XOX_OX___") & FULL_MASK));
+    }
+
+    @Test
+    void symmetries_mapCornersToCornersAndKeepCentre() {
+        assertEquals(8, SYMMETRIES.length);
+        for (int[] symmetry : SYMMETRIES) {
+            assertEquals(4, symmetry[4]);
+            assertEquals(0b101000101, transform(0b101000101, symmetry));
+        }
+        assertEquals(1 << 2, transform(1, SYMMETRIES[1])); // top-left -> top-right after a clockwise turn
+    }
+}
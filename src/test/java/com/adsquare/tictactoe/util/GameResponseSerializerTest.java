@@ -0,0 +1,90 @@
+package com.adsquare.tictactoe.util;
+
+import com.adsquare.tictactoe.dto.GameResponse;
+import com.adsquare.tictactoe.model.GameStatus;
+import com.adsquare.tictactoe.model.Player;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameResponseSerializerTest {
+
+    private GameResponseSerializer serializer;
+    private GameResponse response;
+
+    @BeforeEach
+    void setUp() {
+        serializer = new GameResponseSerializer();
+        response = new GameResponse(UUID.randomUUID(), 4, "XO_X_O___", Player.X, GameStatus.IN_PROGRESS,
+                Instant.parse("2026-01-01T10:00:00Z"), UUID.randomUUID(), null, "7K3M9Q2X");
+    }
+
+    private ObjectMapper mapper(ObjectMapper base) {
+        return base.findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .registerModule(new SimpleModule().addSerializer(GameResponse.class, serializer));
+    }
+
+    private static ObjectMapper plain() {
+        return new ObjectMapper().findAndRegisterModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Test
+    void shouldWriteSameJsonAsRecordSerialization() throws Exception {
+        // When
+        String json = mapper(new ObjectMapper()).writeValueAsString(response);
+
+        // Then
+        assertEquals(plain().readTree(plain().writeValueAsString(response)), plain().readTree(json));
+        assertTrue(json.startsWith("{\"gameId\":\"" + response.gameId() + "\",\"version\":4,\"board\":\"XO_X_O___\""));
+    }
+
+    @Test
+    void shouldWriteValidJsonWhenPrettyPrinting() throws Exception {
+        // When
+        String json = mapper(new ObjectMapper()).enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(response);
+
+        // Then
+        assertEquals(response, plain().readValue(json, GameResponse.class));
+    }
+
+    @Test
+    void shouldRoundTripBinaryFormats() throws Exception {
+        // Given
+        ObjectMapper cbor = mapper(new ObjectMapper(new CBORFactory()));
+        ObjectMapper smile = mapper(new ObjectMapper(new SmileFactory()));
+
+        // When
+        byte[] cborBytes = cbor.writeValueAsBytes(response);
+        byte[] smileBytes = smile.writeValueAsBytes(response);
+
+        // Then
+        assertEquals(response, cbor.readValue(cborBytes, GameResponse.class));
+        assertEquals(response, smile.readValue(smileBytes, GameResponse.class));
+        assertTrue(cborBytes.length < mapper(new ObjectMapper()).writeValueAsBytes(response).length);
+    }
+
+    @Test
+    void shouldEncodeEachStateOnce() throws Exception {
+        // Given
+        ObjectMapper json = mapper(new ObjectMapper());
+        GameResponse sameState = new GameResponse(UUID.randomUUID(), 9, response.board(), response.nextPlayer(),
+                response.gameStatus(), null, null, null, null);
+
+        // When
+        json.writeValueAsString(response);
+        json.writeValueAsString(sameState);
+
+        // Then
+        assertEquals(1, serializer.cachedFragments());
+    }
+}
@@ -0,0 +1,103 @@
+package com.adsquare.tictactoe.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    private AtomicLong now;
+    private List<List<String>> expirations;
+    private HashedTimingWheel<String> wheel;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(START);
+        expirations = new ArrayList<>();
+        wheel = new HashedTimingWheel<>(Duration.ofMillis(100), 8, expirations::add, now::get, "test-wheel");
+    }
+
+    private void advanceTo(long millisAfterStart) {
+        now.set(START + millisAfterStart);
+        wheel.advance(now.get());
+    }
+
+    @Test
+    void shouldExpireInTheFirstTickAfterTheDeadlineAndBatchTogether() {
+        wheel.schedule("a", Instant.ofEpochMilli(START + 250));
+        wheel.schedule("b", Instant.ofEpochMilli(START + 280));
+
+        advanceTo(299);
+        assertTrue(expirations.isEmpty());
+
+        advanceTo(300);
+        assertEquals(List.of(List.of("a", "b")), expirations);
+        assertEquals(0, wheel.pending());
+    }
+
+    @Test
+    void cancelledTimeoutShouldNeverFire() {
+        HashedTimingWheel.Timeout<String> timeout = wheel.schedule("a", Instant.ofEpochMilli(START + 100));
+        advanceTo(0);
+
+        assertTrue(timeout.cancel());
+        advanceTo(1_000);
+
+        assertTrue(expirations.isEmpty());
+        assertEquals(0, wheel.pending());
+        assertFalse(timeout.cancel());
+    }
+
+    @Test
+    void deadlineBeyondOneRevolutionShouldWaitForItsRound() {
+        // 8 buckets of 100ms: 2.5s is three revolutions away
+        wheel.schedule("far", Instant.ofEpochMilli(START + 2_500));
+
+        advanceTo(2_400);
+        assertTrue(expirations.isEmpty());
+
+        advanceTo(2_500);
+        assertEquals(List.of(List.of("far")), expirations);
+    }
+
+    @Test
+    void timeoutShouldNeverFireBeforeItsDeadline() {
+        Map<String, Long> deadlines = new HashMap<>();
+        for (long offset = 1; offset < 2_000; offset += 37) {
+            deadlines.put("t" + offset, START + offset);
+            wheel.schedule("t" + offset, Instant.ofEpochMilli(START + offset));
+        }
+
+        Map<String, Long> firedAt = new HashMap<>();
+        for (long elapsed = 0; elapsed <= 2_200; elapsed += 13) {
+            advanceTo(elapsed);
+            expirations.forEach(batch -> batch.forEach(item -> firedAt.putIfAbsent(item, now.get())));
+        }
+
+        assertEquals(deadlines.keySet(), firedAt.keySet());
+        deadlines.forEach((item, deadline) -> {
+            assertTrue(firedAt.get(item) >= deadline, item + " fired before its deadline");
+            assertTrue(firedAt.get(item) < deadline + 100 + 13, item + " fired more than a tick late");
+        });
+    }
+
+    @Test
+    void deadlineAlreadyPassedShouldFireOnNextAdvance() {
+        advanceTo(500);
+        wheel.schedule("late", Instant.ofEpochMilli(START + 100));
+
+        advanceTo(600);
+        assertEquals(List.of(List.of("late")), expirations);
+    }
+}
@@ -0,0 +1,55 @@
+package com.adsquare.tictactoe.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JoinCodesTest {
+
+    @Test
+    void shouldEncodeDistinctNumbersToDistinctCodes() {
+        // Given
+        Set<String> codes = new HashSet<>();
+
+        // When
+        for (long n = 0; n < 200_000; n++) {
+            codes.add(JoinCodes.encode(n));
+        }
+
+        // Then
+        assertEquals(200_000, codes.size());
+    }
+
+    @Test
+    void shouldProduceEightCharacterCodesThatSurviveNormalization() {
+        // When
+        String code = JoinCodes.encode(JoinCodes.MAX_NUMBER);
+
+        // Then
+        assertEquals(JoinCodes.LENGTH, code.length());
+        assertEquals(code, JoinCodes.normalize(code.toLowerCase()));
+    }
+
+    @Test
+    void shouldNotLookSequential() {
+        // When
+        String first = JoinCodes.encode(1000);
+        String second = JoinCodes.encode(1001);
+
+        // Then
+        assertNotEquals(first.substring(0, 6), second.substring(0, 6));
+    }
+
+    @Test
+    void shouldNormalizeLookAlikesAndRejectInvalidInput() {
+        // When & Then
+        assertEquals("01100000", JoinCodes.normalize("oIl0oooo"));
+        assertNull(JoinCodes.normalize("ABC"));
+        assertNull(JoinCodes.normalize("ABCDEFGU"));
+        assertNull(JoinCodes.normalize(null));
+        assertThrows(IllegalStateException.class, () -> JoinCodes.encode(JoinCodes.MAX_NUMBER + 1));
+    }
+}
@@ -0,0 +1,49 @@
+package com.adsquare.tictactoe.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void allowsBurstThenRejects() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(0) > 0);
+    }
+
+    @Test
+    void refillsAtConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+
+        assertEquals(0, bucket.tryAcquire(0));
+        long wait = bucket.tryAcquire(0);
+        assertEquals(SECOND / 10, wait);
+
+        assertEquals(0, bucket.tryAcquire(wait));
+    }
+
+    @Test
+    void idleTimeDoesNotAccumulateBeyondBurst() {
+        TokenBucket bucket = new TokenBucket(10, 2, 0);
+
+        long later = 60 * SECOND;
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(0, bucket.tryAcquire(later));
+        assertTrue(bucket.tryAcquire(later) > 0);
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, 0));
+    }
+}
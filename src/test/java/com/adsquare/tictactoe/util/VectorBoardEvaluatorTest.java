@@ -0,0 +1,20 @@
+package com.adsquare.tictactoe.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// compiled and run only with -Pvector
+class VectorBoardEvaluatorTest {
+
+    @Test
+    void vectorAndScalarAgreeOnEveryBoard() {
+        int[] boards = BoardBatchEvaluatorTest.allBoards();
+        assertArrayEquals(new ScalarBoardEvaluator().evaluate(boards), new VectorBoardEvaluator().evaluate(boards));
+    }
+
+    @Test
+    void bestShouldPickTheVectorEvaluatorWhenTheModuleIsPresent() {
+        assertInstanceOf(VectorBoardEvaluator.class, BoardBatchEvaluator.best());
+    }
+}